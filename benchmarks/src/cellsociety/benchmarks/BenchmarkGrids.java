@@ -0,0 +1,149 @@
+package cellsociety.benchmarks;
+
+import cellsociety.configuration.Simulation;
+import cellsociety.configuration.XMLException;
+import cellsociety.model.Grid;
+import cellsociety.model.GridFactory;
+import cellsociety.model.GridHelper;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purpose: Builds the grids the benchmarks measure. Each simulation type has a template XML file
+ * in data/XMLs whose parameters are kept and whose cells are tiled out to the benchmarked size,
+ * so loops, nests and sugar patches keep their real structure. The shape and grid type are
+ * replaced by the benchmark's, and the neighborhood size by the smallest one the shape allows
+ * when the template's does not fit it.
+ * Assumptions: Benchmarks are started from the repository root, or the "cellsociety.data" system
+ * property points at the XMLs directory.
+ * Dependencies: Simulation, GridFactory, GridHelper
+ * Example of use: Grid grid = BenchmarkGrids.createGrid("Fire", "hexagon", "wrapping", 128, 1);
+ */
+public class BenchmarkGrids {
+
+  public static final String DATA_PROPERTY = "cellsociety.data";
+  public static final String DEFAULT_DATA = "data/XMLs";
+  public static final int SEED = 308;
+  private static final Map<String, String> TEMPLATES = Map.of(
+      "Game of Life", "GameOfLife/pulsar.XML",
+      "Percolation", "Percolation/random.XML",
+      "Fire", "Fire/first.XML",
+      "Segregation", "Segregation/random.XML",
+      "WaTor", "WaTor/random.XML",
+      "Rock Paper Scissors", "RPS/first.XML",
+      "Foraging Ants", "ForagingAnts/first.XML",
+      "Byls Loop", "BylsLoop/oneLoop.XML",
+      "SugarScape", "SugarScape/basic.XML",
+      "Totalistic", "Totalistic/briansBrain.XML");
+
+  private BenchmarkGrids() {
+  }
+
+  /**
+   * Purpose: Returns the path of the template XML file of a simulation type.
+   *
+   * @param type simulation type, such as "Fire"
+   * @return String path to pass to Simulation
+   * @throws XMLException when the type has no template
+   */
+  public static String getTemplatePath(String type) throws XMLException {
+    String template = TEMPLATES.get(type);
+    if (template == null) {
+      throw new XMLException(GridFactory.BAD_TYPE);
+    }
+    return new File(System.getProperty(DATA_PROPERTY, DEFAULT_DATA), template).getPath();
+  }
+
+  /**
+   * Purpose: Builds a seeded grid of a simulation type.
+   *
+   * @param type simulation type, such as "Fire"
+   * @param shape "square", "hexagon" or "triangle"
+   * @param gridType "bounded", "wrapping" or "infinite"
+   * @param size width and height of the grid
+   * @param engine value of the "engine" parameter
+   * @return grid ready to update
+   * @throws Exception when the template cannot be read or the grid cannot be built
+   */
+  public static Grid createGrid(String type, String shape, String gridType, int size, int engine)
+      throws Exception {
+    return createGrid(type, shape, gridType, size, engine, Map.of());
+  }
+
+  /**
+   * Purpose: Builds a seeded grid of a simulation type with extra engine options, such as
+   * "tileSize" or "chunkSize".
+   *
+   * @param type simulation type, such as "Fire"
+   * @param shape "square", "hexagon" or "triangle"
+   * @param gridType "bounded", "wrapping" or "infinite"
+   * @param size width and height of the grid
+   * @param engine value of the "engine" parameter
+   * @param options parameters set on top of the template's
+   * @return grid ready to update
+   * @throws Exception when the template cannot be read or the grid cannot be built
+   */
+  public static Grid createGrid(String type, String shape, String gridType, int size, int engine,
+      Map<String, Integer> options) throws Exception {
+    Simulation template = new Simulation(getTemplatePath(type));
+    Map<String, Integer> parameters = getParameters(template, shape, size, engine);
+    parameters.putAll(options);
+    return GridFactory.createGrid(type, tileCells(template.getCellRows(), size),
+        new String[]{shape, gridType}, parameters);
+  }
+
+  /**
+   * Purpose: Returns the template's parameters, resized and seeded for a benchmark.
+   *
+   * @param template parsed template XML file
+   * @param shape shape of the benchmarked grid
+   * @param size width and height of the grid
+   * @param engine value of the "engine" parameter
+   * @return Map of parameter names to values
+   */
+  public static Map<String, Integer> getParameters(Simulation template, String shape, int size,
+      int engine) {
+    Map<String, Integer> parameters = template.getParameters();
+    parameters.put(Simulation.WIDTH, size);
+    parameters.put(Simulation.HEIGHT, size);
+    parameters.put(GridHelper.SEED, SEED);
+    parameters.put(GridHelper.ENGINE, engine);
+    parameters.put(GridHelper.NEIGHBORHOOD_SIZE,
+        fitNeighborhoodSize(shape, parameters.get(GridHelper.NEIGHBORHOOD_SIZE)));
+    return parameters;
+  }
+
+  private static int fitNeighborhoodSize(String shape, int neighborhoodSize) {
+    if (shape.equals(GridHelper.HEXAGON)) {
+      return GridHelper.HEXAGON_SIDES;
+    }
+    if (shape.equals(GridHelper.TRIANGLE)) {
+      return neighborhoodSize == GridHelper.TRIANGLE_SIDES_MAX ? neighborhoodSize
+          : GridHelper.TRIANGLE_SIDES_MIN;
+    }
+    return neighborhoodSize == GridHelper.SQUARE_SIDES_MAX ? neighborhoodSize
+        : GridHelper.SQUARE_SIDES_MIN;
+  }
+
+  /**
+   * Purpose: Repeats the template's cell rows across and down to fill a square grid.
+   *
+   * @param rows template cell rows
+   * @param size width and height of the grid
+   * @return List of size rows of size cells
+   */
+  public static List<String> tileCells(List<String> rows, int size) {
+    List<String> tiled = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      String row = rows.get(i % rows.size());
+      StringBuilder cells = new StringBuilder(size);
+      for (int j = 0; j < size; j++) {
+        cells.append(row.charAt(j % row.length()));
+      }
+      tiled.add(cells.toString());
+    }
+    return tiled;
+  }
+}
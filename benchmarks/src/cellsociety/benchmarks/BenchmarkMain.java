@@ -0,0 +1,40 @@
+package cellsociety.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Purpose: Entry point of benchmarks.jar. Runs JMH with the arguments given, writing results as
+ * JSON to jmh-result.json unless a result format is chosen with -rf, so runs before and after an
+ * engine change can be compared by a script.
+ * Assumptions: Arguments are JMH command line options; -h lists them.
+ * Dependencies: JMH
+ * Example of use: java -jar benchmarks/target/benchmarks.jar UpdateCells -p type=Fire
+ */
+public class BenchmarkMain {
+
+  public static final String RESULT_FORMAT_OPTION = "-rf";
+  public static final String RESULT_FILE_OPTION = "-rff";
+  public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+  /**
+   * Purpose: Runs the benchmarks selected by args.
+   *
+   * @param args JMH command line options
+   * @throws Exception when JMH cannot run
+   */
+  public static void main(String[] args) throws Exception {
+    List<String> options = new ArrayList<>();
+    List<String> given = List.of(args);
+    if (!given.contains(RESULT_FORMAT_OPTION)) {
+      options.add(RESULT_FORMAT_OPTION);
+      options.add("json");
+      if (!given.contains(RESULT_FILE_OPTION)) {
+        options.add(RESULT_FILE_OPTION);
+        options.add(DEFAULT_RESULT_FILE);
+      }
+    }
+    options.addAll(given);
+    org.openjdk.jmh.Main.main(options.toArray(new String[0]));
+  }
+}
@@ -0,0 +1,66 @@
+package cellsociety.benchmarks;
+
+import cellsociety.model.Grid;
+import cellsociety.model.GridHelper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Purpose: Generations per second of Grid.updateCells() for Byls Loop, which only runs on square
+ * grids, for every grid type and size on cells (0), arrays (1) and vector neighbor counts (4),
+ * as UpdateCellsBenchmark measures the other simulations.
+ * Assumptions: Engine 4 runs as engine 0 on infinite grids.
+ * Dependencies: BenchmarkGrids, Grid, GridHelper, JMH
+ * Example of use: java -jar benchmarks/target/benchmarks.jar BylsLoop -p engine=1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class BylsLoopBenchmark {
+
+  @Param({"bounded", "wrapping", "infinite"})
+  private String gridType;
+
+  @Param({"32", "128", "512"})
+  private int size;
+
+  @Param({"0", "1", "4"})
+  private int engine;
+
+  private Grid grid;
+
+  /**
+   * Purpose: Builds a fresh grid for the iteration.
+   *
+   * @throws Exception when the combination cannot be built
+   */
+  @Setup(Level.Iteration)
+  public void createGrid() throws Exception {
+    grid = BenchmarkGrids.createGrid("Byls Loop", GridHelper.SQUARE, gridType, size, engine);
+  }
+
+  /**
+   * Purpose: Steps the grid one generation.
+   *
+   * @return grid, so the update is not optimized away
+   */
+  @Benchmark
+  public Grid updateCells() {
+    grid.updateCells();
+    return grid;
+  }
+}
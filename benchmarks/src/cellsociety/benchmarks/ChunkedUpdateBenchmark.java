@@ -0,0 +1,71 @@
+package cellsociety.benchmarks;
+
+import cellsociety.configuration.Simulation;
+import cellsociety.model.Grid;
+import cellsociety.model.GridHelper;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Purpose: Generations per second of Grid.updateCells() on the array engine split into chunks of
+ * chunkSize cells a side, on infinite square grids, the only ones chunks apply to. Compare with
+ * UpdateCells -p engine=1 -p gridType=infinite -p shape=square, which runs the same grids with
+ * the default chunk size of 32.
+ * Assumptions: type lists the simulations whose rules ChunkedEngine supports; the others fall back
+ * to Cell objects on infinite grids.
+ * Dependencies: BenchmarkGrids, Simulation, Grid, GridHelper, JMH
+ * Example of use: java -jar benchmarks/target/benchmarks.jar ChunkedUpdate -p chunkSize=16,64
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ChunkedUpdateBenchmark {
+
+  @Param({"Game of Life", "Fire", "Byls Loop", "Totalistic"})
+  private String type;
+
+  @Param({"32", "128", "512"})
+  private int size;
+
+  @Param({"16"})
+  private int chunkSize;
+
+  private Grid grid;
+
+  /**
+   * Purpose: Builds a fresh grid for the iteration.
+   *
+   * @throws Exception when the combination cannot be built
+   */
+  @Setup(Level.Iteration)
+  public void createGrid() throws Exception {
+    grid = BenchmarkGrids.createGrid(type, GridHelper.SQUARE, Simulation.GRID_OPTIONS.get(1),
+        size, GridHelper.ARRAY_ENGINE, Map.of(GridHelper.CHUNK_SIZE, chunkSize));
+  }
+
+  /**
+   * Purpose: Steps the grid one generation.
+   *
+   * @return grid, so the update is not optimized away
+   */
+  @Benchmark
+  public Grid updateCells() {
+    grid.updateCells();
+    return grid;
+  }
+}
@@ -0,0 +1,79 @@
+package cellsociety.benchmarks;
+
+import cellsociety.configuration.Simulation;
+import cellsociety.model.Grid;
+import cellsociety.model.GridFactory;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Purpose: Time to build a grid, which runs the GridHelper constructor of the simulation's Grid
+ * subclass. The template is parsed and tiled once in setup, so construction is measured on its
+ * own.
+ * Assumptions: Neighbor topologies are cached by GridHelper across grids of the same size, so
+ * construction after the first warmup call measures a grid whose topology is already known, as
+ * when a simulation is reset.
+ * Dependencies: BenchmarkGrids, Simulation, GridFactory, JMH
+ * Example of use: java -jar benchmarks/target/benchmarks.jar Construction -p type=Fire
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class ConstructionBenchmark {
+
+  @Param({"Game of Life", "Percolation", "Fire", "Segregation", "WaTor", "Rock Paper Scissors",
+      "Foraging Ants", "Byls Loop", "SugarScape", "Totalistic"})
+  private String type;
+
+  @Param({"square", "hexagon", "triangle"})
+  private String shape;
+
+  @Param({"32", "128", "512"})
+  private int size;
+
+  @Param({"0", "1"})
+  private int engine;
+
+  private List<String> cells;
+  private String[] gridParameters;
+  private Map<String, Integer> parameters;
+
+  /**
+   * Purpose: Parses and tiles the template once.
+   *
+   * @throws Exception when the template cannot be read
+   */
+  @Setup
+  public void readTemplate() throws Exception {
+    Simulation template = new Simulation(BenchmarkGrids.getTemplatePath(type));
+    cells = BenchmarkGrids.tileCells(template.getCellRows(), size);
+    gridParameters = new String[]{shape, Simulation.DEFAULT_GRID};
+    parameters = BenchmarkGrids.getParameters(template, shape, size, engine);
+  }
+
+  /**
+   * Purpose: Builds the grid from the tiled cells.
+   *
+   * @return grid, so construction is not optimized away
+   * @throws Exception when the combination cannot be built
+   */
+  @Benchmark
+  public Grid createGrid() throws Exception {
+    return GridFactory.createGrid(type, cells, gridParameters, parameters);
+  }
+}
@@ -0,0 +1,62 @@
+package cellsociety.benchmarks;
+
+import cellsociety.model.Grid;
+import cellsociety.model.GridHelper;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Purpose: Generations per second of Grid.updateCells() on HashLifeEngine (engine 2), which only
+ * runs Game of Life on infinite square grids with eight neighbors. Compare with UpdateCells
+ * -p type="Game of Life" -p gridType=infinite -p shape=square.
+ * Assumptions: The Game of Life template has eight neighbors.
+ * Dependencies: BenchmarkGrids, Grid, GridHelper, JMH
+ * Example of use: java -jar benchmarks/target/benchmarks.jar HashLife -p size=512
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class HashLifeBenchmark {
+
+  @Param({"32", "128", "512"})
+  private int size;
+
+
+  private Grid grid;
+
+  /**
+   * Purpose: Builds a fresh grid for the iteration.
+   *
+   * @throws Exception when the combination cannot be built
+   */
+  @Setup(Level.Iteration)
+  public void createGrid() throws Exception {
+    grid = BenchmarkGrids.createGrid("Game of Life", "square", "infinite", size,
+        GridHelper.HASHLIFE_ENGINE);
+  }
+
+  /**
+   * Purpose: Steps the grid one generation.
+   *
+   * @return grid, so the update is not optimized away
+   */
+  @Benchmark
+  public Grid updateCells() {
+    grid.updateCells();
+    return grid;
+  }
+}
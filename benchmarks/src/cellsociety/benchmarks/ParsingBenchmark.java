@@ -0,0 +1,58 @@
+package cellsociety.benchmarks;
+
+import cellsociety.configuration.Simulation;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Purpose: Time to parse the template XML file of every simulation type with Simulation.
+ * Assumptions: The file is read from disk on every call, so the page cache is warm after the
+ * first warmup iteration.
+ * Dependencies: BenchmarkGrids, Simulation, JMH
+ * Example of use: java -jar benchmarks/target/benchmarks.jar Parsing
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParsingBenchmark {
+
+  @Param({"Game of Life", "Percolation", "Fire", "Segregation", "WaTor", "Rock Paper Scissors",
+      "Foraging Ants", "Byls Loop", "SugarScape", "Totalistic"})
+  private String type;
+
+  private String templatePath;
+
+  /**
+   * Purpose: Finds the template of the simulation type.
+   *
+   * @throws Exception when the type has no template
+   */
+  @Setup
+  public void findTemplate() throws Exception {
+    templatePath = BenchmarkGrids.getTemplatePath(type);
+  }
+
+  /**
+   * Purpose: Parses the template XML file.
+   *
+   * @return parsed file, so parsing is not optimized away
+   * @throws Exception when the file cannot be read
+   */
+  @Benchmark
+  public Simulation parseSimulation() throws Exception {
+    return new Simulation(templatePath);
+  }
+}
@@ -0,0 +1,77 @@
+package cellsociety.benchmarks;
+
+import cellsociety.model.Grid;
+import cellsociety.model.GridHelper;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Purpose: Generations per second of Grid.updateCells() on the array engine updated tile by tile,
+ * for every simulation type UpdateCellsBenchmark runs, every shape and size on bounded and
+ * wrapping grids, the only ones tiles apply to. Compare with UpdateCells -p engine=1, which runs
+ * the same grids untiled.
+ * Assumptions: Byls Loop only runs on square grids, so it is left out here; -p type="Byls Loop"
+ * -p shape=square measures it.
+ * Dependencies: BenchmarkGrids, Grid, GridHelper, JMH
+ * Example of use: java -jar benchmarks/target/benchmarks.jar TiledUpdate -p tileSize=16,32,64
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class TiledUpdateBenchmark {
+
+  @Param({"Game of Life", "Percolation", "Fire", "Segregation", "WaTor", "Rock Paper Scissors",
+      "Foraging Ants", "SugarScape", "Totalistic"})
+  private String type;
+
+  @Param({"square", "hexagon", "triangle"})
+  private String shape;
+
+  @Param({"bounded", "wrapping"})
+  private String gridType;
+
+  @Param({"32", "128", "512"})
+  private int size;
+
+  @Param({"32"})
+  private int tileSize;
+
+  private Grid grid;
+
+  /**
+   * Purpose: Builds a fresh grid for the iteration.
+   *
+   * @throws Exception when the combination cannot be built
+   */
+  @Setup(Level.Iteration)
+  public void createGrid() throws Exception {
+    grid = BenchmarkGrids.createGrid(type, shape, gridType, size, GridHelper.ARRAY_ENGINE,
+        Map.of(GridHelper.TILE_SIZE, tileSize));
+  }
+
+  /**
+   * Purpose: Steps the grid one generation.
+   *
+   * @return grid, so the update is not optimized away
+   */
+  @Benchmark
+  public Grid updateCells() {
+    grid.updateCells();
+    return grid;
+  }
+}
@@ -0,0 +1,77 @@
+package cellsociety.benchmarks;
+
+import cellsociety.model.Grid;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Purpose: Generations per second of Grid.updateCells() for every simulation type that runs on
+ * every shape, for every shape, grid type and size, on the engines every simulation has: cells
+ * (0), arrays (1) and vector neighbor counts (4). The grid is rebuilt before each iteration, so
+ * simulations that die out or grow are measured over the same stretch of generations every time.
+ * BylsLoopBenchmark measures Byls Loop, which only runs on square grids, HashLifeBenchmark and
+ * BitLifeBenchmark measure the Game of Life engines, and TiledUpdateBenchmark and
+ * ChunkedUpdateBenchmark measure engine 1 with other tile and chunk sizes.
+ * Assumptions: Engine 4 only counts neighbors on bounded and wrapping square grids; it runs as
+ * engine 1 on other finite grids and as engine 0 on infinite ones.
+ * Dependencies: BenchmarkGrids, Grid, JMH
+ * Example of use: java -jar benchmarks/target/benchmarks.jar UpdateCells -p size=128 -p engine=1
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class UpdateCellsBenchmark {
+
+  @Param({"Game of Life", "Percolation", "Fire", "Segregation", "WaTor", "Rock Paper Scissors",
+      "Foraging Ants", "SugarScape", "Totalistic"})
+  private String type;
+
+  @Param({"square", "hexagon", "triangle"})
+  private String shape;
+
+  @Param({"bounded", "wrapping", "infinite"})
+  private String gridType;
+
+  @Param({"32", "128", "512"})
+  private int size;
+
+  @Param({"0", "1", "4"})
+  private int engine;
+
+  private Grid grid;
+
+  /**
+   * Purpose: Builds a fresh grid for the iteration.
+   *
+   * @throws Exception when the combination cannot be built
+   */
+  @Setup(Level.Iteration)
+  public void createGrid() throws Exception {
+    grid = BenchmarkGrids.createGrid(type, shape, gridType, size, engine);
+  }
+
+  /**
+   * Purpose: Steps the grid one generation.
+   *
+   * @return grid, so the update is not optimized away
+   */
+  @Benchmark
+  public Grid updateCells() {
+    grid.updateCells();
+    return grid;
+  }
+}
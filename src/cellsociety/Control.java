@@ -1,24 +1,15 @@
 package cellsociety;
 
 import cellsociety.configuration.Simulation;
-import cellsociety.configuration.XMLException;
+import cellsociety.configuration.SimulationWriter;
 import cellsociety.model.Grid;
-import cellsociety.model.bylsloop.BylsLoopGrid;
-import cellsociety.model.fire.FireGrid;
-import cellsociety.model.foragingants.ForagingAntsGrid;
-import cellsociety.model.gameoflife.GameOfLifeGrid;
-import cellsociety.model.percolation.PercolationGrid;
-import cellsociety.model.rps.RPSGrid;
-import cellsociety.model.segregation.SegregationGrid;
-import cellsociety.model.sugarscape.SugarScapeGrid;
-import cellsociety.model.wator.WaTorGrid;
+import cellsociety.model.GridFactory;
 import java.io.File;
 
 import cellsociety.view.ScreenControl;
 
 import java.io.FileWriter;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import javafx.animation.KeyFrame;
@@ -134,21 +125,7 @@ public class Control {
   private void createStage() throws Exception {
     String[] gridParam = simulation.getGridParameterArray();
 
-    myGrid = switch (type) {
-      case "Game of Life" -> new GameOfLifeGrid(cells, gridParam, params);
-      case "Percolation" -> new PercolationGrid(cells, gridParam, params);
-      case "Fire" -> new FireGrid(cells, gridParam, params);
-      case "Segregation" -> new SegregationGrid(cells, gridParam, params);
-      case "WaTor" -> new WaTorGrid(cells, gridParam, params);
-      case "Rock Paper Scissors" -> new RPSGrid(cells, gridParam, params);
-      case "Foraging Ants" -> new ForagingAntsGrid(cells, gridParam, params);
-      case "Byls Loop" -> new BylsLoopGrid(cells, gridParam, params);
-      case "SugarScape" -> new SugarScapeGrid(cells, gridParam, params);
-      default -> null;
-    };
-    if (myGrid == null) {
-      throw new XMLException("BadType");
-    }
+    myGrid = GridFactory.createGrid(type, cells, gridParam, params);
 
 
     mySC.createGrid(title, type, simulation.getHeight(), simulation.getWidth(), myGrid.viewGrid(), gridParam[0]);
@@ -260,69 +237,13 @@ public class Control {
    */
   public void configuration() {
     List<Integer> cells = myGrid.viewGrid();
-    createFile(simulation.getInfoMap(),params, cells);
-  }
-
-  private void createFile(
-      Map<String, String> info, Map<String, Integer> params, List<Integer> cells) {
-
-    List<String> cellRows = createCellRows(params, cells);
-    try {
-      FileWriter myWriter = new FileWriter("data/CreatedFiles/created"
-          + (System.currentTimeMillis() / 10000%100000) + ".XML");
-      myWriter.write("<root>\n");
-      makeInformationSection(info, myWriter);
-      makeParameterSection(params, myWriter);
-      makeCellSection(cellRows, myWriter);
-      myWriter.write("</root>");
-      myWriter.close();
+    int[] dimensions = myGrid.getDimensions();
+    try (FileWriter myWriter = new FileWriter("data/CreatedFiles/created"
+        + (System.currentTimeMillis() / 10000 % 100000) + ".XML")) {
+      SimulationWriter.write(myWriter, simulation.getInfoMap(), params, cells, dimensions[0],
+          dimensions[1]);
     } catch (IOException e) {
       e.printStackTrace();
     }
   }
-
-  private void makeCellSection(List<String> cellRows, FileWriter myWriter) throws IOException {
-    myWriter.write("  <cells>\n");
-    for (String s : cellRows) {
-      myWriter.write("    <cellRow>" + s + "</cellRow>\n");
-    }
-    myWriter.write("  </cells>\n");
-  }
-
-  private void makeParameterSection(Map<String, Integer> params, FileWriter myWriter)
-      throws IOException {
-    myWriter.write("  <parameters>\n");
-    for (String s : params.keySet()) {
-      myWriter.write("    <" + s + ">");
-      myWriter.write(params.get(s).toString());
-      myWriter.write("</" + s + ">\n");
-    }
-    myWriter.write("  </parameters>\n");
-  }
-
-  private void makeInformationSection(Map<String, String> info, FileWriter myWriter)
-      throws IOException {
-    myWriter.write("  <information>\n");
-    for (String s : info.keySet()) {
-      myWriter.write("    <" + s + ">");
-      myWriter.write(info.get(s));
-      myWriter.write("</" + s + ">\n");
-    }
-    myWriter.write("  </information>\n");
-  }
-
-  private List<String> createCellRows(Map<String, Integer> params, List<Integer> cells) {
-    List<String> returned = new ArrayList<>();
-    String temp = "";
-    int width = params.get("width");
-    int height = params.get("height");
-    for (int i = 0; i < height; i++) {
-      for (int j = 0; j < width; j++) {
-        temp = temp + cells.get(i * height + j);
-      }
-      returned.add(temp);
-      temp = "";
-    }
-    return returned;
-  }
 }
\ No newline at end of file
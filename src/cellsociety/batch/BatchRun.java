@@ -0,0 +1,112 @@
+package cellsociety.batch;
+
+import cellsociety.configuration.Simulation;
+import cellsociety.model.Grid;
+import cellsociety.model.GridFactory;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purpose: Runs one simulation without a display, stepping as fast as the grid allows. The grid
+ * is built by GridFactory, the same way Control builds it, from a parsed XML file and any
+ * parameter overrides, such as a seed.
+ * Assumptions: The Simulation is not changed while runs are made from it, so one parsed file may
+ * back many runs at once.
+ * Dependencies: Simulation, Grid, GridFactory, java.util library.
+ * Example of use: Grid grid = new BatchRun(simulation, Map.of("seed", 7)).run(500, 0, null);
+ */
+public class BatchRun {
+
+  /**
+   * Purpose: Receives the grid after some of the generations of a run.
+   */
+  public interface GenerationListener {
+
+    /**
+     * Purpose: Called with the grid after generation steps.
+     *
+     * @param generation number of generations run so far, 0 for the initial grid
+     * @param grid grid of the run; must not be updated by the listener
+     * @throws IOException when the listener cannot write its output
+     */
+    void accept(int generation, Grid grid) throws IOException;
+  }
+
+  private final Simulation simulation;
+  private final Map<String, Integer> parameters;
+
+  /**
+   * Purpose: Constructor for BatchRun.
+   *
+   * @param simulation parsed XML file
+   * @param overrides parameters that replace or add to the XML parameters
+   */
+  public BatchRun(Simulation simulation, Map<String, Integer> overrides) {
+    this.simulation = simulation;
+    this.parameters = simulation.getParameters();
+    this.parameters.putAll(overrides);
+  }
+
+  /**
+   * Purpose: Returns the parsed XML file the run was made from.
+   *
+   * @return Simulation object
+   */
+  public Simulation getSimulation() {
+    return simulation;
+  }
+
+  /**
+   * Purpose: Returns a copy of the parameters the grid is built with.
+   *
+   * @return Map of parameter names to values
+   */
+  public Map<String, Integer> getParameters() {
+    return new HashMap<>(parameters);
+  }
+
+  /**
+   * Purpose: Builds the grid and runs it for a number of generations.
+   *
+   * @param generations number of generations to run
+   * @param interval listener is called every interval generations, 0 for only the initial and
+   *     final grid
+   * @param listener receives the grid at generation 0, every interval and at the end; may be null
+   * @return grid after the last generation
+   * @throws Exception when the grid cannot be built or the listener fails
+   */
+  public Grid run(int generations, int interval, GenerationListener listener) throws Exception {
+    Grid grid = GridFactory.createGrid(simulation, getParameters());
+    if (listener != null) {
+      listener.accept(0, grid);
+    }
+    for (int generation = 1; generation <= generations; generation++) {
+      grid.updateCells();
+      if (listener != null && (generation == generations
+          || interval > 0 && generation % interval == 0)) {
+        listener.accept(generation, grid);
+      }
+    }
+    return grid;
+  }
+
+  /**
+   * Purpose: Counts how many cells are in each state.
+   *
+   * @param states cell states, such as Grid.viewGrid()
+   * @return array whose entry s is the number of cells in state s, up to the largest state seen
+   */
+  public static int[] countStates(List<Integer> states) {
+    int maxState = 0;
+    for (int state : states) {
+      maxState = Math.max(maxState, state);
+    }
+    int[] counts = new int[maxState + 1];
+    for (int state : states) {
+      counts[state]++;
+    }
+    return counts;
+  }
+}
@@ -0,0 +1,183 @@
+package cellsociety.batch;
+
+import cellsociety.configuration.Simulation;
+import cellsociety.configuration.SimulationWriter;
+import cellsociety.model.Grid;
+import cellsociety.model.GridHelper;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purpose: Command line entry point that runs a simulation headless, for servers without a
+ * display. Runs an XML file for a number of generations as fast as the CPU allows, then writes
+ * the final grid as an XML file Simulation can read back and a per-generation summary of how many
+ * cells are in each state, as CSV rows of generation, width, height, state and count.
+ * Assumptions: Only the model and configuration packages are used, so JavaFX is not needed.
+ * Dependencies: BatchRun, Simulation, SimulationWriter, Grid, java.io and java.util libraries.
+ * Example of use:
+ * java cellsociety.batch.BatchRunner data/XMLs/Fire/first.XML 500 --seed 7 --final out.XML
+ *     --summary out.csv --every 10 --set prob=60
+ */
+public class BatchRunner {
+
+  public static final String USAGE = "usage: BatchRunner <xml> <generations> [--seed n] "
+      + "[--set name=value]... [--final file] [--summary file|-] [--every n]\n"
+      + "  --every n  summarize every n generations (default 1; 0 for only the first and last)";
+  public static final int DEFAULT_INTERVAL = 1;
+  public static final String SUMMARY_HEADER = "generation,width,height,state,count";
+  private static final String STANDARD_OUTPUT = "-";
+
+  private final Map<String, Integer> overrides = new HashMap<>();
+  private String dataFile;
+  private int generations;
+  private String finalFile;
+  private String summaryFile;
+  private int interval = DEFAULT_INTERVAL;
+
+  /**
+   * Purpose: Runs the simulation given on the command line. Exits with status 2 when the
+   * arguments are not valid and 1 when the file cannot be run.
+   *
+   * @param args command line arguments, see USAGE
+   */
+  public static void main(String[] args) {
+    BatchRunner runner = new BatchRunner();
+    try {
+      runner.parseArguments(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+    }
+    try {
+      runner.run();
+    } catch (Exception e) {
+      System.err.println(runner.dataFile + ": " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  private void parseArguments(String[] args) {
+    if (args.length < 2) {
+      throw new IllegalArgumentException("missing xml file or generation count");
+    }
+    dataFile = args[0];
+    generations = parseCount(args[1]);
+    for (int i = 2; i < args.length; i += 2) {
+      if (i + 1 >= args.length) {
+        throw new IllegalArgumentException("missing value for " + args[i]);
+      }
+      String value = args[i + 1];
+      switch (args[i]) {
+        case "--seed" -> overrides.put(GridHelper.SEED, parseInteger(value));
+        case "--set" -> putOverride(overrides, value);
+        case "--final" -> finalFile = value;
+        case "--summary" -> summaryFile = value;
+        case "--every" -> interval = parseCount(value);
+        default -> throw new IllegalArgumentException("unknown option " + args[i]);
+      }
+    }
+  }
+
+  /**
+   * Purpose: Reads a name=value parameter override into overrides.
+   *
+   * @param overrides map to add the override to
+   * @param assignment text of the form name=value
+   * @throws IllegalArgumentException when assignment is not of that form
+   */
+  public static void putOverride(Map<String, Integer> overrides, String assignment) {
+    int split = assignment.indexOf('=');
+    if (split <= 0) {
+      throw new IllegalArgumentException("expected name=value, got " + assignment);
+    }
+    overrides.put(assignment.substring(0, split), parseInteger(assignment.substring(split + 1)));
+  }
+
+  static int parseInteger(String value) {
+    try {
+      return Integer.parseInt(value.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("not an integer: " + value);
+    }
+  }
+
+  static int parseCount(String value) {
+    int count = parseInteger(value);
+    if (count < 0) {
+      throw new IllegalArgumentException("must not be negative: " + value);
+    }
+    return count;
+  }
+
+  private void run() throws Exception {
+    Simulation simulation = new Simulation(dataFile);
+    BatchRun batchRun = new BatchRun(simulation, overrides);
+    Writer summary = openSummary();
+    if (summary != null) {
+      summary.write(SUMMARY_HEADER + "\n");
+    }
+    long start = System.nanoTime();
+    Grid grid;
+    try {
+      grid = batchRun.run(generations, interval,
+          summary == null ? null : (generation, g) -> writeSummary(summary, generation, g));
+    } finally {
+      closeSummary(summary);
+    }
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    int[] dimensions = grid.getDimensions();
+    if (finalFile != null) {
+      try (Writer writer = new BufferedWriter(new FileWriter(finalFile))) {
+        SimulationWriter.write(writer, simulation.getInfoMap(), batchRun.getParameters(),
+            grid.viewGrid(), dimensions[0], dimensions[1]);
+      }
+    }
+    System.err.printf("%s: %d generations of %dx%d in %d ms (%.1f generations/s)%n",
+        simulation.getTitle(), generations, dimensions[0], dimensions[1], millis,
+        generations * 1000.0 / Math.max(1, millis));
+  }
+
+  private Writer openSummary() throws IOException {
+    if (summaryFile == null) {
+      return null;
+    }
+    if (summaryFile.equals(STANDARD_OUTPUT)) {
+      return new BufferedWriter(new OutputStreamWriter(System.out));
+    }
+    return new BufferedWriter(new FileWriter(summaryFile));
+  }
+
+  private void closeSummary(Writer summary) throws IOException {
+    if (summary == null) {
+      return;
+    }
+    if (summaryFile.equals(STANDARD_OUTPUT)) {
+      summary.flush();
+    } else {
+      summary.close();
+    }
+  }
+
+  /**
+   * Purpose: Writes one CSV row per state present in the grid.
+   */
+  private static void writeSummary(Writer summary, int generation, Grid grid)
+      throws IOException {
+    int[] dimensions = grid.getDimensions();
+    List<Integer> states = grid.viewGrid();
+    int[] counts = BatchRun.countStates(states);
+    for (int state = 0; state < counts.length; state++) {
+      if (counts[state] > 0) {
+        summary.write(generation + "," + dimensions[0] + "," + dimensions[1] + "," + state + ","
+            + counts[state] + "\n");
+      }
+    }
+  }
+}
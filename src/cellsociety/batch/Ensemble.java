@@ -0,0 +1,290 @@
+package cellsociety.batch;
+
+import cellsociety.configuration.Simulation;
+import cellsociety.model.GridHelper;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Purpose: Monte Carlo ensemble of one stochastic configuration, such as a Fire prob. Replica r
+ * runs with seed + r, several at a time on a fixed pool, and its observables are folded into
+ * RunningStatistics in replica order: the fraction of cells in each state and the fraction that
+ * left their initial state (the burned fraction of Fire) at every sampled generation, and for each
+ * state present at the start, whether and when it died out. Replicas stop being started once every
+ * state and changed fraction has a confidence interval no wider than the target, so the same seed
+ * and target always stop after the same replica and give the same statistics.
+ * Assumptions: The changed fraction is only recorded while the grid keeps the size it started
+ * with, so infinite grids that grow leave it out.
+ * Dependencies: BatchRun, RunningStatistics, Simulation, java.util.concurrent library.
+ * Example of use:
+ * Ensemble ensemble = new Ensemble(simulation, Map.of("prob", 55), 7, 300, 10);
+ * int replicas = ensemble.run(1000, 10, 0.02, 1.96, 8);
+ */
+public class Ensemble {
+
+  private static final int QUEUED_PER_THREAD = 2;
+
+  private final Simulation simulation;
+  private final Map<String, Integer> overrides;
+  private final int seed;
+  private final int generations;
+  private final List<Integer> sampledGenerations = new ArrayList<>();
+  private final List<List<RunningStatistics>> stateFractions = new ArrayList<>();
+  private final List<RunningStatistics> changedFractions = new ArrayList<>();
+  private final List<RunningStatistics> extinctions = new ArrayList<>();
+  private final List<RunningStatistics> extinctionTimes = new ArrayList<>();
+  private int replicas;
+  private volatile boolean stopped;
+
+  /**
+   * Purpose: Stores observables of one replica until it is folded in.
+   */
+  private static class Replica {
+
+    private final List<int[]> counts = new ArrayList<>();
+    private final List<Double> changed = new ArrayList<>();
+    private List<Integer> initial;
+    private int[] extinctionGenerations;
+  }
+
+  /**
+   * Purpose: Constructor for Ensemble.
+   *
+   * @param simulation parsed XML file shared by every replica
+   * @param overrides parameters of the configuration
+   * @param seed seed of the first replica
+   * @param generations number of generations to run each replica
+   * @param interval observables are sampled every interval generations, 0 for only the initial
+   *     and final grid
+   */
+  public Ensemble(Simulation simulation, Map<String, Integer> overrides, int seed,
+      int generations, int interval) {
+    this.simulation = simulation;
+    this.overrides = new HashMap<>(overrides);
+    this.overrides.putIfAbsent(GridHelper.PARALLEL, GridHelper.SEQUENTIAL);
+    this.seed = seed;
+    this.generations = generations;
+    for (int generation = 0; generation <= generations; generation++) {
+      if (generation == 0 || generation == generations
+          || interval > 0 && generation % interval == 0) {
+        sampledGenerations.add(generation);
+        stateFractions.add(new ArrayList<>());
+        changedFractions.add(new RunningStatistics());
+      }
+    }
+  }
+
+  /**
+   * Purpose: Runs replicas until the target width is reached or maxReplicas have run.
+   *
+   * @param maxReplicas most replicas to run
+   * @param minReplicas fewest replicas to run before stopping early
+   * @param targetWidth widest confidence interval, as a fraction of cells, to stop at; 0 to run
+   *     every replica
+   * @param z standard normal quantile of the confidence level, such as 1.96 for 95%
+   * @param parallelism number of replicas run at once
+   * @return number of replicas folded into the statistics
+   * @throws Exception when a replica cannot be built or run
+   */
+  public int run(int maxReplicas, int minReplicas, double targetWidth, double z, int parallelism)
+      throws Exception {
+    stopped = false;
+    ExecutorService compute = Executors.newFixedThreadPool(parallelism);
+    ArrayDeque<Future<Replica>> running = new ArrayDeque<>();
+    int submitted = replicas;
+    int last = replicas + maxReplicas;
+    try {
+      while (submitted < last || !running.isEmpty()) {
+        while (submitted < last && running.size() < parallelism * QUEUED_PER_THREAD) {
+          int replica = submitted++;
+          running.add(compute.submit(() -> runReplica(replica)));
+        }
+        absorb(getReplica(running.poll()));
+        if (replicas >= minReplicas && getWidestInterval(z) <= targetWidth) {
+          break;
+        }
+      }
+    } finally {
+      stopped = true;
+      compute.shutdownNow();
+    }
+    return replicas;
+  }
+
+  private static Replica getReplica(Future<Replica> future) throws Exception {
+    try {
+      return future.get();
+    } catch (ExecutionException e) {
+      throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+    }
+  }
+
+  private Replica runReplica(int replica) throws Exception {
+    Map<String, Integer> parameters = new HashMap<>(overrides);
+    parameters.put(GridHelper.SEED, seed + replica);
+    Replica result = new Replica();
+    new BatchRun(simulation, parameters).run(generations, 1, (generation, grid) -> {
+      if (stopped) {
+        throw new CancellationException();
+      }
+      List<Integer> states = grid.viewGrid();
+      int[] counts = BatchRun.countStates(states);
+      if (generation == 0) {
+        result.initial = states;
+        result.extinctionGenerations = new int[counts.length];
+        for (int state = 0; state < counts.length; state++) {
+          result.extinctionGenerations[state] = counts[state] > 0 ? -1 : 0;
+        }
+      }
+      for (int state = 0; state < result.extinctionGenerations.length; state++) {
+        if (result.extinctionGenerations[state] < 0
+            && (state >= counts.length || counts[state] == 0)) {
+          result.extinctionGenerations[state] = generation;
+        }
+      }
+      if (sampledGenerations.get(result.counts.size()) == generation) {
+        result.counts.add(counts);
+        result.changed.add(getChangedFraction(result.initial, states));
+      }
+    });
+    return result;
+  }
+
+  /**
+   * Purpose: Returns the fraction of cells not in their initial state, or NaN if the grid has
+   * changed size.
+   */
+  private static double getChangedFraction(List<Integer> initial, List<Integer> states) {
+    if (initial.size() != states.size()) {
+      return Double.NaN;
+    }
+    int changed = 0;
+    for (int i = 0; i < states.size(); i++) {
+      if (!initial.get(i).equals(states.get(i))) {
+        changed++;
+      }
+    }
+    return (double) changed / states.size();
+  }
+
+  private void absorb(Replica replica) {
+    for (int sample = 0; sample < sampledGenerations.size(); sample++) {
+      int[] counts = replica.counts.get(sample);
+      long total = 0;
+      for (int count : counts) {
+        total += count;
+      }
+      List<RunningStatistics> fractions = stateFractions.get(sample);
+      while (fractions.size() < counts.length) {
+        fractions.add(new RunningStatistics(replicas, 0));
+      }
+      for (int state = 0; state < fractions.size(); state++) {
+        fractions.get(state).add(state < counts.length ? (double) counts[state] / total : 0);
+      }
+      double changed = replica.changed.get(sample);
+      if (!Double.isNaN(changed)) {
+        changedFractions.get(sample).add(changed);
+      }
+    }
+    int[] extinctionGenerations = replica.extinctionGenerations;
+    while (extinctions.size() < extinctionGenerations.length) {
+      extinctions.add(new RunningStatistics());
+      extinctionTimes.add(new RunningStatistics());
+    }
+    for (int state = 0; state < extinctionGenerations.length; state++) {
+      if (extinctionGenerations[state] == 0) {
+        continue;
+      }
+      extinctions.get(state).add(extinctionGenerations[state] > 0 ? 1 : 0);
+      if (extinctionGenerations[state] > 0) {
+        extinctionTimes.get(state).add(extinctionGenerations[state]);
+      }
+    }
+    replicas++;
+  }
+
+  /**
+   * Purpose: Returns the width of the widest confidence interval of any state or changed
+   * fraction at any sampled generation.
+   *
+   * @param z standard normal quantile of the confidence level
+   * @return double width, as a fraction of cells
+   */
+  public double getWidestInterval(double z) {
+    double widest = 0;
+    for (int sample = 0; sample < sampledGenerations.size(); sample++) {
+      for (RunningStatistics fraction : stateFractions.get(sample)) {
+        widest = Math.max(widest, 2 * fraction.getHalfWidth(z));
+      }
+      if (changedFractions.get(sample).getCount() > 0) {
+        widest = Math.max(widest, 2 * changedFractions.get(sample).getHalfWidth(z));
+      }
+    }
+    return widest;
+  }
+
+  /**
+   * Purpose: Returns number of replicas folded into the statistics.
+   *
+   * @return int replicas
+   */
+  public int getReplicas() {
+    return replicas;
+  }
+
+  /**
+   * Purpose: Returns the generations observables are sampled at.
+   *
+   * @return List of generations, in order
+   */
+  public List<Integer> getSampledGenerations() {
+    return new ArrayList<>(sampledGenerations);
+  }
+
+  /**
+   * Purpose: Returns the fraction of cells in each state at one sampled generation.
+   *
+   * @param sample index into getSampledGenerations()
+   * @return List whose entry s holds the statistics of state s
+   */
+  public List<RunningStatistics> getStateFractions(int sample) {
+    return new ArrayList<>(stateFractions.get(sample));
+  }
+
+  /**
+   * Purpose: Returns the fraction of cells not in their initial state at one sampled generation.
+   *
+   * @param sample index into getSampledGenerations()
+   * @return RunningStatistics of the changed fraction
+   */
+  public RunningStatistics getChangedFraction(int sample) {
+    return changedFractions.get(sample);
+  }
+
+  /**
+   * Purpose: Returns, for each state, 1 for replicas where it died out and 0 for those where it
+   * lasted, over replicas that started with it.
+   *
+   * @return List whose entry s holds the statistics of state s
+   */
+  public List<RunningStatistics> getExtinctions() {
+    return new ArrayList<>(extinctions);
+  }
+
+  /**
+   * Purpose: Returns, for each state, the generation it died out at, over replicas where it did.
+   *
+   * @return List whose entry s holds the statistics of state s
+   */
+  public List<RunningStatistics> getExtinctionTimes() {
+    return new ArrayList<>(extinctionTimes);
+  }
+}
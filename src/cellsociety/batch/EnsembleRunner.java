@@ -0,0 +1,186 @@
+package cellsociety.batch;
+
+import cellsociety.configuration.Simulation;
+import cellsociety.model.GridHelper;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purpose: Command line entry point for an Ensemble. Runs seeded replicas of one configuration
+ * until every sampled state fraction has a confidence interval no wider than --width, or until
+ * --replicas have run, then writes CSV rows of generation, observable, replicas, mean, variance
+ * and the interval bounds. Observables are state0, state1, ... and changed at each sampled
+ * generation, and extinct0, ... (how often a state died out) and extinctionTime0, ... (when it
+ * did) with an empty generation.
+ * Assumptions: --width is a fraction of cells, such as 0.02, and --confidence is one of the
+ * levels in CONFIDENCE_LEVELS.
+ * Dependencies: Ensemble, RunningStatistics, BatchRunner, Simulation, java.io and java.util
+ * libraries.
+ * Example of use:
+ * java cellsociety.batch.EnsembleRunner data/XMLs/Fire/first.XML 300 --set prob=55
+ *     --replicas 1000 --width 0.02 --every 10 --out fire55.csv
+ */
+public class EnsembleRunner {
+
+  public static final String USAGE = "usage: EnsembleRunner <xml> <generations> [--replicas n] "
+      + "[--min n] [--width w] [--confidence 80|90|95|98|99] [--seed n] [--set name=value]... "
+      + "[--threads n] [--every n] [--out file|-]";
+  public static final String HEADER = "generation,observable,replicas,mean,variance,low,high";
+  public static final Map<Integer, Double> CONFIDENCE_LEVELS = Map.of(80, 1.2816, 90, 1.6449,
+      95, 1.9600, 98, 2.3263, 99, 2.5758);
+  private static final String STANDARD_OUTPUT = "-";
+  private static final int DEFAULT_REPLICAS = 100;
+  private static final int DEFAULT_MIN_REPLICAS = 10;
+  private static final int DEFAULT_CONFIDENCE = 95;
+
+  private final Map<String, Integer> overrides = new HashMap<>();
+  private String dataFile;
+  private int generations;
+  private int maxReplicas = DEFAULT_REPLICAS;
+  private int minReplicas = DEFAULT_MIN_REPLICAS;
+  private double width;
+  private double z = CONFIDENCE_LEVELS.get(DEFAULT_CONFIDENCE);
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private int interval;
+  private String outFile = STANDARD_OUTPUT;
+
+  /**
+   * Purpose: Runs the ensemble given on the command line. Exits with status 2 when the arguments
+   * are not valid and 1 when the file cannot be run.
+   *
+   * @param args command line arguments, see USAGE
+   */
+  public static void main(String[] args) {
+    EnsembleRunner runner = new EnsembleRunner();
+    try {
+      runner.parseArguments(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+    }
+    try {
+      runner.run();
+    } catch (Exception e) {
+      System.err.println(runner.dataFile + ": " + e.getMessage());
+      System.exit(1);
+    }
+  }
+
+  private void parseArguments(String[] args) {
+    if (args.length < 2) {
+      throw new IllegalArgumentException("missing xml file or generation count");
+    }
+    dataFile = args[0];
+    generations = BatchRunner.parseCount(args[1]);
+    for (int i = 2; i < args.length; i += 2) {
+      if (i + 1 >= args.length) {
+        throw new IllegalArgumentException("missing value for " + args[i]);
+      }
+      String value = args[i + 1];
+      switch (args[i]) {
+        case "--replicas" -> maxReplicas = BatchRunner.parseCount(value);
+        case "--min" -> minReplicas = BatchRunner.parseCount(value);
+        case "--width" -> width = parseWidth(value);
+        case "--confidence" -> z = parseConfidence(value);
+        case "--seed" -> overrides.put(GridHelper.SEED, BatchRunner.parseInteger(value));
+        case "--set" -> BatchRunner.putOverride(overrides, value);
+        case "--threads" -> threads = Math.max(1, BatchRunner.parseCount(value));
+        case "--every" -> interval = BatchRunner.parseCount(value);
+        case "--out" -> outFile = value;
+        default -> throw new IllegalArgumentException("unknown option " + args[i]);
+      }
+    }
+  }
+
+  private static double parseWidth(String value) {
+    try {
+      double parsed = Double.parseDouble(value.trim());
+      if (parsed >= 0) {
+        return parsed;
+      }
+    } catch (NumberFormatException e) {
+      // reported below
+    }
+    throw new IllegalArgumentException("not a width: " + value);
+  }
+
+  private static double parseConfidence(String value) {
+    Double quantile = CONFIDENCE_LEVELS.get(BatchRunner.parseInteger(value));
+    if (quantile == null) {
+      throw new IllegalArgumentException("unsupported confidence level " + value);
+    }
+    return quantile;
+  }
+
+  private void run() throws Exception {
+    Simulation simulation = new Simulation(dataFile);
+    int seed = overrides.getOrDefault(GridHelper.SEED, 0);
+    Ensemble ensemble = new Ensemble(simulation, overrides, seed, generations, interval);
+    long start = System.nanoTime();
+    int replicas = ensemble.run(maxReplicas, minReplicas, width, z, threads);
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    Writer out = openOutput();
+    try {
+      writeStatistics(out, ensemble);
+    } finally {
+      closeOutput(out);
+    }
+    System.err.printf("%s: %d replicas of %d generations in %d ms, widest interval %.4f%n",
+        simulation.getTitle(), replicas, generations, millis, ensemble.getWidestInterval(z));
+  }
+
+  private Writer openOutput() throws IOException {
+    if (outFile.equals(STANDARD_OUTPUT)) {
+      return new BufferedWriter(new OutputStreamWriter(System.out));
+    }
+    return new BufferedWriter(new FileWriter(outFile));
+  }
+
+  private void closeOutput(Writer out) throws IOException {
+    if (outFile.equals(STANDARD_OUTPUT)) {
+      out.flush();
+    } else {
+      out.close();
+    }
+  }
+
+  private void writeStatistics(Writer out, Ensemble ensemble) throws IOException {
+    out.write(HEADER + "\n");
+    List<Integer> sampled = ensemble.getSampledGenerations();
+    for (int sample = 0; sample < sampled.size(); sample++) {
+      String generation = String.valueOf(sampled.get(sample));
+      List<RunningStatistics> fractions = ensemble.getStateFractions(sample);
+      for (int state = 0; state < fractions.size(); state++) {
+        writeRow(out, generation, "state" + state, fractions.get(state));
+      }
+      writeRow(out, generation, "changed", ensemble.getChangedFraction(sample));
+    }
+    List<RunningStatistics> extinctions = ensemble.getExtinctions();
+    List<RunningStatistics> extinctionTimes = ensemble.getExtinctionTimes();
+    for (int state = 0; state < extinctions.size(); state++) {
+      writeRow(out, "", "extinct" + state, extinctions.get(state));
+      writeRow(out, "", "extinctionTime" + state, extinctionTimes.get(state));
+    }
+  }
+
+  /**
+   * Purpose: Writes one CSV row, skipping observables no replica recorded.
+   */
+  private void writeRow(Writer out, String generation, String observable,
+      RunningStatistics statistics) throws IOException {
+    if (statistics.getCount() == 0) {
+      return;
+    }
+    double halfWidth = statistics.getHalfWidth(z);
+    out.write(generation + "," + observable + "," + statistics.getCount() + ","
+        + statistics.getMean() + "," + statistics.getVariance() + ","
+        + (statistics.getMean() - halfWidth) + "," + (statistics.getMean() + halfWidth) + "\n");
+  }
+}
@@ -0,0 +1,188 @@
+package cellsociety.batch;
+
+import cellsociety.configuration.Simulation;
+import cellsociety.model.GridHelper;
+import cellsociety.model.engine.SimulationRandom;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Purpose: Runs one parsed simulation over many parameter configurations, such as every
+ * combination of Fire prob and WaTor breed thresholds, or a random sample of them. Each
+ * configuration is an independent BatchRun queued on a fixed pool of parallelism threads that
+ * step the grids, so at most parallelism grids are in memory at once. The calling thread takes
+ * each result as soon as its run finishes and passes it to the listener, so a slow run does not
+ * hold back the runs queued after it.
+ * Assumptions: Grids of a sweep are run sequentially unless the overrides set "parallel", since
+ * the sweep already keeps every core busy.
+ * Dependencies: BatchRun, SweepResult, Simulation, SimulationRandom, java.util.concurrent library.
+ * Example of use:
+ * new ParameterSweep(simulation, Map.of("seed", 7), ParameterSweep.gridDesign(values))
+ *     .run(500, 0, Runtime.getRuntime().availableProcessors(), result -> write(result));
+ */
+public class ParameterSweep {
+
+  /**
+   * Purpose: Receives the result of each configuration of a sweep.
+   */
+  public interface ResultListener {
+
+    /**
+     * Purpose: Called once per configuration, on the thread that called run().
+     *
+     * @param result outcome of the configuration
+     * @throws IOException when the listener cannot write its output
+     */
+    void accept(SweepResult result) throws IOException;
+  }
+
+  private final Simulation simulation;
+  private final Map<String, Integer> overrides;
+  private final List<Map<String, Integer>> configurations;
+
+  /**
+   * Purpose: Constructor for ParameterSweep.
+   *
+   * @param simulation parsed XML file shared by every run
+   * @param overrides parameters every configuration is run with, such as a seed
+   * @param configurations varied parameters of each run, applied over overrides
+   */
+  public ParameterSweep(Simulation simulation, Map<String, Integer> overrides,
+      List<Map<String, Integer>> configurations) {
+    this.simulation = simulation;
+    this.overrides = new HashMap<>(overrides);
+    this.overrides.putIfAbsent(GridHelper.PARALLEL, GridHelper.SEQUENTIAL);
+    this.configurations = new ArrayList<>(configurations);
+  }
+
+  /**
+   * Purpose: Returns the varied parameters of each run.
+   *
+   * @return List of configurations, in run order
+   */
+  public List<Map<String, Integer>> getConfigurations() {
+    return new ArrayList<>(configurations);
+  }
+
+  /**
+   * Purpose: Expands every combination of parameter values. The last parameter varies fastest.
+   *
+   * @param values values to try for each parameter, in order
+   * @return List of configurations, one per combination
+   */
+  public static List<Map<String, Integer>> gridDesign(Map<String, List<Integer>> values) {
+    List<Map<String, Integer>> design = new ArrayList<>();
+    design.add(new LinkedHashMap<>());
+    for (Map.Entry<String, List<Integer>> parameter : values.entrySet()) {
+      List<Map<String, Integer>> expanded = new ArrayList<>();
+      for (Map<String, Integer> partial : design) {
+        for (int value : parameter.getValue()) {
+          Map<String, Integer> configuration = new LinkedHashMap<>(partial);
+          configuration.put(parameter.getKey(), value);
+          expanded.add(configuration);
+        }
+      }
+      design = expanded;
+    }
+    return design;
+  }
+
+  /**
+   * Purpose: Draws configurations whose parameters are each picked uniformly from their values.
+   * The same seed gives the same design.
+   *
+   * @param values values to pick from for each parameter
+   * @param count number of configurations
+   * @param seed decides every value picked
+   * @return List of count configurations
+   */
+  public static List<Map<String, Integer>> randomDesign(Map<String, List<Integer>> values,
+      int count, long seed) {
+    SimulationRandom random = new SimulationRandom(seed);
+    List<Map<String, Integer>> design = new ArrayList<>();
+    for (int run = 0; run < count; run++) {
+      Map<String, Integer> configuration = new LinkedHashMap<>();
+      int draw = 0;
+      for (Map.Entry<String, List<Integer>> parameter : values.entrySet()) {
+        List<Integer> choices = parameter.getValue();
+        configuration.put(parameter.getKey(),
+            choices.get(random.nextInt(run, draw++, choices.size())));
+      }
+      design.add(configuration);
+    }
+    return design;
+  }
+
+  /**
+   * Purpose: Runs every configuration and passes each result to listener. A run that fails is
+   * still reported, with its error, and the others go on.
+   *
+   * @param generations number of generations to run each configuration
+   * @param interval state counts are taken every interval generations, 0 for only the initial and
+   *     final grid
+   * @param parallelism number of grids stepped at once
+   * @param listener receives each result
+   * @throws IOException when the listener fails; no more results are passed to it
+   * @throws InterruptedException when interrupted while waiting for the runs
+   */
+  public void run(int generations, int interval, int parallelism, ResultListener listener)
+      throws IOException, InterruptedException {
+    ExecutorService compute = Executors.newFixedThreadPool(parallelism);
+    try {
+      CompletionService<SweepResult> finished = new ExecutorCompletionService<>(compute);
+      Map<Future<SweepResult>, Integer> runs = new IdentityHashMap<>();
+      for (int run = 0; run < configurations.size(); run++) {
+        int index = run;
+        runs.put(finished.submit(() -> runConfiguration(index, generations, interval)), run);
+      }
+      for (int count = 0; count < configurations.size(); count++) {
+        Future<SweepResult> result = finished.take();
+        listener.accept(collect(runs.get(result), result));
+      }
+    } finally {
+      compute.shutdownNow();
+    }
+  }
+
+  private SweepResult collect(int run, Future<SweepResult> result) throws InterruptedException {
+    try {
+      return result.get();
+    } catch (ExecutionException e) {
+      return new SweepResult(run, configurations.get(run), List.of(), List.of(), 0, 0, 0, e);
+    }
+  }
+
+  private SweepResult runConfiguration(int run, int generations, int interval) {
+    Map<String, Integer> configuration = configurations.get(run);
+    Map<String, Integer> parameters = new HashMap<>(overrides);
+    parameters.putAll(configuration);
+    List<Integer> sampled = new ArrayList<>();
+    List<int[]> counts = new ArrayList<>();
+    int[] dimensions = new int[2];
+    long start = System.nanoTime();
+    Exception error = null;
+    try {
+      new BatchRun(simulation, parameters).run(generations, interval, (generation, grid) -> {
+        sampled.add(generation);
+        counts.add(BatchRun.countStates(grid.viewGrid()));
+        System.arraycopy(grid.getDimensions(), 0, dimensions, 0, dimensions.length);
+      });
+    } catch (Exception e) {
+      error = e;
+    }
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    return new SweepResult(run, configuration, sampled, counts, dimensions[0], dimensions[1],
+        millis, error);
+  }
+}
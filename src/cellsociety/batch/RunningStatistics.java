@@ -0,0 +1,86 @@
+package cellsociety.batch;
+
+/**
+ * Purpose: Mean and variance of a stream of values, updated one value at a time with Welford's
+ * method, so no value has to be kept and the variance does not lose precision the way a running
+ * sum of squares does.
+ * Assumptions: Values are added from one thread.
+ * Dependencies: None
+ * Example of use: statistics.add(fraction); double width = 2 * statistics.getHalfWidth(1.96);
+ */
+public class RunningStatistics {
+
+  private long count;
+  private double mean;
+  private double squaredDeviations;
+
+  /**
+   * Purpose: Constructor for RunningStatistics with no values.
+   */
+  public RunningStatistics() {
+  }
+
+  /**
+   * Purpose: Constructor for RunningStatistics that starts with count copies of one value, such as
+   * the zeros of replicas that never had a state.
+   *
+   * @param count number of values already seen
+   * @param value every value already seen
+   */
+  public RunningStatistics(long count, double value) {
+    this.count = count;
+    this.mean = count > 0 ? value : 0;
+  }
+
+  /**
+   * Purpose: Adds one value.
+   *
+   * @param value value to add
+   */
+  public void add(double value) {
+    count++;
+    double delta = value - mean;
+    mean += delta / count;
+    squaredDeviations += delta * (value - mean);
+  }
+
+  /**
+   * Purpose: Returns number of values added.
+   *
+   * @return long count
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Purpose: Returns mean of the values added.
+   *
+   * @return double mean, 0 when there are none
+   */
+  public double getMean() {
+    return mean;
+  }
+
+  /**
+   * Purpose: Returns sample variance of the values added.
+   *
+   * @return double variance, 0 when there are fewer than two values
+   */
+  public double getVariance() {
+    return count > 1 ? squaredDeviations / (count - 1) : 0;
+  }
+
+  /**
+   * Purpose: Returns half the width of the normal confidence interval of the mean.
+   *
+   * @param z standard normal quantile of the confidence level, such as 1.96 for 95%
+   * @return double half width, infinite when there are fewer than two values
+   */
+  public double getHalfWidth(double z) {
+    if (count < 2) {
+      return Double.POSITIVE_INFINITY;
+    }
+    return z * Math.sqrt(getVariance() / count);
+  }
+}
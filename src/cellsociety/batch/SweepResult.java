@@ -0,0 +1,121 @@
+package cellsociety.batch;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purpose: Outcome of one configuration of a ParameterSweep: the parameters it was run with, the
+ * number of cells in each state at the sampled generations, and how long it took, or the error
+ * that stopped it.
+ * Assumptions: generations and counts are in the same order, one entry per sampled generation.
+ * Dependencies: java.util library.
+ * Example of use: int[] last = result.getCounts().get(result.getCounts().size() - 1);
+ */
+public class SweepResult {
+
+  private final int run;
+  private final Map<String, Integer> parameters;
+  private final List<Integer> generations;
+  private final List<int[]> counts;
+  private final int width;
+  private final int height;
+  private final long millis;
+  private final Exception error;
+
+  /**
+   * Purpose: Constructor for SweepResult.
+   *
+   * @param run index of the configuration in the sweep
+   * @param parameters varied parameters of the configuration
+   * @param generations sampled generations
+   * @param counts state counts at each sampled generation, from BatchRun.countStates()
+   * @param width grid width after the run
+   * @param height grid height after the run
+   * @param millis time the run took
+   * @param error exception that stopped the run, or null
+   */
+  public SweepResult(int run, Map<String, Integer> parameters, List<Integer> generations,
+      List<int[]> counts, int width, int height, long millis, Exception error) {
+    this.run = run;
+    this.parameters = Collections.unmodifiableMap(parameters);
+    this.generations = Collections.unmodifiableList(generations);
+    this.counts = Collections.unmodifiableList(counts);
+    this.width = width;
+    this.height = height;
+    this.millis = millis;
+    this.error = error;
+  }
+
+  /**
+   * Purpose: Returns the index of the configuration in the sweep.
+   *
+   * @return int run index
+   */
+  public int getRun() {
+    return run;
+  }
+
+  /**
+   * Purpose: Returns the varied parameters of the configuration.
+   *
+   * @return Map of parameter names to values
+   */
+  public Map<String, Integer> getParameters() {
+    return parameters;
+  }
+
+  /**
+   * Purpose: Returns the generations the state counts were taken at.
+   *
+   * @return List of generations
+   */
+  public List<Integer> getGenerations() {
+    return generations;
+  }
+
+  /**
+   * Purpose: Returns the state counts at each sampled generation.
+   *
+   * @return List of arrays whose entry s is the number of cells in state s
+   */
+  public List<int[]> getCounts() {
+    return counts;
+  }
+
+  /**
+   * Purpose: Returns grid width after the run.
+   *
+   * @return int width
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Purpose: Returns grid height after the run.
+   *
+   * @return int height
+   */
+  public int getHeight() {
+    return height;
+  }
+
+  /**
+   * Purpose: Returns how long the run took, including building the grid.
+   *
+   * @return long milliseconds
+   */
+  public long getMillis() {
+    return millis;
+  }
+
+  /**
+   * Purpose: Returns the exception that stopped the run.
+   *
+   * @return Exception, or null when the run finished
+   */
+  public Exception getError() {
+    return error;
+  }
+}
@@ -0,0 +1,227 @@
+package cellsociety.batch;
+
+import cellsociety.configuration.Simulation;
+import cellsociety.model.GridHelper;
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purpose: Command line entry point for a ParameterSweep. Parses an XML file once, runs it with
+ * every combination of the --vary values, or with --samples configurations drawn from them, and
+ * streams the results into one CSV file of run, the varied parameters, generation, state and
+ * count, one row per state present at each sampled generation. A seeded sweep writes the same
+ * rows on any number of threads, though runs are written in the order they finish; how long each
+ * run took goes to a separate --timing CSV file of run, the varied parameters and milliseconds.
+ * Assumptions: Values are written as a list (prob=10,20,30) or a range (prob=10:90:10, the step
+ * defaulting to 1).
+ * Dependencies: ParameterSweep, SweepResult, BatchRunner, Simulation, java.io and java.util
+ * libraries.
+ * Example of use:
+ * java cellsociety.batch.SweepRunner data/XMLs/Fire/first.XML 200 --vary prob=0:100:5
+ *     --seed 7 --out sweep.csv --timing times.csv
+ */
+public class SweepRunner {
+
+  public static final String USAGE = "usage: SweepRunner <xml> <generations> --vary name=values"
+      + "... [--samples n] [--seed n] [--set name=value]... [--threads n] [--every n] "
+      + "[--out file|-] [--timing file]";
+  private static final String STANDARD_OUTPUT = "-";
+  private static final String LIST_SEPARATOR = ",";
+  private static final String RANGE_SEPARATOR = ":";
+
+  private final Map<String, Integer> overrides = new HashMap<>();
+  private final Map<String, List<Integer>> values = new LinkedHashMap<>();
+  private String dataFile;
+  private int generations;
+  private int samples;
+  private int threads = Runtime.getRuntime().availableProcessors();
+  private int interval;
+  private String outFile = STANDARD_OUTPUT;
+  private String timingFile;
+  private int failures;
+
+  /**
+   * Purpose: Runs the sweep given on the command line. Exits with status 2 when the arguments are
+   * not valid and 1 when the file cannot be run or any configuration fails.
+   *
+   * @param args command line arguments, see USAGE
+   */
+  public static void main(String[] args) {
+    SweepRunner runner = new SweepRunner();
+    try {
+      runner.parseArguments(args);
+    } catch (IllegalArgumentException e) {
+      System.err.println(e.getMessage());
+      System.err.println(USAGE);
+      System.exit(2);
+    }
+    try {
+      runner.run();
+    } catch (Exception e) {
+      System.err.println(runner.dataFile + ": " + e.getMessage());
+      System.exit(1);
+    }
+    if (runner.failures > 0) {
+      System.exit(1);
+    }
+  }
+
+  private void parseArguments(String[] args) {
+    if (args.length < 2) {
+      throw new IllegalArgumentException("missing xml file or generation count");
+    }
+    dataFile = args[0];
+    generations = BatchRunner.parseCount(args[1]);
+    for (int i = 2; i < args.length; i += 2) {
+      if (i + 1 >= args.length) {
+        throw new IllegalArgumentException("missing value for " + args[i]);
+      }
+      String value = args[i + 1];
+      switch (args[i]) {
+        case "--vary" -> putValues(values, value);
+        case "--samples" -> samples = BatchRunner.parseCount(value);
+        case "--seed" -> overrides.put(GridHelper.SEED, BatchRunner.parseInteger(value));
+        case "--set" -> BatchRunner.putOverride(overrides, value);
+        case "--threads" -> threads = Math.max(1, BatchRunner.parseCount(value));
+        case "--every" -> interval = BatchRunner.parseCount(value);
+        case "--out" -> outFile = value;
+        case "--timing" -> timingFile = value;
+        default -> throw new IllegalArgumentException("unknown option " + args[i]);
+      }
+    }
+    if (values.isEmpty()) {
+      throw new IllegalArgumentException("nothing to vary");
+    }
+  }
+
+  /**
+   * Purpose: Reads the values of one varied parameter into values.
+   *
+   * @param values map to add the parameter to
+   * @param assignment name=v1,v2,... or name=from:to[:step]
+   * @throws IllegalArgumentException when assignment is not of either form
+   */
+  public static void putValues(Map<String, List<Integer>> values, String assignment) {
+    int split = assignment.indexOf('=');
+    if (split <= 0) {
+      throw new IllegalArgumentException("expected name=values, got " + assignment);
+    }
+    String text = assignment.substring(split + 1);
+    List<Integer> list = new ArrayList<>();
+    if (text.contains(RANGE_SEPARATOR)) {
+      String[] bounds = text.split(RANGE_SEPARATOR, -1);
+      if (bounds.length < 2 || bounds.length > 3 || Arrays.asList(bounds).contains("")) {
+        throw new IllegalArgumentException("expected from:to[:step], got " + text);
+      }
+      int from = BatchRunner.parseInteger(bounds[0]);
+      int to = BatchRunner.parseInteger(bounds[1]);
+      int step = bounds.length == 3 ? BatchRunner.parseInteger(bounds[2]) : 1;
+      if (step <= 0 || to < from) {
+        throw new IllegalArgumentException("empty range " + text);
+      }
+      for (long value = from; value <= to; value += step) {
+        list.add((int) value);
+      }
+    } else {
+      for (String value : text.split(LIST_SEPARATOR)) {
+        list.add(BatchRunner.parseInteger(value));
+      }
+    }
+    values.put(assignment.substring(0, split), list);
+  }
+
+  private void run() throws Exception {
+    Simulation simulation = new Simulation(dataFile);
+    long seed = overrides.getOrDefault(GridHelper.SEED, 0);
+    List<Map<String, Integer>> design = samples > 0
+        ? ParameterSweep.randomDesign(values, samples, seed)
+        : ParameterSweep.gridDesign(values);
+    ParameterSweep sweep = new ParameterSweep(simulation, overrides, design);
+    long start = System.nanoTime();
+    String names = String.join(",", values.keySet());
+    Writer out = openOutput();
+    Writer timing = timingFile == null ? null : new BufferedWriter(new FileWriter(timingFile));
+    try {
+      out.write("run," + names + ",generation,state,count\n");
+      if (timing != null) {
+        timing.write("run," + names + ",millis\n");
+      }
+      sweep.run(generations, interval, threads, result -> {
+        writeResult(out, result);
+        writeTiming(timing, result);
+      });
+    } finally {
+      closeOutput(out);
+      if (timing != null) {
+        timing.close();
+      }
+    }
+    long millis = (System.nanoTime() - start) / 1_000_000;
+    System.err.printf("%s: %d runs of %d generations on %d threads in %d ms, %d failed%n",
+        simulation.getTitle(), design.size(), generations, threads, millis, failures);
+  }
+
+  private Writer openOutput() throws IOException {
+    if (outFile.equals(STANDARD_OUTPUT)) {
+      return new BufferedWriter(new OutputStreamWriter(System.out));
+    }
+    return new BufferedWriter(new FileWriter(outFile));
+  }
+
+  private void closeOutput(Writer out) throws IOException {
+    if (outFile.equals(STANDARD_OUTPUT)) {
+      out.flush();
+    } else {
+      out.close();
+    }
+  }
+
+  /**
+   * Purpose: Writes one CSV row per state present at each sampled generation of a run, or
+   * reports the run's error.
+   */
+  private void writeResult(Writer out, SweepResult result) throws IOException {
+    if (result.getError() != null) {
+      failures++;
+      System.err.println("run " + result.getRun() + " " + result.getParameters() + ": "
+          + result.getError().getMessage());
+      return;
+    }
+    String prefix = formatRun(result);
+    for (int sample = 0; sample < result.getGenerations().size(); sample++) {
+      int[] counts = result.getCounts().get(sample);
+      for (int state = 0; state < counts.length; state++) {
+        if (counts[state] > 0) {
+          out.write(prefix + "," + result.getGenerations().get(sample) + "," + state + ","
+              + counts[state] + "\n");
+        }
+      }
+    }
+  }
+
+  /**
+   * Purpose: Writes how long a finished run took to the timing file, when there is one.
+   */
+  private void writeTiming(Writer timing, SweepResult result) throws IOException {
+    if (timing != null && result.getError() == null) {
+      timing.write(formatRun(result) + "," + result.getMillis() + "\n");
+    }
+  }
+
+  private String formatRun(SweepResult result) {
+    StringBuilder prefix = new StringBuilder().append(result.getRun());
+    for (String name : values.keySet()) {
+      prefix.append(',').append(result.getParameters().get(name));
+    }
+    return prefix.toString();
+  }
+}
@@ -0,0 +1,75 @@
+package cellsociety.configuration;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purpose: Writes the current state of a simulation as an XML file that Simulation can read back.
+ * Assumptions: cells holds width * height states row by row, each a single digit.
+ * Dependencies: java.io and java.util libraries.
+ * Example of use: SimulationWriter.write(writer, info, params, grid.viewGrid(), width, height);
+ */
+public class SimulationWriter {
+
+  private SimulationWriter() {
+  }
+
+  /**
+   * Purpose: Writes the information, parameters and cells sections. The width and height
+   * parameters are replaced by the size of the grid given, since infinite grids may have grown.
+   *
+   * @param writer where the XML goes; not closed
+   * @param info information section, such as simulation.getInfoMap()
+   * @param params parameters section
+   * @param cells cell states row by row
+   * @param width grid width
+   * @param height grid height
+   * @throws IOException when writer fails
+   */
+  public static void write(Writer writer, Map<String, String> info, Map<String, Integer> params,
+      List<Integer> cells, int width, int height) throws IOException {
+    Map<String, Integer> sized = new HashMap<>(params);
+    sized.put(Simulation.WIDTH, width);
+    sized.put(Simulation.HEIGHT, height);
+    writer.write("<root>\n");
+    writeInformation(writer, info);
+    writeParameters(writer, sized);
+    writeCells(writer, cells, width, height);
+    writer.write("</root>");
+  }
+
+  private static void writeInformation(Writer writer, Map<String, String> info)
+      throws IOException {
+    writer.write("  <information>\n");
+    for (String s : info.keySet()) {
+      writer.write("    <" + s + ">" + info.get(s) + "</" + s + ">\n");
+    }
+    writer.write("  </information>\n");
+  }
+
+  private static void writeParameters(Writer writer, Map<String, Integer> params)
+      throws IOException {
+    writer.write("  <parameters>\n");
+    for (String s : params.keySet()) {
+      writer.write("    <" + s + ">" + params.get(s) + "</" + s + ">\n");
+    }
+    writer.write("  </parameters>\n");
+  }
+
+  private static void writeCells(Writer writer, List<Integer> cells, int width, int height)
+      throws IOException {
+    writer.write("  <cells>\n");
+    StringBuilder row = new StringBuilder(width);
+    for (int i = 0; i < height; i++) {
+      row.setLength(0);
+      for (int j = 0; j < width; j++) {
+        row.append(cells.get(i * width + j));
+      }
+      writer.write("    <cellRow>" + row + "</cellRow>\n");
+    }
+    writer.write("  </cells>\n");
+  }
+}
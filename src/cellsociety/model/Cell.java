@@ -1,12 +1,12 @@
 package cellsociety.model;
 
-import java.util.HashMap;
+import cellsociety.model.engine.SimulationRandom;
 import java.util.Map;
 
 /**
  * Purpose: Represents a cell within the cell automata simulation.
  * Assumptions: Extended by child classes that are called by a Grid child class.
- * Dependencies: HashMap and Map libraries.
+ * Dependencies: MoveRequest, SimulationRandom, Map library.
  * Example of use: Extended by child class WaTorCell.
  *
  * @author Jessica Yang, Juhyoung Lee
@@ -16,10 +16,11 @@ public abstract class Cell {
   public static final int NO_MOVEMENT = -1;
   public static final String STATE_KEY = "state";
   public static final String PARAMETER_EXCEPTION_MESSAGE = "Cell parameter invalid.";
-  private Map<String, Integer> moveState = new HashMap<>();
   private int myState;
   private int nextState;
   private int maxStateValue;
+  private SimulationRandom random;
+  private long randomStream;
 
   /**
    * Purpose: Constructor for Cell class.
@@ -50,13 +51,14 @@ public abstract class Cell {
   }
 
   /**
-   * Purpose: Determine new state to update to.
-   * Assumptions: None.
-   * Parameters: int[] neighborStates.
+   * Purpose: Determine new state to update to, and fill request with what needs to be moved, if
+   *    any.
+   * Assumptions: request is reused between generations, so every call sets its state.
+   * Parameters: int[] neighborStates, MoveRequest request.
    * Exceptions: None.
-   * Returns: Map object. Describes what needs to be moved, if any.
+   * Returns: None.
    */
-  public abstract Map<String, Integer> prepareNextState(int[] neighborStates);
+  public abstract void prepareNextState(int[] neighborStates, MoveRequest request);
 
   /**
    * Purpose: Update current cell state, and return value for other methods to use.
@@ -72,13 +74,13 @@ public abstract class Cell {
   }
 
   /**
-   * Purpose: Accepts Map information with new state information. Will default to return false.
+   * Purpose: Accepts MoveRequest with new state information. Will default to return false.
    * Assumptions: Grid should call this method only on Cells with movement simulations.
-   * Parameters: Map object.
+   * Parameters: MoveRequest object.
    * Exceptions: None.
    * Returns: boolean type.
    */
-  public boolean receiveUpdate(Map<String, Integer> newInfo) {
+  public boolean receiveUpdate(MoveRequest newInfo) {
     return false;
   }
 
@@ -93,6 +95,57 @@ public abstract class Cell {
     return 0;
   }
 
+  /**
+   * Purpose: Returns whether getBaseState() always returns the same state. Will default to true.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean hasFixedBaseState() {
+    return true;
+  }
+
+  /**
+   * Purpose: Hands over the random numbers of the grid and the stream this cell draws from, its
+   *    index in the grid. Called by the grid when the cell is created and before every
+   *    prepareNextState(), since the index changes when the grid grows.
+   * Assumptions: None.
+   * Parameters: SimulationRandom random, long stream.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  public void setRandom(SimulationRandom random, long stream) {
+    this.random = random;
+    this.randomStream = stream;
+  }
+
+  /**
+   * Purpose: Returns a random double from 0 (inclusive) to 1 (exclusive). The same cell,
+   *    generation and draw always give the same number, whichever thread asks.
+   * Assumptions: setRandom has been called. Each draw a cell makes in one generation has its own
+   *    draw number, from 0.
+   * Parameters: int draw.
+   * Exceptions: None.
+   * Returns: double type.
+   */
+  protected double nextRandomDouble(int draw) {
+    return random.nextDouble(randomStream, draw);
+  }
+
+  /**
+   * Purpose: Returns a random int from 0 (inclusive) to bound (exclusive), as nextRandomDouble()
+   *    does.
+   * Assumptions: setRandom has been called. Each draw a cell makes in one generation has its own
+   *    draw number, from 0.
+   * Parameters: int draw, int bound.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  protected int nextRandomInt(int draw, int bound) {
+    return random.nextInt(randomStream, draw, bound);
+  }
+
   /**
    * Purpose: Returns state of the cell.
    * Assumptions: TODO
@@ -136,32 +189,4 @@ public abstract class Cell {
   protected void setNextState(int newState) {
     nextState = newState;
   }
-
-  /**
-   * Purpose: Sets value in moveState.
-   * Assumptions: None.
-   * Parameters: int type.
-   * Exceptions: None.
-   * Returns: None.
-   */
-  protected void setMoveStateValue(String key, int value) {
-    moveState.put(key, value);
-  }
-
-  /**
-   * Purpose: Returns deep copy of moveState.
-   * Assumptions: None.
-   * Parameters: None.
-   * Exceptions: None.
-   * Returns: Map object.
-   */
-  protected Map<String, Integer> getMoveStateCopy() {
-    Map<String, Integer> deepCopy = new HashMap<>();
-
-    for (String key : moveState.keySet()) {
-      deepCopy.put(key, moveState.get(key));
-    }
-
-    return deepCopy;
-  }
 }
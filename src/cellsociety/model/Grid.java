@@ -1,28 +1,57 @@
 package cellsociety.model;
 
 import cellsociety.configuration.Simulation;
+import cellsociety.model.engine.ChunkedEngine;
+import cellsociety.model.engine.ClaimArbiter;
+import cellsociety.model.engine.LiveBounds;
+import cellsociety.model.engine.NeighborTopology;
+import cellsociety.model.engine.ParallelSweep;
+import cellsociety.model.engine.ScalarField;
+import cellsociety.model.engine.SummedAreaTable;
+import cellsociety.model.engine.VacancyMover;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
 /**
  * Updates cells in a grid by running cell's update method. Catalogs cases where cells want to pass
  * information back and forth during an update cycle and resolves those cases. Keeps track of grid
- * size so grid can expand when necessary.
+ * size so grid can expand when necessary, and shrink again when the non-base cells only fill a
+ * small part of it. Cells draw every random number from the grid's SimulationRandom, keyed by the
+ * seed, the generation and their index, so a seeded run is the same on any number of cores.
  * Assumptions: Cells are not null and any implementation of Grid will overwrite the necessary
  * methods according to the game type.
- * Dependencies: Cell, java.util.*
+ * Dependencies: Cell, MoveRequest, NeighborTopology, ParallelSweep, ClaimArbiter, LiveBounds,
+ * VacancyMover, SummedAreaTable, ScalarField, SimulationRandom, java.util.*
  * Examples: GameOfLifeGrid extends Grid and implements the necessary abstract methods. WaTorGrid
  * goes further to implement necessary methods and also overwrite the methods that define movement
  * of cells.
  */
 public abstract class Grid extends GridHelper {
 
-  private Map<String, Integer>[] issues;
+  public static final int EDGE_RINGS = 2;
+
+  private MoveRequest[] issues;
+  private int[] places;
+  private int[][] neighborStates;
   private Map<String, Integer> cellParameter;
+  private final boolean parallel;
+  private final ClaimArbiter arbiter;
+  private int[] movers;
+  private long generation;
+  private final int expansionMargin;
+  private final int shrinkThreshold;
+  private final int minWidth;
+  private final int minHeight;
+  private int baseState;
+  private final boolean infinite;
+  private int originX;
+  private int originY;
+  private LiveBounds liveBounds;
+  private VacancyMover vacancyMover;
+  private SummedAreaTable[] rangeSums;
+  private ScalarField[] fields;
 
   /**
    * Constructor. Holds cell states and positions. Updates cells as needed.
@@ -37,8 +66,229 @@ public abstract class Grid extends GridHelper {
       Map<String, Integer> cellParameters)
       throws Exception {
     super(cellArrangement, gridParameters, cellParameters);
-    this.issues = new HashMap[getGrid().size()];
     this.cellParameter = cellParameters;
+    this.parallel = isParallel() && isParallelSafe();
+    this.arbiter = new ClaimArbiter(getSeed());
+    this.expansionMargin = evenMargin(cellParameters.getOrDefault(EXPANSION_MARGIN,
+        DEFAULT_EXPANSION_MARGIN));
+    this.shrinkThreshold = cellParameters.getOrDefault(SHRINK_THRESHOLD,
+        DEFAULT_SHRINK_THRESHOLD);
+    this.minWidth = super.getDimensions()[0];
+    this.minHeight = super.getDimensions()[1];
+    this.infinite = getGridType().equals(Simulation.GRID_OPTIONS.get(1));
+    allocateBuffers();
+    if (infinite && getEngine() == null
+        && getChunkedEngine() == null && getGrid().get(0).hasFixedBaseState()) {
+      this.baseState = getGrid().get(0).getBaseState();
+      trackBounds();
+    }
+  }
+
+  /**
+   * Rounds an expansion margin up to an even number of at least EDGE_RINGS, so growing never
+   * flips the orientation of triangle or hexagon cells and always clears the outer rings.
+   *
+   * @param margin margin read from XML
+   * @return usable margin
+   */
+  public static int evenMargin(int margin) {
+    int atLeast = Math.max(EDGE_RINGS, margin);
+    return atLeast + atLeast % 2;
+  }
+
+  /**
+   * Picks the columns (or rows) an infinite grid keeps when it shrinks: the span from low to high
+   * (exclusive), widened around its center to minSize if smaller, kept inside 0 to size and
+   * started on an even offset so triangle and hexagon cells keep their orientation.
+   *
+   * @param low first column that must stay, may be negative
+   * @param high column after the last one that must stay, may be past size
+   * @param minSize smallest span to keep, usually the size of the XML grid
+   * @param size current size
+   * @return [first column kept, number of columns kept]
+   */
+  public static int[] shrinkSpan(int low, int high, int minSize, int size) {
+    int from = Math.max(0, low);
+    int to = Math.min(size, high);
+    int span = Math.max(to - from, Math.min(minSize, size));
+    int start = Math.max(0, Math.min(from - (span - (to - from)) / 2, size - span));
+    start -= start % 2;
+    int end = Math.min(size, Math.max(start + span, to));
+    return new int[]{start, end - start};
+  }
+
+  /**
+   * Rebuilds the bounding box of non-base cells from the current grid.
+   */
+  private void trackBounds() {
+    int[] dimensions = getDimensions();
+    liveBounds = new LiveBounds(dimensions[0], dimensions[1], EDGE_RINGS);
+    List<Cell> grid = getGrid();
+    for (int i = 0; i < grid.size(); i++) {
+      liveBounds.set(i, grid.get(i).getState() != baseState);
+    }
+  }
+
+  /**
+   * Allocates the move requests, potential move indexes and neighbor state arrays reused by every
+   * generation, the empty cells of grids whose cells move to any empty cell, and the summed-area
+   * tables and fields the grid asks for. Called again whenever the grid changes size, keeping the
+   * move requests and fields it already has.
+   */
+  private void allocateBuffers() {
+    int size = getGrid().size();
+    int maxNeighbors = getTopology().getMaxNeighborCount();
+    int kept = issues == null ? 0 : Math.min(issues.length, size);
+    this.issues = issues == null ? new MoveRequest[size] : Arrays.copyOf(issues, size);
+    for (int i = kept; i < size; i++) {
+      issues[i] = new MoveRequest();
+    }
+    this.places = new int[Math.max(size, maxNeighbors)];
+    this.movers = new int[size];
+    this.neighborStates = allocateNeighborStates();
+    this.rangeSums = new SummedAreaTable[getRangeSumCount()];
+    for (int t = 0; t < rangeSums.length; t++) {
+      rangeSums[t] = new SummedAreaTable(getDimensions()[0], getDimensions()[1],
+          getGridType().equals(Simulation.GRID_OPTIONS.get(2)));
+    }
+    if (fields == null) {
+      this.fields = new ScalarField[getFieldCount()];
+      for (int f = 0; f < fields.length; f++) {
+        fields[f] = new ScalarField(size);
+      }
+    }
+    if (movesToEmptyCells() && getEngine() == null) {
+      this.vacancyMover = new VacancyMover(size, getRandom());
+      for (int i = 0; i < size; i++) {
+        Cell cell = getGrid().get(i);
+        vacancyMover.setVacant(i, cell.getState() == cell.getBaseState());
+      }
+    }
+  }
+
+  /**
+   * Allocates one neighbor state array for every possible neighbor count.
+   *
+   * @return arrays indexed by their length
+   */
+  private int[][] allocateNeighborStates() {
+    int maxNeighbors = getTopology().getMaxNeighborCount();
+    int[][] states = new int[maxNeighbors + 1][];
+    for (int i = 0; i <= maxNeighbors; i++) {
+      states[i] = new int[i];
+    }
+    return states;
+  }
+
+  /**
+   * Returns whether cells of this simulation only read neighbor states and write their own next
+   * state, so prepareNextState() may run on many cells at once. Simulations where cells move must
+   * also only read in findPotentialMoves() and only change the receiving cell in receiveUpdate(),
+   * so moves can be arbitrated in parallel. Defaults to false.
+   *
+   * @return true if cells may be prepared in parallel
+   */
+  protected boolean isParallelSafe() {
+    return false;
+  }
+
+  /**
+   * Returns whether moving cells may go to any cell of the grid that is in the base state next
+   * generation. The grid then keeps those cells in a VacancyMover and picks one per mover instead
+   * of calling findPotentialMoves(). Cells must only empty themselves by moving away, and
+   * receiveUpdate() must accept a mover into any cell whose next state is the base state.
+   * Defaults to false.
+   *
+   * @return true if cells move to any empty cell
+   */
+  protected boolean movesToEmptyCells() {
+    return false;
+  }
+
+  /**
+   * Returns number of summed-area tables read in findPotentialMoves(), through getRangeSums().
+   * Defaults to none.
+   *
+   * @return number of tables
+   */
+  protected int getRangeSumCount() {
+    return 0;
+  }
+
+  /**
+   * Returns the value a cell adds to one summed-area table, such as 1 for a state that is being
+   * counted or a patch attribute. Read once every cell is prepared, before any cell moves.
+   * Defaults to 0.
+   *
+   * @param table table number, below getRangeSumCount()
+   * @param cell cell to read
+   * @return value of the cell
+   */
+  protected int getRangeValue(int table, Cell cell) {
+    return 0;
+  }
+
+  /**
+   * Returns one of the summed-area tables of the grid, so a radius r neighborhood can be summed
+   * in O(1) rather than by reading (2r + 1)^2 cells.
+   *
+   * @param table table number, below getRangeSumCount()
+   * @return summed-area table as of the last time every cell was prepared
+   */
+  protected SummedAreaTable getRangeSums(int table) {
+    return rangeSums[table];
+  }
+
+  /**
+   * Returns number of ScalarFields, such as pheromones, kept next to the cells and read through
+   * getField(). Defaults to none.
+   *
+   * @return number of fields
+   */
+  protected int getFieldCount() {
+    return 0;
+  }
+
+  /**
+   * Returns the amount a cell adds to one field this generation. Read right after the cell is
+   * prepared. Defaults to 0.
+   *
+   * @param field field number, below getFieldCount()
+   * @param cell cell that was just prepared
+   * @return amount to add at the cell's index
+   */
+  protected float getDeposit(int field, Cell cell) {
+    return 0;
+  }
+
+  /**
+   * Returns fraction of a field that evaporates every generation. Defaults to 0.
+   *
+   * @param field field number, below getFieldCount()
+   * @return fraction from 0 to 1
+   */
+  protected float getEvaporation(int field) {
+    return 0;
+  }
+
+  /**
+   * Returns fraction of a field that spreads to the neighbors every generation. Defaults to 0.
+   *
+   * @param field field number, below getFieldCount()
+   * @return fraction from 0 to 1
+   */
+  protected float getDiffusion(int field) {
+    return 0;
+  }
+
+  /**
+   * Returns one of the fields of the grid, holding this generation's deposits while cells move.
+   *
+   * @param field field number, below getFieldCount()
+   * @return scalar field
+   */
+  protected ScalarField getField(int field) {
+    return fields[field];
   }
 
   /**
@@ -47,6 +297,12 @@ public abstract class Grid extends GridHelper {
    * @return integer array list of cell states
    */
   public List<Integer> viewGrid() {
+    if (getChunkedEngine() != null) {
+      return getChunkedEngine().viewGrid();
+    }
+    if (getEngine() != null) {
+      return getEngine().viewGrid();
+    }
     List<Integer> cellStates = new ArrayList<>();
     for (Cell cell : getGrid()) {
       cellStates.add(cell.getState());
@@ -58,98 +314,218 @@ public abstract class Grid extends GridHelper {
    * Clears issues array. Runs prepareNextState() on all cells. Handles any returned issues where
    * cells wish to "move". Runs updateState() on all cells, finalizing state changes. For a cell to
    * properly "move" or pass information to another cell, moveCell() will need to be overwritten.
+   * When the grid is stored as primitive arrays the array engine runs the same cycle instead, and
+   * infinite grids stored as chunks are updated by the chunked engine.
    * Assumptions: Cells are not null
+   *
+   * @throws IllegalStateException when an infinite grid cannot be resized; the grid is left as it
+   *                               was
    */
   public void updateCells() {
+    if (getChunkedEngine() != null) {
+      getChunkedEngine().updateCells();
+      return;
+    }
+    if (getEngine() != null) {
+      getEngine().updateCells();
+      return;
+    }
+    getRandom().setGeneration(generation);
     if (getGridType().equals(Simulation.GRID_OPTIONS.get(1))) {
       checkGridExpansion();
+      checkGridShrink();
     }
     clearIssues();
     prepareCellUpdates();
+    rebuildRangeSums();
     handleIssues();
+    updateFields();
     pushCellUpdates();
+    generation++;
   }
 
-  // assumes grid is not wrapping
-  // assumes 0 is default, inactive state
+  /**
+   * Grows each side of an infinite grid that has a non-base cell within its outer two rings. With
+   * a fixed base state the bands are counted as states are pushed, so this costs O(1); otherwise
+   * the bands are scanned.
+   * Assumptions: grid is not wrapping.
+   */
   private void checkGridExpansion() {
-    int baseState = getGrid().get(0).getBaseState();
-    for (int i : edgeIndexes()) {
-      if (getGrid().get(i).getState() != baseState) {
-        expandGrid();
-        break;
-      }
+    int top;
+    int bottom;
+    int left;
+    int right;
+    if (liveBounds != null) {
+      top = liveBounds.getBandCount(LiveBounds.TOP) > 0 ? expansionMargin : 0;
+      bottom = liveBounds.getBandCount(LiveBounds.BOTTOM) > 0 ? expansionMargin : 0;
+      left = liveBounds.getBandCount(LiveBounds.LEFT) > 0 ? expansionMargin : 0;
+      right = liveBounds.getBandCount(LiveBounds.RIGHT) > 0 ? expansionMargin : 0;
+    } else {
+      int width = getDimensions()[0];
+      int height = getDimensions()[1];
+      int base = getGrid().get(0).getBaseState();
+      top = isBandActive(0, 0, width, EDGE_RINGS, base) ? expansionMargin : 0;
+      bottom = isBandActive(0, height - EDGE_RINGS, width, height, base) ? expansionMargin : 0;
+      left = isBandActive(0, 0, EDGE_RINGS, height, base) ? expansionMargin : 0;
+      right = isBandActive(width - EDGE_RINGS, 0, width, height, base) ? expansionMargin : 0;
+    }
+    if (top + bottom + left + right > 0) {
+      expandGrid(top, bottom, left, right);
     }
   }
 
-  // breaks when grid is too small??
-  private List<Integer> edgeIndexes() {
+  /**
+   * Cuts an infinite grid down to the bounding box of its non-base cells, padded by the expansion
+   * margin and the outer rings and at least as large as the XML grid, once that box covers less
+   * than shrinkThreshold percent of the grid. Long runs whose activity died out or moved away
+   * therefore keep a bounded grid. A threshold of 0 never shrinks.
+   * Assumptions: grid is not wrapping and its base state is fixed.
+   */
+  private void checkGridShrink() {
+    if (liveBounds == null || shrinkThreshold <= 0 || liveBounds.getCount() == 0) {
+      return;
+    }
     int width = getDimensions()[0];
     int height = getDimensions()[1];
-    List<Integer> edgeIndexes = new ArrayList<>();
-    for (int i = 0; i < width; i++) {
-      edgeIndexes.add(i);
-      edgeIndexes.add(i + width);
-      edgeIndexes.add(width * height - width + i);
-      edgeIndexes.add(width * height - width + i - width);
+    int pad = EDGE_RINGS + expansionMargin;
+    int[] columns = shrinkSpan(liveBounds.getLeft() - pad, liveBounds.getRight() + 1 + pad,
+        minWidth, width);
+    int[] rows = shrinkSpan(liveBounds.getTop() - pad, liveBounds.getBottom() + 1 + pad,
+        minHeight, height);
+    if ((long) columns[1] * rows[1] * 100 < (long) shrinkThreshold * width * height) {
+      cropGrid(rows[0], columns[0], columns[1], rows[1]);
     }
-    for (int i = 2; i < height - 2; i++) {
-      edgeIndexes.add(i * width);
-      edgeIndexes.add(i * width + 1);
-      edgeIndexes.add((i + 1) * width - 1);
-      edgeIndexes.add((i + 1) * width - 2);
+  }
+
+  /**
+   * Returns whether any cell in columns fromX to toX and rows fromY to toY (exclusive) is not in
+   * the base state.
+   */
+  private boolean isBandActive(int fromX, int fromY, int toX, int toY, int base) {
+    int width = getDimensions()[0];
+    for (int y = Math.max(0, fromY); y < toY; y++) {
+      for (int x = Math.max(0, fromX); x < toX; x++) {
+        if (getGrid().get(y * width + x).getState() != base) {
+          return true;
+        }
+      }
     }
-    return edgeIndexes;
+    return false;
   }
 
-  private void expandGrid() {
-    List<Cell> newGrid = new ArrayList<>();
+  /**
+   * Adds rows and columns of base cells on the given sides. Old cells keep their objects and
+   * move to new indexes arithmetically; GridHelper.resize() only finds neighbors again for new and
+   * edge cells. When a base cell or its neighbors cannot be made, the grid is left as it was and
+   * an IllegalStateException is thrown.
+   */
+  private void expandGrid(int top, int bottom, int left, int right) {
     int width = getDimensions()[0];
     int height = getDimensions()[1];
+    int newWidth = width + left + right;
+    int newHeight = height + top + bottom;
+    List<Cell> oldGrid = getGrid();
+    List<Cell> newGrid = new ArrayList<>(newWidth * newHeight);
+
+    int newOriginX = originX - left;
+    int newOriginY = originY - top;
 
     try {
-      for (int i = 0; i < width * 3 * height; i++) {
-        newGrid.add(baseCell());
-      }
-      for (int i = 0; i < width * height; i++) {
-        if (i % width == 0) {
-          for (int j = 0; j < width; j++) {
-            newGrid.add(baseCell());
-          }
-        }
-        newGrid.add(getGrid().get(i));
-        if (i % width == width - 1) {
-          for (int j = 0; j < width; j++) {
-            newGrid.add(baseCell());
-          }
-        }
-      }
-      for (int i = 0; i < width * 3 * height; i++) {
-        newGrid.add(baseCell());
+      addBaseCells(newGrid, newWidth * top, newWidth, newOriginX, newOriginY);
+      for (int y = 0; y < height; y++) {
+        addBaseCells(newGrid, left, newWidth, newOriginX, newOriginY);
+        newGrid.addAll(oldGrid.subList(y * width, (y + 1) * width));
+        addBaseCells(newGrid, right, newWidth, newOriginX, newOriginY);
       }
+      addBaseCells(newGrid, newWidth * bottom, newWidth, newOriginX, newOriginY);
+      resize(top, left, newWidth, newHeight, newGrid);
+    } catch (Exception e) {
+      throw new IllegalStateException("cannot expand grid", e);
+    }
+    resizeFields(top, left, width, newWidth, newHeight);
+    originX = newOriginX;
+    originY = newOriginY;
+    allocateBuffers();
+    if (liveBounds != null) {
+      trackBounds();
+    }
+  }
 
-      width *= 3;
-      height *= 3;
-      expand(width, height, newGrid);
-      this.issues = new Map[width * height];
-      for (int i = 0; i < getGrid().size(); i++) {
-        getAllNeighbors().put(getGrid().get(i), pullNeighborIndexes(i));
-      }
+  /**
+   * Keeps only the newWidth by newHeight block of cells whose top left cell is at column left and
+   * row top. Kept cells keep their objects, as in expandGrid(), and failures are reported the
+   * same way.
+   */
+  private void cropGrid(int top, int left, int newWidth, int newHeight) {
+    int width = getDimensions()[0];
+    List<Cell> oldGrid = getGrid();
+    List<Cell> newGrid = new ArrayList<>(newWidth * newHeight);
+    for (int y = top; y < top + newHeight; y++) {
+      newGrid.addAll(oldGrid.subList(y * width + left, y * width + left + newWidth));
+    }
+    try {
+      resize(-top, -left, newWidth, newHeight, newGrid);
     } catch (Exception e) {
-      e.printStackTrace();
+      throw new IllegalStateException("cannot crop grid", e);
+    }
+    resizeFields(-top, -left, width, newWidth, newHeight);
+    originX += left;
+    originY += top;
+    allocateBuffers();
+    trackBounds();
+  }
+
+  /**
+   * Moves every field value to the same cell of a grid that changed size, as resize() does for
+   * cells.
+   */
+  private void resizeFields(int top, int left, int width, int newWidth, int newHeight) {
+    for (int f = 0; f < fields.length; f++) {
+      fields[f] = fields[f].resize(top, left, width, newWidth, newHeight);
     }
   }
 
-  private Cell baseCell() throws Exception {
+  /**
+   * Adds count base cells to the end of cells, a grid width cells wide whose top left cell is at
+   * (left, top) of the plane.
+   */
+  private void addBaseCells(List<Cell> cells, int count, int width, int left, int top)
+      throws Exception {
+    for (int i = 0; i < count; i++) {
+      cells.add(baseCell(getStream(cells.size(), width, left, top)));
+    }
+  }
+
+  /**
+   * Creates a cell in the base state for the grown grid. Random base states are drawn from the
+   * stream of the cell it replaces.
+   */
+  private Cell baseCell(long stream) throws Exception {
     cellParameter.put(Cell.STATE_KEY, 0);
     Cell cell = chooseCell(cellParameter);
+    cell.setRandom(getRandom(), stream);
     int baseState = cell.getBaseState();
     if (baseState == 0) {
       return cell;
     } else {
       cellParameter.put(Cell.STATE_KEY, baseState);
-      return chooseCell(cellParameter);
+      Cell based = chooseCell(cellParameter);
+      based.setRandom(getRandom(), stream);
+      return based;
+    }
+  }
+
+  /**
+   * Returns the random stream of the cell at index of a grid width cells wide whose top left cell
+   * is at (left, top) of the plane. Infinite grids draw from the plane streams ChunkedEngine uses,
+   * so a cell keeps its numbers when the grid grows or shrinks and matches the chunked engine;
+   * other grids draw from the index.
+   */
+  private long getStream(int index, int width, int left, int top) {
+    if (!infinite) {
+      return index;
     }
+    return ChunkedEngine.planeStream(left + index % width, top + index / width);
   }
 
   /**
@@ -157,95 +533,204 @@ public abstract class Grid extends GridHelper {
    * Assumptions: Issues has already been instantiated.
    */
   private void clearIssues() {
-    Arrays.fill(issues, null);
+    for (MoveRequest issue : issues) {
+      issue.clear();
+    }
   }
 
   /**
-   * Runs prepareNextState() on all cells and catalogs any issues or moving cells that arise.
-   * Assumptions: Cells will return a HashMap with -1 for "state" if no movement occurs
+   * Runs prepareNextState() on all cells and catalogs any issues or moving cells that arise. In
+   * parallel mode the cells are split into ranges that each get their own neighbor state arrays.
+   * Assumptions: Cells will set state of their MoveRequest to -1 if no movement occurs
    */
   private void prepareCellUpdates() {
-    for (int i = 0; i < getGrid().size(); i++) {
-      int[] neighborStates = pullNeighborStates(i);
-      Map<String, Integer> movement = getGrid().get(i).prepareNextState(neighborStates);
-      if (movement.get(Cell.STATE_KEY) != Cell.NO_MOVEMENT) {
-        issues[i] = movement;
+    List<Cell> grid = getGrid();
+    if (parallel) {
+      ParallelSweep.run(grid.size(),
+          (from, to) -> prepareRange(grid, from, to, allocateNeighborStates()));
+    } else {
+      prepareRange(grid, 0, grid.size(), neighborStates);
+    }
+  }
+
+  /**
+   * Used by prepareCellUpdates(). Runs prepareNextState() on cells from (inclusive) to (exclusive)
+   * and adds what each cell deposits to the fields.
+   *
+   * @param grid cells of the grid
+   * @param from first index
+   * @param to one past the last index
+   * @param scratch neighbor state arrays indexed by their length
+   */
+  private void prepareRange(List<Cell> grid, int from, int to, int[][] scratch) {
+    int width = getDimensions()[0];
+    for (int i = from; i < to; i++) {
+      Cell cell = grid.get(i);
+      cell.setRandom(getRandom(), getStream(i, width, originX, originY));
+      cell.prepareNextState(pullNeighborStates(i, grid, scratch), issues[i]);
+      for (int f = 0; f < fields.length; f++) {
+        fields[f].add(i, getDeposit(f, cell));
       }
     }
   }
 
   /**
    * Used by prepareCellUpdates(). Compiles neighboring cell states. Necessary as neighbors field
-   * variable only stores cell indexes.
+   * variable only stores cell indexes. The returned array is reused for every cell with the same
+   * neighbor count, so cells must not keep it.
    * Assumptions: Cell passes state as int. Only state is required to update a cell.
    *
    * @param index center cell position
+   * @param grid cells of the grid
+   * @param scratch neighbor state arrays indexed by their length
    * @return states of neighboring cells
    */
-  private int[] pullNeighborStates(int index) {
-    Cell currentCell = getGrid().get(index);
-    Cell neighborCell;
-    int[] neighborIndexes = getNeighbors(currentCell);
-    int[] neighborStates = new int[neighborIndexes.length];
+  private int[] pullNeighborStates(int index, List<Cell> grid, int[][] scratch) {
+    NeighborTopology topology = getTopology();
+    int[] states = scratch[topology.getNeighborCount(index)];
 
-    for (int i = 0; i < neighborIndexes.length; i++) {
-      neighborCell = getGrid().get(neighborIndexes[i]);
-      neighborStates[i] = neighborCell.getState();
+    for (int i = 0; i < states.length; i++) {
+      states[i] = grid.get(topology.getNeighbor(index, i)).getState();
     }
-    return neighborStates;
+    return states;
   }
 
   /**
-   * Finds any issues cataloged and calls moveCell() on it to be handled.
+   * Reads every cell's value into each summed-area table and rebuilds the table.
+   */
+  private void rebuildRangeSums() {
+    List<Cell> grid = getGrid();
+    for (int t = 0; t < rangeSums.length; t++) {
+      for (int i = 0; i < grid.size(); i++) {
+        rangeSums[t].set(i, getRangeValue(t, grid.get(i)));
+      }
+      rangeSums[t].rebuild();
+    }
+  }
+
+  /**
+   * Evaporates and diffuses every field, once all cells have moved.
+   */
+  private void updateFields() {
+    for (int f = 0; f < fields.length; f++) {
+      fields[f].evaporateAndDiffuse(getEvaporation(f), getDiffusion(f), getTopology(), parallel);
+    }
+  }
+
+  /**
+   * Finds any issues cataloged and calls moveCell() on it to be handled. In parallel mode the
+   * movers claim their targets through the ClaimArbiter instead, so the outcome depends on the
+   * seed rather than on the order movers are visited in. Cells that move to any empty cell are
+   * handed one by one to the VacancyMover, which also follows the seed.
    * Assumptions: MoveCell has been overwritten if cells do move or pass information around.
    */
   private void handleIssues() {
+    if (vacancyMover != null) {
+      vacancyMover.moveAll(movers, collectMovers(), createMoveHandler());
+      return;
+    }
+    if (parallel) {
+      arbitrateIssues();
+      return;
+    }
     for (int i = 0; i < issues.length; i++) {
-      if (issues[i] != null) {
+      if (issues[i].isMoving()) {
         moveCell(i);
       }
     }
   }
 
+  /**
+   * Used by handleIssues() in parallel mode. Collects the movers and lets them claim targets.
+   */
+  private void arbitrateIssues() {
+    arbiter.resolve(movers, collectMovers(), getGrid().size(), places.length, generation,
+        createMoveHandler());
+  }
+
+  /**
+   * Writes the indexes of every cell that wants to move into movers.
+   *
+   * @return number of movers
+   */
+  private int collectMovers() {
+    int moverCount = 0;
+    for (int i = 0; i < issues.length; i++) {
+      if (issues[i].isMoving()) {
+        movers[moverCount++] = i;
+      }
+    }
+    return moverCount;
+  }
+
+  /**
+   * Returns a MoveHandler that finds moves with findPotentialMoves() and hands the mover's
+   * MoveRequest to the target cell.
+   */
+  private ClaimArbiter.MoveHandler createMoveHandler() {
+    List<Cell> grid = getGrid();
+    return new ClaimArbiter.MoveHandler() {
+      @Override
+      public int findPotentialMoves(int mover, int[] moves) {
+        return Grid.this.findPotentialMoves(mover, moves);
+      }
+
+      @Override
+      public boolean receiveUpdate(int target, int mover) {
+        return grid.get(target).receiveUpdate(getIssues(mover));
+      }
+    };
+  }
+
   /**
    * Handles cell movement or information passing by calling receiveUpdate() on whichever
-   * neighboring cell will be passed the information. If no cell can receive an update, the cell
-   * will not move. Requires overriding of findPotentialMoves() to properly function.
+   * neighboring cell will be passed the information, in an order drawn from the mover's random
+   * stream. If no cell can receive an update, the cell will not move. Requires overriding of
+   * findPotentialMoves() to properly function.
    * Assumptions: Any cell wishing to move or pass information has been cataloged in issues.
    *
    * @param index cell trying to move or pass information
    */
   private void moveCell(int index) {
-    List<Integer> places = findPotentialMoves(index);
+    int count = findPotentialMoves(index, places);
+    getRandom().shuffle(places, count, index);
 
-    Collections.shuffle(places);
-    Map<String, Integer> state = getIssues(index);
-    for (Integer neighborIndex : places) {
-      if (getGrid().get(neighborIndex).receiveUpdate(state)) {
+    List<Cell> grid = getGrid();
+    MoveRequest state = getIssues(index);
+    for (int i = 0; i < count; i++) {
+      if (grid.get(places[i]).receiveUpdate(state)) {
         return;
       }
     }
-    getGrid().get(index).receiveUpdate(state);
+    grid.get(index).receiveUpdate(state);
   }
 
   /**
-   * Used by moveCell(). Must be overwritten to function. Returns array list of indexes that should
-   * be checked to receive a moving cell.
+   * Used by moveCell(). Must be overwritten to function. Fills places with indexes that should be
+   * checked to receive a moving cell. Order does not matter as moveCell() shuffles them.
    *
    * @param index of cell trying to move
-   * @return indexes to be checked for receiving update
+   * @param places reused array at least as long as the grid and any cell's neighbors
+   * @return number of indexes written to places
    */
-  protected List<Integer> findPotentialMoves(int index) {
-    return new ArrayList<>();
+  protected int findPotentialMoves(int index, int[] places) {
+    return 0;
   }
 
   /**
-   * Runs updateState() on all cells and finalizes the cycle.
+   * Runs updateState() on all cells and finalizes the cycle, keeping the bounding box of
+   * non-base cells of an infinite grid up to date. Unlike StateBuffer, which swaps its current
+   * and next buffers, each Cell holds its own two states and there is no shared buffer to swap,
+   * so every cell still copies its next state here.
    * Assumptions: Every cell has their proper preparedState and all issues have been handled.
    */
   private void pushCellUpdates() {
-    for (Cell cell : getGrid()) {
-      cell.updateState();
+    List<Cell> grid = getGrid();
+    for (int i = 0; i < grid.size(); i++) {
+      int state = grid.get(i).updateState();
+      if (liveBounds != null) {
+        liveBounds.set(i, state != baseState);
+      }
     }
   }
 
@@ -253,9 +738,9 @@ public abstract class Grid extends GridHelper {
    * Gives direct access to issues field variable, as it is only needed if subclass cell wants to
    * move or pass information. Exists as feature to use if needed.
    *
-   * @return HashMap parameters corresponding to index/cell of issue.
+   * @return MoveRequest corresponding to index/cell of issue.
    */
-  protected Map<String, Integer> getIssues(int index) {
+  protected MoveRequest getIssues(int index) {
     return this.issues[index];
   }
 }
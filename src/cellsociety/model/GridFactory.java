@@ -0,0 +1,79 @@
+package cellsociety.model;
+
+import cellsociety.configuration.Simulation;
+import cellsociety.configuration.XMLException;
+import cellsociety.model.bylsloop.BylsLoopGrid;
+import cellsociety.model.fire.FireGrid;
+import cellsociety.model.foragingants.ForagingAntsGrid;
+import cellsociety.model.gameoflife.GameOfLifeGrid;
+import cellsociety.model.percolation.PercolationGrid;
+import cellsociety.model.rps.RPSGrid;
+import cellsociety.model.segregation.SegregationGrid;
+import cellsociety.model.sugarscape.SugarScapeGrid;
+import cellsociety.model.totalistic.TotalisticGrid;
+import cellsociety.model.wator.WaTorGrid;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Creates the Grid subclass for the simulation type named in an XML file. Shared by Control and
+ * the headless runners, so every way of running a simulation builds the same grid.
+ * Assumptions: type is the "type" field of the XML information section.
+ * Dependencies: Simulation, XMLException, every Grid subclass
+ * Example:
+ * '''
+ * Grid grid = GridFactory.createGrid(simulation, simulation.getParameters());
+ * '''
+ */
+public class GridFactory {
+
+  public static final String BAD_TYPE = "BadType";
+
+  private GridFactory() {
+  }
+
+  /**
+   * Creates the grid of a parsed XML file.
+   *
+   * @param simulation parsed XML file
+   * @param parameters parameters to build the grid with, usually simulation.getParameters()
+   * @return grid of the simulation's type
+   * @throws Exception when the type is unknown or parameters or cells are not valid
+   */
+  public static Grid createGrid(Simulation simulation, Map<String, Integer> parameters)
+      throws Exception {
+    return createGrid(simulation.getType(), simulation.getCellRows(),
+        simulation.getGridParameterArray(), parameters);
+  }
+
+  /**
+   * Creates the grid for a simulation type.
+   *
+   * @param type simulation type, such as "Fire"
+   * @param cells cell rows from XML
+   * @param gridParameters [shape, grid type]
+   * @param parameters game settings from XML
+   * @return grid of the given type
+   * @throws Exception when the type is unknown or parameters or cells are not valid
+   */
+  public static Grid createGrid(String type, List<String> cells, String[] gridParameters,
+      Map<String, Integer> parameters) throws Exception {
+    Grid grid = switch (type) {
+      case "Game of Life" -> new GameOfLifeGrid(cells, gridParameters, parameters);
+      case "Percolation" -> new PercolationGrid(cells, gridParameters, parameters);
+      case "Fire" -> new FireGrid(cells, gridParameters, parameters);
+      case "Segregation" -> new SegregationGrid(cells, gridParameters, parameters);
+      case "WaTor" -> new WaTorGrid(cells, gridParameters, parameters);
+      case "Rock Paper Scissors" -> new RPSGrid(cells, gridParameters, parameters);
+      case "Foraging Ants" -> new ForagingAntsGrid(cells, gridParameters, parameters);
+      case "Byls Loop" -> new BylsLoopGrid(cells, gridParameters, parameters);
+      case "SugarScape" -> new SugarScapeGrid(cells, gridParameters, parameters);
+      case "Totalistic" -> new TotalisticGrid(cells, gridParameters, parameters);
+      default -> null;
+    };
+    if (grid == null) {
+      throw new XMLException(BAD_TYPE);
+    }
+    return grid;
+  }
+}
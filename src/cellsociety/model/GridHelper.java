@@ -1,11 +1,19 @@
 package cellsociety.model;
 
 import cellsociety.configuration.Simulation;
+import cellsociety.model.engine.ArrayEngine;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.ChunkedEngine;
+import cellsociety.model.engine.NeighborTopology;
+import cellsociety.model.engine.ParallelSweep;
+import cellsociety.model.engine.SimulationRandom;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
 
 /**
  * Creates grid of cells from input.
@@ -18,6 +26,19 @@ import java.util.Map;
 public abstract class GridHelper {
 
   public static final String NEIGHBORHOOD_SIZE = "neighborhoodSize";
+  public static final String ENGINE = "engine";
+  public static final int CELL_ENGINE = 0;
+  public static final int ARRAY_ENGINE = 1;
+  public static final int HASHLIFE_ENGINE = 2;
+  public static final int BITPACKED_ENGINE = 3;
+  public static final int VECTOR_ENGINE = 4;
+  public static final String PARALLEL = "parallel";
+  public static final int SEQUENTIAL = 0;
+  public static final int PARALLEL_SWEEP = 1;
+  public static final int PARALLEL_THRESHOLD = 16384;
+  public static final String SEED = "seed";
+  public static final String TILE_SIZE = "tileSize";
+  public static final String CHUNK_SIZE = "chunkSize";
   public static final String SQUARE = "square";
   public static final int SQUARE_SIDES_MIN = 4;
   public static final int SQUARE_SIDES_MAX = 8;
@@ -30,9 +51,27 @@ public abstract class GridHelper {
   public static final String INVALID_CELL_STATE = "Invalid Cell State";
   public static final String INVALID_NEIGHBORHOOD_SIZE = "Invalid Neighborhood Size";
   public static final String INVALID_SHAPE = "Invalid Shape";
+  public static final String EXPANSION_MARGIN = "expansionMargin";
+  public static final int DEFAULT_EXPANSION_MARGIN = 16;
+  public static final String SHRINK_THRESHOLD = "shrinkThreshold";
+  public static final int DEFAULT_SHRINK_THRESHOLD = 25;
+  private static final int GROWTH_REACH = 2;
+  private static final int CACHED_TOPOLOGIES = 16;
+  private static final Map<String, NeighborTopology> TOPOLOGIES = new LinkedHashMap<>(
+      CACHED_TOPOLOGIES, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, NeighborTopology> eldest) {
+      return size() > CACHED_TOPOLOGIES;
+    }
+  };
 
-  private Map<Cell, int[]> neighbors;
+  private NeighborTopology topology;
   private List<Cell> grid;
+  private ArrayEngine engine;
+  private ChunkedEngine chunkedEngine;
+  private boolean parallel;
+  private long seed;
+  private SimulationRandom random;
   private int height;
   private int width;
   private final String shape;
@@ -56,8 +95,17 @@ public abstract class GridHelper {
       this.height = parameters.get(Simulation.HEIGHT);
       this.width = parameters.get(Simulation.WIDTH);
       this.neighborhoodSize = parameters.get(NEIGHBORHOOD_SIZE);
-      setupGrid(cellArrangement, parameters);
+      this.parallel = usesParallelSweep(parameters);
+      this.seed = parameters.containsKey(SEED) ? parameters.get(SEED) : new Random().nextLong();
+      this.random = new SimulationRandom(this.seed);
       setupNeighbors();
+      if (usesArrayEngine(parameters)) {
+        setupEngine(cellArrangement, parameters);
+      } else if (usesChunkedEngine(parameters)) {
+        setupChunks(cellArrangement, parameters);
+      } else {
+        setupGrid(cellArrangement, parameters);
+      }
     } catch (Exception e) {
       throw new Exception(INVALID_GRID_PARAMETERS);
     }
@@ -69,26 +117,77 @@ public abstract class GridHelper {
    * @return [width, height]
    */
   public int[] getDimensions() {
+    if (this.chunkedEngine != null) {
+      return this.chunkedEngine.getDimensions();
+    }
     return new int[]{this.width, this.height};
   }
 
   /**
-   * Returns the map storing cells and their neighbors.
+   * Returns a copy of the neighboring indexes of a cell.
+   *
+   * @param index center index
+   * @return neighboring indexes
+   */
+  protected int[] getNeighbors(int index) {
+    return this.topology.getNeighbors(index);
+  }
+
+  /**
+   * Returns the neighbors of every cell, so the hot path can read them without copying.
+   *
+   * @return neighbor topology
+   */
+  protected NeighborTopology getTopology() {
+    return this.topology;
+  }
+
+  /**
+   * Returns the array engine backing this grid, or null when the grid is made of Cell objects.
+   *
+   * @return array engine or null
+   */
+  protected ArrayEngine getEngine() {
+    return this.engine;
+  }
+
+  /**
+   * Returns the chunked engine backing an infinite grid, or null when the grid is dense.
+   *
+   * @return chunked engine or null
+   */
+  protected ChunkedEngine getChunkedEngine() {
+    return this.chunkedEngine;
+  }
+
+  /**
+   * Returns whether cell updates may be prepared across several cores. Grid subclasses still have
+   * to declare that their cells are safe to prepare in parallel.
+   *
+   * @return true if parallel sweeps are enabled
+   */
+  protected boolean isParallel() {
+    return this.parallel;
+  }
+
+  /**
+   * Returns the seed that decides every random number of the simulation and how parallel moves
+   * are arbitrated. Read from the "seed" parameter, or picked at random when the XML leaves it
+   * out.
    *
-   * @return map with cell and neighbors
+   * @return long seed
    */
-  protected int[] getNeighbors(Cell cell) {
-    return this.neighbors.get(cell);
+  protected long getSeed() {
+    return this.seed;
   }
 
   /**
-   * Returns the neighbors parameter in the case of Grid expanding. Grid needs access to neighbors
-   * in order to build the new neighbor connections that come with expanded grids.
+   * Returns the random numbers every cell of the grid draws from, keyed by the seed.
    *
-   * @return map of neighbors
+   * @return simulation random
    */
-  protected Map<Cell, int[]> getAllNeighbors() {
-    return this.neighbors;
+  protected SimulationRandom getRandom() {
+    return this.random;
   }
 
   /**
@@ -130,18 +229,83 @@ public abstract class GridHelper {
   }
 
   /**
-   * Expands the grid size in the case of an infinite grid.
+   * Resizes the grid in the case of an infinite grid. The old grid keeps its cells and sits at
+   * column left and row top of the new one, so an old index maps to a new one arithmetically;
+   * negative offsets cut columns or rows off the old grid. Cells far enough from both the old and
+   * the new edges keep their neighbors, shifted to the new indexes; only new cells and cells along
+   * either edge have their neighbors found again.
+   * Assumptions: left and top are even, so triangle and hexagon cells keep their orientation.
+   * Cells cut off have no neighbors inside the new grid that would need them. When neighbors
+   * cannot be found, the grid is left as it was.
    *
+   * @param top number of rows added above, or minus the number removed
+   * @param left number of columns added on the left, or minus the number removed
    * @param width new width
    * @param height new height
    * @param grid new grid
+   * @throws Exception invalid shape or inconsistent neighborhood size
    */
-  protected void expand(int width, int height, List<Cell> grid) {
+  protected void resize(int top, int left, int width, int height, List<Cell> grid)
+      throws Exception {
+    NeighborTopology old = this.topology;
+    int oldWidth = this.width;
+    int oldHeight = this.height;
+    List<Cell> oldGrid = this.grid;
     this.width = width;
     this.height = height;
     this.grid = grid;
+    try {
+      this.topology = resizeTopology(old, top, left, oldWidth, oldHeight);
+    } catch (Exception e) {
+      this.width = oldWidth;
+      this.height = oldHeight;
+      this.grid = oldGrid;
+      throw e;
+    }
+  }
+
+  /**
+   * Builds the neighbor topology of the resized grid, reusing old for cells whose neighbors all
+   * lie inside both grids.
+   */
+  private NeighborTopology resizeTopology(NeighborTopology old, int top, int left, int oldWidth,
+      int oldHeight) throws Exception {
+    int size = width * height;
+    int[] offsets = new int[size + 1];
+    int[] indexes = new int[size * Math.max(1, old.getMaxNeighborCount())];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      int x = i % width;
+      int y = i / width;
+      int oldX = x - left;
+      int oldY = y - top;
+      if (isInterior(oldX, oldY, oldWidth, oldHeight) && isInterior(x, y, width, height)) {
+        int oldIndex = oldY * oldWidth + oldX;
+        for (int k = 0; k < old.getNeighborCount(oldIndex); k++) {
+          int neighbor = old.getNeighbor(oldIndex, k);
+          indexes[count++] = (neighbor / oldWidth + top) * width + neighbor % oldWidth + left;
+        }
+      } else {
+        int[] neighbors = findNeighbors(i);
+        if (count + neighbors.length > indexes.length) {
+          indexes = Arrays.copyOf(indexes, Math.max(indexes.length * 2, count + neighbors.length));
+        }
+        System.arraycopy(neighbors, 0, indexes, count, neighbors.length);
+        count += neighbors.length;
+      }
+      offsets[i + 1] = count;
+    }
+    return new NeighborTopology(offsets, Arrays.copyOf(indexes, count));
   }
 
+  /**
+   * Returns whether every neighbor of the cell at (x, y) lies inside a width by height grid.
+   */
+  private static boolean isInterior(int x, int y, int width, int height) {
+    return x >= GROWTH_REACH && x < width - GROWTH_REACH && y >= 1 && y < height - 1;
+  }
+
+
   /**
    * Used by constructor. Creates cell objects and populates grid field.
    * Assumptions: cellArrangement forms a square tesselation grid. Strings contain only integer
@@ -159,6 +323,7 @@ public abstract class GridHelper {
       for (String state : row) {
         parameters.put(Cell.STATE_KEY, Integer.parseInt(state));
         Cell cell = chooseCell(parameters);
+        cell.setRandom(this.random, this.grid.size());
         if (cell.isValidState()) {
           this.grid.add(cell);
         } else {
@@ -168,6 +333,143 @@ public abstract class GridHelper {
     }
   }
 
+  /**
+   * Used by constructor. Decides whether the grid is stored as primitive arrays. Infinite grids
+   * need to expand, which only the Cell object grid supports. Subclasses with their own engines
+   * may override this to read their cells into arrays as well.
+   *
+   * @param parameters game parameters from XML
+   * @return true if the array engine should be used
+   */
+  protected boolean usesArrayEngine(Map<String, Integer> parameters) {
+    int choice = parameters.getOrDefault(ENGINE, CELL_ENGINE);
+    return (choice == ARRAY_ENGINE || choice == VECTOR_ENGINE)
+        && !gridType.equals(Simulation.GRID_OPTIONS.get(1));
+  }
+
+  /**
+   * Used by constructor. Reads the "parallel" parameter: 1 prepares cells across several cores, 0
+   * keeps one core, and leaving it out lets grids of at least PARALLEL_THRESHOLD cells go parallel.
+   *
+   * @param parameters game parameters from XML
+   * @return true if parallel sweeps are enabled
+   */
+  private boolean usesParallelSweep(Map<String, Integer> parameters) {
+    Integer choice = parameters.get(PARALLEL);
+    if (choice == null) {
+      return width * height >= PARALLEL_THRESHOLD && ParallelSweep.hasSpareCores();
+    }
+    return choice == PARALLEL_SWEEP;
+  }
+
+  /**
+   * Used by constructor in place of setupGrid(). Reads cell states straight into an int array and
+   * builds the array engine, so no Cell objects are created. A "tileSize" parameter makes the
+   * engine update tile by tile, and VECTOR_ENGINE makes it prepare square grids a row at a time
+   * from neighbor counts.
+   * Assumptions: cellArrangement forms a square tesselation grid.
+   *
+   * @param cellArrangement cell grid from XML
+   * @param parameters game parameters from XML
+   * @throws Exception invalid cell state, shape, or inconsistent neighborhood size
+   */
+  private void setupEngine(List<String> cellArrangement, Map<String, Integer> parameters)
+      throws Exception {
+    CellRule rule = chooseRule(parameters);
+    int[] states = readStates(cellArrangement, rule);
+    this.grid = new ArrayList<>();
+    this.engine = new ArrayEngine(states, this.topology, rule, this.parallel, this.seed);
+    this.engine.enableTiles(this.width, this.height, parameters.getOrDefault(TILE_SIZE, 0));
+    this.engine.enableRangeSums(this.width, this.height,
+        gridType.equals(Simulation.GRID_OPTIONS.get(2)));
+    if (parameters.getOrDefault(ENGINE, CELL_ENGINE) == VECTOR_ENGINE && shape.equals(SQUARE)) {
+      this.engine.enableNeighborCounts(this.width, this.height,
+          gridType.equals(Simulation.GRID_OPTIONS.get(2)), true);
+    }
+  }
+
+  /**
+   * Used by constructor. Decides whether an infinite grid may be stored as chunks. The rule still
+   * has to allow it, see setupChunks().
+   *
+   * @param parameters game parameters from XML
+   * @return true if the chunked engine should be tried
+   */
+  private boolean usesChunkedEngine(Map<String, Integer> parameters) {
+    return parameters.getOrDefault(ENGINE, CELL_ENGINE) == ARRAY_ENGINE
+        && gridType.equals(Simulation.GRID_OPTIONS.get(1)) && shape.equals(SQUARE);
+  }
+
+  /**
+   * Used by constructor in place of setupGrid() for infinite square grids. Stores the cells in
+   * chunks that are only allocated around non-base cells. Neighbor steps are read off the center
+   * cell of the XML grid, so subclasses that reorder their neighborhood keep that order. Falls back
+   * to setupGrid() when the rule moves cells, keeps attributes or has a random base state, or when
+   * the grid is too small to have a cell with every neighbor. A "chunkSize" parameter sets the
+   * side length of a chunk; "expansionMargin" and "shrinkThreshold" resize the viewed
+   * rectangle as they resize a dense grid.
+   *
+   * @param cellArrangement cell grid from XML
+   * @param parameters game parameters from XML
+   * @throws Exception invalid cell state or neighborhood size
+   */
+  private void setupChunks(List<String> cellArrangement, Map<String, Integer> parameters)
+      throws Exception {
+    CellRule rule = chooseRule(parameters);
+    int center = (this.height / 2) * this.width + this.width / 2;
+    if (!ChunkedEngine.supports(rule)
+        || this.topology.getNeighborCount(center) != this.neighborhoodSize) {
+      setupGrid(cellArrangement, parameters);
+      return;
+    }
+    int[][] steps = new int[this.neighborhoodSize][];
+    for (int k = 0; k < steps.length; k++) {
+      int neighbor = this.topology.getNeighbor(center, k);
+      steps[k] = new int[]{neighbor % this.width - center % this.width,
+          neighbor / this.width - center / this.width};
+    }
+    int[] states = readStates(cellArrangement, rule);
+    this.grid = new ArrayList<>();
+    this.chunkedEngine = new ChunkedEngine(states, this.width, this.height, rule, steps,
+        parameters.getOrDefault(CHUNK_SIZE, ChunkedEngine.DEFAULT_CHUNK_SIZE),
+        Grid.evenMargin(parameters.getOrDefault(EXPANSION_MARGIN, DEFAULT_EXPANSION_MARGIN)),
+        parameters.getOrDefault(SHRINK_THRESHOLD, DEFAULT_SHRINK_THRESHOLD),
+        this.parallel && rule.isParallelSafe(), this.seed);
+  }
+
+  /**
+   * Used by setupEngine() and setupChunks(). Reads cell states straight into an int array.
+   *
+   * @param cellArrangement cell grid from XML
+   * @param rule rule that checks every state
+   * @return states in row major order
+   * @throws Exception invalid cell state
+   */
+  private int[] readStates(List<String> cellArrangement, CellRule rule) throws Exception {
+    int[] states = new int[this.width * this.height];
+    int index = 0;
+    for (String row : cellArrangement) {
+      for (int i = 0; i < row.length(); i++) {
+        int state = Character.digit(row.charAt(i), 10);
+        if (!rule.isValidState(state)) {
+          throw new Exception(INVALID_CELL_STATE);
+        }
+        states[index++] = state;
+      }
+    }
+    return states;
+  }
+
+
+  /**
+   * Used by setupEngine(). Create rule object matching Grid type.
+   * Assumptions: Parameters contains XML information
+   *
+   * @param parameters game parameters from XML
+   * @return appropriate rule object
+   */
+  protected abstract CellRule chooseRule(Map<String, Integer> parameters) throws Exception;
+
   /**
    * Used by setupGrid(). Create cell object matching Grid type.
    * Assumptions: Parameters contains XML information and cell state
@@ -178,31 +480,44 @@ public abstract class GridHelper {
   protected abstract Cell chooseCell(Map<String, Integer> parameters) throws Exception;
 
   /**
-   * Used by constructor. Populates neighbor field.
-   * Assumptions: setupGrid() has already been called.
+   * Used by constructor. Populates topology field. Grids with the same type, shape,
+   * grid type, size and neighborhood have the same neighbors, so a recently built topology is
+   * shared instead of built again.
    *
    * @throws Exception invalid shape or inconsistent neighborhood size
    */
   private void setupNeighbors() throws Exception {
-    this.neighbors = new HashMap<>();
-    for (int i = 0; i < grid.size(); i++) {
-      this.neighbors.put(this.grid.get(i), pullNeighborIndexes(i));
+    String key = String.join(",", getClass().getName(), shape, gridType,
+        String.valueOf(width), String.valueOf(height), String.valueOf(neighborhoodSize));
+    synchronized (TOPOLOGIES) {
+      this.topology = TOPOLOGIES.get(key);
     }
-    if (gridType.equals(Simulation.GRID_OPTIONS.get(2))) {
-      wrapNeighbors();
+    if (this.topology == null) {
+      this.topology = NeighborTopology.build(width * height, this::findNeighbors);
+      synchronized (TOPOLOGIES) {
+        TOPOLOGIES.put(key, this.topology);
+      }
     }
   }
 
-  private void wrapNeighbors() {
-    for (int i = 0; i < this.grid.size(); i++) {
-      Cell cell = this.grid.get(i);
-      int[] neighbors = this.neighbors.get(cell);
-      List<Integer> wrappedNeighbors = edgeCellNeighbors(i);
-      for (int j : neighbors) {
-        wrappedNeighbors.add(j);
-      }
-      this.neighbors.put(cell, convertListToIntArray(wrappedNeighbors));
+  /**
+   * Used by setupNeighbors(). Finds neighboring indexes of one cell, adding the
+   * cells across the edge when the grid is wrapping.
+   *
+   * @param index center index
+   * @return neighboring indexes
+   * @throws Exception neighborhood size is inconsistent or shape is invalid
+   */
+  private int[] findNeighbors(int index) throws Exception {
+    int[] neighbors = pullNeighborIndexes(index);
+    if (!gridType.equals(Simulation.GRID_OPTIONS.get(2))) {
+      return neighbors;
+    }
+    List<Integer> wrappedNeighbors = edgeCellNeighbors(index);
+    for (int j : neighbors) {
+      wrappedNeighbors.add(j);
     }
+    return convertListToIntArray(wrappedNeighbors);
   }
 
   private List<Integer> edgeCellNeighbors(int index) {
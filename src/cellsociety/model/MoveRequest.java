@@ -0,0 +1,198 @@
+package cellsociety.model;
+
+/**
+ * Purpose: Describes what a cell wants to move or pass to another cell during one generation.
+ *    Grid allocates one MoveRequest per cell and reuses it every generation, so a cell fills in
+ *    fields instead of returning a new Map each time it prepares its next state.
+ * Assumptions: Only the fields the simulation uses are meaningful. State is Cell.NO_MOVEMENT when
+ *    nothing moves.
+ * Dependencies: Cell.
+ * Example of use: WaTorCell sets state, breedTime and breedEnergy; Grid hands the request to
+ *    receiveUpdate() of a neighboring cell.
+ */
+public class MoveRequest {
+
+  private int state = Cell.NO_MOVEMENT;
+  private int breedTime;
+  private int breedEnergy;
+  private int hasFood;
+  private int agentSugar;
+  private int agentSugarMetabolism;
+  private int agentVision;
+
+  /**
+   * Purpose: Resets the request so that nothing moves.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  public void clear() {
+    state = Cell.NO_MOVEMENT;
+  }
+
+  /**
+   * Purpose: Returns whether the cell asked to move this generation.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean isMoving() {
+    return state != Cell.NO_MOVEMENT;
+  }
+
+  /**
+   * Purpose: Returns state that is moving.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int state or Cell.NO_MOVEMENT.
+   */
+  public int getState() {
+    return state;
+  }
+
+  /**
+   * Purpose: Sets state that is moving.
+   * Assumptions: None.
+   * Parameters: int state or Cell.NO_MOVEMENT.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  public void setState(int state) {
+    this.state = state;
+  }
+
+  /**
+   * Purpose: Returns fish breed time carried by a moving WaTor cell.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getBreedTime() {
+    return breedTime;
+  }
+
+  /**
+   * Purpose: Sets fish breed time carried by a moving WaTor cell.
+   * Assumptions: None.
+   * Parameters: int type.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  public void setBreedTime(int breedTime) {
+    this.breedTime = breedTime;
+  }
+
+  /**
+   * Purpose: Returns shark energy carried by a moving WaTor cell.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getBreedEnergy() {
+    return breedEnergy;
+  }
+
+  /**
+   * Purpose: Sets shark energy carried by a moving WaTor cell.
+   * Assumptions: None.
+   * Parameters: int type.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  public void setBreedEnergy(int breedEnergy) {
+    this.breedEnergy = breedEnergy;
+  }
+
+  /**
+   * Purpose: Returns 1 if a moving ant carries food, 0 otherwise.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getHasFood() {
+    return hasFood;
+  }
+
+  /**
+   * Purpose: Sets whether a moving ant carries food.
+   * Assumptions: None.
+   * Parameters: int type, 1 for food and 0 for none.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  public void setHasFood(int hasFood) {
+    this.hasFood = hasFood;
+  }
+
+  /**
+   * Purpose: Returns sugar carried by a moving SugarScape agent.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getAgentSugar() {
+    return agentSugar;
+  }
+
+  /**
+   * Purpose: Sets sugar carried by a moving SugarScape agent.
+   * Assumptions: None.
+   * Parameters: int type.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  public void setAgentSugar(int agentSugar) {
+    this.agentSugar = agentSugar;
+  }
+
+  /**
+   * Purpose: Returns metabolism of a moving SugarScape agent.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getAgentSugarMetabolism() {
+    return agentSugarMetabolism;
+  }
+
+  /**
+   * Purpose: Sets metabolism of a moving SugarScape agent.
+   * Assumptions: None.
+   * Parameters: int type.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  public void setAgentSugarMetabolism(int agentSugarMetabolism) {
+    this.agentSugarMetabolism = agentSugarMetabolism;
+  }
+
+  /**
+   * Purpose: Returns vision of a moving SugarScape agent.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getAgentVision() {
+    return agentVision;
+  }
+
+  /**
+   * Purpose: Sets vision of a moving SugarScape agent.
+   * Assumptions: None.
+   * Parameters: int type.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  public void setAgentVision(int agentVision) {
+    this.agentVision = agentVision;
+  }
+}
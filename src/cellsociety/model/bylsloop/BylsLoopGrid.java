@@ -2,6 +2,7 @@ package cellsociety.model.bylsloop;
 
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
+import cellsociety.model.engine.CellRule;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +42,28 @@ public class BylsLoopGrid extends Grid {
     return new BylsLoopCell(parameters);
   }
 
+  /**
+   * Returns BylsLoopRule object for the array engine.
+   *
+   * @param parameters game parameters from XML
+   * @return BylsLoopRule object
+   */
+  @Override
+  protected CellRule chooseRule(Map<String, Integer> parameters) {
+    return new BylsLoopRule();
+  }
+
+  /**
+   * Cells only read neighbor states and write their own next state, so they may be prepared in
+   * parallel.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean isParallelSafe() {
+    return true;
+  }
+
   /**
    * Limits neighborhood size to square as the rules are very strict.
    *
@@ -0,0 +1,66 @@
+package cellsociety.model.bylsloop;
+
+import cellsociety.model.Cell;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.StateBuffer;
+
+/**
+ * Purpose: Byl's Loop rules for the array engine. Same rules as BylsLoopCell, looked up in the
+ *    shared BylsLoopRuleTable.
+ * Assumptions: Requires specific starting configuration, and rectangular grid.
+ * Dependencies: CellRule, StateBuffer, BylsLoopCell, BylsLoopRuleTable.
+ * Example of use: CellRule rule = new BylsLoopRule().
+ */
+public class BylsLoopRule extends CellRule {
+
+  /**
+   * Purpose: Constructor for BylsLoopRule class.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: BylsLoopRule object.
+   */
+  public BylsLoopRule() {
+    setMaxStateValue(BylsLoopCell.DISCONNECT_SIGNAL);
+  }
+
+  /**
+   * Purpose: Cells only read neighbor states and write their own next state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean isParallelSafe() {
+    return true;
+  }
+
+  /**
+   * Purpose: Next state is looked up from the cell's state and its neighbors' states only.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean skipsQuietCells() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to.
+   * Assumptions: neighborStates will be passed in clockwise order, and will contain 4 values.
+   * Parameters: int index, int[] neighborStates, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type. There should never be any movement.
+   * Rules taken from https://fab.cba.mit.edu/classes/865.18/replication/Byl.pdf
+   */
+  @Override
+  public int prepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer) {
+    buffer.setNextState(index, BylsLoopRuleTable.nextState(buffer.getState(index),
+        neighborStates, neighborCount));
+    return Cell.NO_MOVEMENT;
+  }
+}
@@ -0,0 +1,176 @@
+package cellsociety.model.bylsloop;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purpose: Byl's Loop transition rules compiled once into dense lookup tables shared by every
+ *    BylsLoopCell and BylsLoopRule. The published rules are keyed by the clockwise rotation of the
+ *    four neighbor states with the smallest value; here every possible neighbor tuple already
+ *    points at the next state of its smallest rotation, so a lookup is a few array reads.
+ * Assumptions: States are between EMPTY and DISCONNECT_SIGNAL. Cells on the edge of a bounded
+ *    grid may have fewer than four neighbors; their rotations wrap around the neighbors they have,
+ *    as the string keyed tables did.
+ * Dependencies: BylsLoopCell, HashMap and Map libraries.
+ * Example of use: int next = BylsLoopRuleTable.nextState(state, neighborStates, 4).
+ */
+final class BylsLoopRuleTable {
+
+  private static final int STATES = BylsLoopCell.DISCONNECT_SIGNAL + 1;
+  private static final int ROTATION_LENGTH = 4;
+  private static final int[] DEFAULTS = {BylsLoopCell.EMPTY, BylsLoopCell.LEFT_SIGNAL,
+      BylsLoopCell.WALL, BylsLoopCell.EXTEND_SIGNAL, BylsLoopCell.EXTEND_SIGNAL,
+      BylsLoopCell.WALL};
+  private static final byte[] FOUR_NEIGHBORS = compile(4);
+  private static final byte[] THREE_NEIGHBORS = compile(3);
+
+  private BylsLoopRuleTable() {
+  }
+
+  /**
+   * Purpose: Looks up the next state of a cell.
+   * Assumptions: neighborStates are in clockwise order. Only the first neighborCount are read.
+   * Parameters: int state, int[] neighborStates, int neighborCount.
+   * Exceptions: None.
+   * Returns: int next state.
+   */
+  static int nextState(int state, int[] neighborStates, int neighborCount) {
+    switch (neighborCount) {
+      case 4:
+        return FOUR_NEIGHBORS[((((state * STATES + neighborStates[0]) * STATES
+            + neighborStates[1]) * STATES + neighborStates[2]) * STATES) + neighborStates[3]];
+      case 3:
+        return THREE_NEIGHBORS[(((state * STATES + neighborStates[0]) * STATES
+            + neighborStates[1]) * STATES) + neighborStates[2]];
+      case 2:
+        return FOUR_NEIGHBORS[((((state * STATES + neighborStates[0]) * STATES
+            + neighborStates[1]) * STATES + neighborStates[0]) * STATES) + neighborStates[1]];
+      case 1:
+        return FOUR_NEIGHBORS[((((state * STATES + neighborStates[0]) * STATES
+            + neighborStates[0]) * STATES + neighborStates[0]) * STATES) + neighborStates[0]];
+      default:
+        return DEFAULTS[state];
+    }
+  }
+
+  /**
+   * Fills a table indexed by state and then each of n neighbor states, in base STATES, with the
+   * next state of the smallest rotation of those neighbors.
+   */
+  private static byte[] compile(int n) {
+    List<Map<Integer, Integer>> rules = readRules();
+    int tuples = (int) Math.pow(STATES, n);
+    byte[] table = new byte[STATES * tuples];
+    int[] neighbors = new int[n];
+    for (int state = 0; state < STATES; state++) {
+      for (int tuple = 0; tuple < tuples; tuple++) {
+        int rest = tuple;
+        for (int k = n - 1; k >= 0; k--) {
+          neighbors[k] = rest % STATES;
+          rest /= STATES;
+        }
+        int key = minRotationKey(neighbors);
+        table[state * tuples + tuple] = (byte) (int) rules.get(state).getOrDefault(key,
+            DEFAULTS[state]);
+      }
+    }
+    return table;
+  }
+
+  /**
+   * Returns the smallest of the four digit decimal numbers read clockwise from each neighbor,
+   * wrapping around the neighbors there are.
+   */
+  private static int minRotationKey(int[] neighbors) {
+    int n = neighbors.length;
+    int minRotation = Integer.MAX_VALUE;
+    for (int i = 0; i < n; i++) {
+      int key = 0;
+      for (int k = 0; k < ROTATION_LENGTH; k++) {
+        key = key * 10 + neighbors[(i + k) % n];
+      }
+      minRotation = Math.min(minRotation, key);
+    }
+    return minRotation;
+  }
+
+  /**
+   * Returns the published transitions of every state, keyed by smallest rotation.
+   * Rules taken from https://fab.cba.mit.edu/classes/865.18/replication/Byl.pdf
+   */
+  private static List<Map<Integer, Integer>> readRules() {
+    List<Map<Integer, Integer>> rules = new ArrayList<>();
+    for (int i = 0; i < STATES; i++) {
+      rules.add(new HashMap<>());
+    }
+    Map<Integer, Integer> emptyTable = rules.get(BylsLoopCell.EMPTY);
+    put(emptyTable, "0003", BylsLoopCell.DATA_PATH);
+    put(emptyTable, "0012", BylsLoopCell.WALL);
+    put(emptyTable, "0013", BylsLoopCell.DATA_PATH);
+    put(emptyTable, "0015", BylsLoopCell.WALL);
+    put(emptyTable, "0025", BylsLoopCell.DISCONNECT_SIGNAL);
+    put(emptyTable, "0031", BylsLoopCell.DISCONNECT_SIGNAL);
+    put(emptyTable, "0032", BylsLoopCell.EXTEND_SIGNAL);
+    put(emptyTable, "0042", BylsLoopCell.WALL);
+
+    Map<Integer, Integer> dataPathTable = rules.get(BylsLoopCell.DATA_PATH);
+    put(dataPathTable, "0000", BylsLoopCell.EMPTY);
+    put(dataPathTable, "0001", BylsLoopCell.EMPTY);
+    put(dataPathTable, "0003", BylsLoopCell.EXTEND_SIGNAL);
+    put(dataPathTable, "0004", BylsLoopCell.EMPTY);
+    put(dataPathTable, "0033", BylsLoopCell.EMPTY);
+    put(dataPathTable, "0043", BylsLoopCell.DATA_PATH);
+    put(dataPathTable, "0321", BylsLoopCell.EXTEND_SIGNAL);
+    put(dataPathTable, "1253", BylsLoopCell.DATA_PATH);
+    put(dataPathTable, "2453", BylsLoopCell.EXTEND_SIGNAL);
+
+    Map<Integer, Integer> wallTable = rules.get(BylsLoopCell.WALL);
+    put(wallTable, "0000", BylsLoopCell.EMPTY);
+    put(wallTable, "0015", BylsLoopCell.DISCONNECT_SIGNAL);
+    put(wallTable, "0022", BylsLoopCell.EMPTY);
+    put(wallTable, "0202", BylsLoopCell.EMPTY);
+    put(wallTable, "0215", BylsLoopCell.DISCONNECT_SIGNAL);
+    put(wallTable, "0235", BylsLoopCell.EXTEND_SIGNAL);
+    put(wallTable, "0252", BylsLoopCell.DISCONNECT_SIGNAL);
+
+    Map<Integer, Integer> extendSignalTable = rules.get(BylsLoopCell.EXTEND_SIGNAL);
+    put(extendSignalTable, "0001", BylsLoopCell.EMPTY);
+    put(extendSignalTable, "0003", BylsLoopCell.EMPTY);
+    put(extendSignalTable, "0011", BylsLoopCell.EMPTY);
+    put(extendSignalTable, "0012", BylsLoopCell.DATA_PATH);
+    put(extendSignalTable, "0121", BylsLoopCell.DATA_PATH);
+    put(extendSignalTable, "0123", BylsLoopCell.DATA_PATH);
+    put(extendSignalTable, "1122", BylsLoopCell.DATA_PATH);
+    put(extendSignalTable, "1123", BylsLoopCell.DATA_PATH);
+    put(extendSignalTable, "1215", BylsLoopCell.DATA_PATH);
+    put(extendSignalTable, "1223", BylsLoopCell.DATA_PATH);
+    put(extendSignalTable, "1233", BylsLoopCell.DATA_PATH);
+    put(extendSignalTable, "1235", BylsLoopCell.DISCONNECT_SIGNAL);
+    put(extendSignalTable, "1432", BylsLoopCell.DATA_PATH);
+    put(extendSignalTable, "1452", BylsLoopCell.DISCONNECT_SIGNAL);
+    put(extendSignalTable, "1523", BylsLoopCell.DATA_PATH);
+
+    Map<Integer, Integer> leftSignalTable = rules.get(BylsLoopCell.LEFT_SIGNAL);
+    put(leftSignalTable, "0003", BylsLoopCell.DISCONNECT_SIGNAL);
+    put(leftSignalTable, "0043", BylsLoopCell.LEFT_SIGNAL);
+    put(leftSignalTable, "0212", BylsLoopCell.LEFT_SIGNAL);
+    put(leftSignalTable, "0232", BylsLoopCell.LEFT_SIGNAL);
+    put(leftSignalTable, "0242", BylsLoopCell.LEFT_SIGNAL);
+    put(leftSignalTable, "0252", BylsLoopCell.EMPTY);
+    put(leftSignalTable, "0325", BylsLoopCell.DISCONNECT_SIGNAL);
+
+    Map<Integer, Integer> disconnectSignalTable = rules.get(BylsLoopCell.DISCONNECT_SIGNAL);
+    put(disconnectSignalTable, "0022", BylsLoopCell.DISCONNECT_SIGNAL);
+    put(disconnectSignalTable, "0032", BylsLoopCell.DISCONNECT_SIGNAL);
+    put(disconnectSignalTable, "0212", BylsLoopCell.LEFT_SIGNAL);
+    put(disconnectSignalTable, "0222", BylsLoopCell.EMPTY);
+    put(disconnectSignalTable, "0322", BylsLoopCell.EMPTY);
+    return rules;
+  }
+
+  private static void put(Map<Integer, Integer> table, String minRotationKey, int nextState) {
+    table.put(Integer.parseInt(minRotationKey), nextState);
+  }
+}
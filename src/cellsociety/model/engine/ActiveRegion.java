@@ -0,0 +1,141 @@
+package cellsociety.model.engine;
+
+/**
+ * Keeps track of which cells of an array engine grid can change in the next generation. A cell
+ * whose own state and neighbor states all stayed the same last generation will keep its state, so
+ * only cells that changed and the cells that have them as a neighbor need to be prepared again.
+ * When so many cells change that listing them would cost more than a full sweep, the region
+ * simply covers the whole grid for the next generation.
+ * Assumptions: rule is deterministic given a cell's state and its neighbor states, keeps no
+ * attribute columns and never moves cells. Skipped cells rely on the next state buffer still
+ * holding the state they had two generations ago, which equals their current state.
+ * Dependencies: NeighborTopology, StateBuffer
+ * Example:
+ * '''
+ * ActiveRegion region = new ActiveRegion(topology);
+ * for (int k = 0; k < region.getCount(); k++) {
+ *   prepareCell(region.getCell(k));
+ * }
+ * region.update(buffer);
+ * buffer.pushUpdates();
+ * '''
+ */
+public class ActiveRegion {
+
+  private static final int FULL_SWEEP_FRACTION = 4;
+
+  private final int size;
+  private final int[] reverseOffsets;
+  private final int[] reverseIndexes;
+  private final int[] marks;
+  private int[] cells;
+  private int[] nextCells;
+  private int count;
+  private boolean full = true;
+  private int stamp;
+
+  /**
+   * Constructor. Starts with every cell active and records, for each cell, the cells that have it
+   * as a neighbor.
+   *
+   * @param topology neighbor indexes of every cell
+   */
+  public ActiveRegion(NeighborTopology topology) {
+    this.size = topology.size();
+    this.reverseOffsets = new int[size + 1];
+    for (int i = 0; i < size; i++) {
+      for (int k = 0; k < topology.getNeighborCount(i); k++) {
+        reverseOffsets[topology.getNeighbor(i, k) + 1]++;
+      }
+    }
+    for (int i = 0; i < size; i++) {
+      reverseOffsets[i + 1] += reverseOffsets[i];
+    }
+    this.reverseIndexes = new int[reverseOffsets[size]];
+    int[] fill = new int[size];
+    for (int i = 0; i < size; i++) {
+      for (int k = 0; k < topology.getNeighborCount(i); k++) {
+        int neighbor = topology.getNeighbor(i, k);
+        reverseIndexes[reverseOffsets[neighbor] + fill[neighbor]++] = i;
+      }
+    }
+    this.marks = new int[size];
+    this.cells = new int[size];
+    this.nextCells = new int[size];
+    this.count = size;
+  }
+
+  /**
+   * Returns number of cells to prepare this generation.
+   *
+   * @return int active cell count
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the kth active cell.
+   *
+   * @param k position in the active list, below getCount()
+   * @return cell index
+   */
+  public int getCell(int k) {
+    return full ? k : cells[k];
+  }
+
+  /**
+   * Returns whether every cell is active this generation.
+   *
+   * @return true for a full sweep
+   */
+  public boolean isFull() {
+    return full;
+  }
+
+  /**
+   * Finds the active cells whose next state differs from their current state and makes them and
+   * every cell that reads them active for the next generation. Call after every active cell has
+   * been prepared and before the buffer is swapped.
+   *
+   * @param buffer states of the grid
+   */
+  public void update(StateBuffer buffer) {
+    stamp++;
+    int changed = 0;
+    int nextCount = 0;
+    for (int k = 0; k < count; k++) {
+      int cell = getCell(k);
+      if (buffer.getNextState(cell) == buffer.getState(cell)) {
+        continue;
+      }
+      changed++;
+      if (changed * FULL_SWEEP_FRACTION > size) {
+        full = true;
+        count = size;
+        return;
+      }
+      nextCount = mark(cell, nextCount);
+      for (int r = reverseOffsets[cell]; r < reverseOffsets[cell + 1]; r++) {
+        nextCount = mark(reverseIndexes[r], nextCount);
+      }
+    }
+    int[] temp = cells;
+    cells = nextCells;
+    nextCells = temp;
+    count = nextCount;
+    full = false;
+  }
+
+  /**
+   * Adds cell to the next active list unless it is already there.
+   */
+  private int mark(int cell, int nextCount) {
+    if (marks[cell] == stamp) {
+      return nextCount;
+    }
+    marks[cell] = stamp;
+    nextCells[nextCount] = cell;
+    return nextCount + 1;
+  }
+}
@@ -0,0 +1,392 @@
+package cellsociety.model.engine;
+
+import cellsociety.model.Cell;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Updates a grid stored as primitive arrays. Follows the same cycle as Grid: every cell prepares
+ * its next state, cells that want to move are handed to the rule one by one, then the next state
+ * buffer is swapped in. Cells are visited by index so no Cell objects or per-cell maps are
+ * created. Rules that only write their own index may be prepared across several cores, with
+ * their moves arbitrated by a ClaimArbiter, or split into tiles with their own halo of neighbors.
+ * Rules whose quiet cells stay quiet are only prepared where something changed last generation,
+ * and rules whose cells may move to any empty cell pick one from a VacancyMover. Rules that look
+ * further than their neighbors when moving read summed-area tables rebuilt every generation, and
+ * fields such as pheromones evaporate and diffuse in their own pass after the moves. Rules that
+ * only need neighbor counts can be prepared a row at a time from a NeighborCounter. Every random
+ * number, whether drawn by the rule or used to order a mover's places, comes from one
+ * SimulationRandom keyed by the seed, so a seeded run is the same on any number of cores.
+ * Assumptions: topology holds the neighbor indexes of every cell, as built by GridHelper.
+ * Dependencies: CellRule, StateBuffer, NeighborTopology, ParallelSweep, ClaimArbiter,
+ * TileDecomposition, ActiveRegion, VacancyMover, SummedAreaTable, ScalarField, NeighborCounter,
+ * SimulationRandom, Cell, java.util.*
+ * Example:
+ * '''
+ * ArrayEngine engine = new ArrayEngine(states, topology, new GameOfLifeRule(), false, seed);
+ * engine.updateCells();
+ * '''
+ */
+public class ArrayEngine {
+
+  private final CellRule rule;
+  private final StateBuffer buffer;
+  private final NeighborTopology topology;
+  private final int[] neighborStates;
+  private final int[] movers;
+  private final int[] places;
+  private final SimulationRandom random;
+  private final boolean parallel;
+  private final ClaimArbiter arbiter;
+  private final ActiveRegion activeRegion;
+  private final VacancyMover vacancyMover;
+  private TileDecomposition tiles;
+  private NeighborCounter counter;
+  private SummedAreaTable[] rangeSums = new SummedAreaTable[0];
+  private final ScalarField[] fields;
+  private long generation;
+
+  /**
+   * Constructor. Fills the buffer and lets the rule initialize every cell's attributes.
+   *
+   * @param states initial cell states in row major order
+   * @param topology neighbor indexes of every cell
+   * @param rule update rules of the simulation
+   * @param parallel whether to prepare cells across several cores when the rule allows it
+   * @param seed decides every random number the rule draws, how moves are arbitrated in parallel
+   *     mode, and which empty cell a cell moving to any empty cell goes to
+   */
+  public ArrayEngine(int[] states, NeighborTopology topology, CellRule rule, boolean parallel,
+      long seed) {
+    this.rule = rule;
+    this.parallel = parallel && rule.isParallelSafe();
+    this.arbiter = new ClaimArbiter(seed);
+    this.random = new SimulationRandom(seed);
+    rule.setRandom(random);
+    this.topology = topology;
+    this.buffer = new StateBuffer(states, rule.getAttributeCount(), rule.getPayloadCount());
+    int maxNeighbors = topology.getMaxNeighborCount();
+    this.neighborStates = new int[maxNeighbors];
+    this.movers = new int[states.length];
+    this.places = new int[rule.getMaxPotentialMoves(states.length, maxNeighbors)];
+    this.fields = new ScalarField[rule.getFieldCount()];
+    for (int f = 0; f < fields.length; f++) {
+      fields[f] = new ScalarField(states.length);
+    }
+    buffer.setFields(fields);
+    for (int i = 0; i < states.length; i++) {
+      rule.initialize(i, buffer);
+    }
+    this.activeRegion = rule.skipsQuietCells() && !rule.movesCells()
+        && rule.getAttributeCount() == 0 && fields.length == 0 ? new ActiveRegion(topology) : null;
+    this.vacancyMover = rule.movesToEmptyCells() ? new VacancyMover(states.length, random) : null;
+    if (vacancyMover != null) {
+      for (int i = 0; i < states.length; i++) {
+        vacancyMover.setVacant(i, states[i] == rule.getBaseState());
+      }
+    }
+  }
+
+  /**
+   * Switches to updating the grid tile by tile, each tile reading from its own copy of its cells
+   * and their halo. Ignored for rules that move cells or keep attribute columns or fields, since
+   * those read and write outside a single tile.
+   *
+   * @param width grid width
+   * @param height grid height
+   * @param tileSize side length of a tile, in cells
+   * @return true if the engine now updates by tiles
+   */
+  public boolean enableTiles(int width, int height, int tileSize) {
+    if (tileSize <= 0 || !rule.isParallelSafe() || rule.movesCells()
+        || rule.getAttributeCount() > 0 || fields.length > 0) {
+      return false;
+    }
+    this.tiles = new TileDecomposition(width, height, tileSize, topology, buffer);
+    return true;
+  }
+
+  /**
+   * Switches to preparing the grid a row at a time from neighbor counts, for rules whose next
+   * state only depends on how many neighbors are in each state. Counts come from the SIMD
+   * VectorNeighborCounter when vector is true and jdk.incubator.vector is available, and from
+   * the scalar NeighborCounter otherwise. Ignored when the grid is updated by tiles, the rule does
+   * not use counts, or the neighbors are not the eight or four cells around each cell of a square
+   * grid.
+   *
+   * @param width grid width
+   * @param height grid height
+   * @param wrapping true if neighborhoods wrap around the edges of the grid
+   * @param vector whether to count with SIMD kernels
+   * @return true if the engine now prepares cells from counts
+   */
+  public boolean enableNeighborCounts(int width, int height, boolean wrapping, boolean vector) {
+    if (tiles != null || !rule.usesStateCounts()) {
+      return false;
+    }
+    this.counter = NeighborCounter.create(width, height, wrapping, topology,
+        rule.getMaxStateValue() + 1, vector);
+    return counter != null;
+  }
+
+  /**
+   * Allocates the summed-area tables the rule asks for, so findPotentialMoves() can sum values
+   * over whole neighborhoods in O(1). The tables are rebuilt every generation once all cells are
+   * prepared.
+   *
+   * @param width grid width
+   * @param height grid height
+   * @param wrapping true if neighborhoods wrap around the edges of the grid
+   */
+  public void enableRangeSums(int width, int height, boolean wrapping) {
+    rangeSums = new SummedAreaTable[rule.getRangeSumCount()];
+    for (int t = 0; t < rangeSums.length; t++) {
+      rangeSums[t] = new SummedAreaTable(width, height, wrapping);
+    }
+    buffer.setRangeSums(rangeSums);
+  }
+
+  /**
+   * Returns cell states for printing/viewing.
+   *
+   * @return integer array list of cell states
+   */
+  public List<Integer> viewGrid() {
+    List<Integer> cellStates = new ArrayList<>(buffer.size());
+    for (int i = 0; i < buffer.size(); i++) {
+      cellStates.add(buffer.getState(i));
+    }
+    return cellStates;
+  }
+
+  /**
+   * Returns the underlying buffer so rules and tools can read states without copying.
+   *
+   * @return state buffer
+   */
+  public StateBuffer getBuffer() {
+    return buffer;
+  }
+
+  /**
+   * Runs one generation: prepares every cell into the next buffer, moves the cells that asked to,
+   * and swaps the next buffer in as the current one.
+   */
+  public void updateCells() {
+    random.setGeneration(generation);
+    if (tiles != null) {
+      tiles.updateCells(rule, buffer, parallel);
+      buffer.pushUpdates();
+      generation++;
+      return;
+    }
+    if (activeRegion != null && counter == null) {
+      prepareActiveCells();
+      buffer.pushUpdates();
+      generation++;
+      return;
+    }
+    int moverCount = counter != null ? prepareCountedRows() : prepareCellUpdates();
+    rebuildRangeSums();
+    if (vacancyMover != null) {
+      vacancyMover.moveAll(movers, moverCount, createMoveHandler());
+    } else if (parallel) {
+      arbitrateMoves(moverCount);
+    } else {
+      for (int i = 0; i < moverCount; i++) {
+        moveCell(movers[i]);
+      }
+    }
+    updateFields();
+    buffer.pushUpdates();
+    generation++;
+  }
+
+  /**
+   * Runs prepareNextState() on every index and records the ones that want to move. In parallel
+   * mode the indexes are split into ranges that each get their own neighbor state array, and the
+   * movers are collected afterwards.
+   *
+   * @return number of movers recorded
+   */
+  private int prepareCellUpdates() {
+    int moverCount = 0;
+    if (parallel) {
+      ParallelSweep.run(buffer.size(), (from, to) -> {
+        int[] scratch = new int[neighborStates.length];
+        for (int i = from; i < to; i++) {
+          prepareCell(i, scratch);
+        }
+      });
+      for (int i = 0; i < buffer.size(); i++) {
+        if (buffer.getMoveState(i) != Cell.NO_MOVEMENT) {
+          movers[moverCount++] = i;
+        }
+      }
+      return moverCount;
+    }
+    for (int i = 0; i < buffer.size(); i++) {
+      if (prepareCell(i, neighborStates) != Cell.NO_MOVEMENT) {
+        movers[moverCount++] = i;
+      }
+    }
+    return moverCount;
+  }
+
+  /**
+   * Prepares every cell from its neighbor counts, one row at a time, and records the ones that
+   * want to move. In parallel mode the rows are split into ranges that each get their own count
+   * arrays.
+   *
+   * @return number of movers recorded
+   */
+  private int prepareCountedRows() {
+    int width = counter.getWidth();
+    int rows = buffer.size() / width;
+    if (parallel) {
+      ParallelSweep.run(rows, Math.max(1, ParallelSweep.MIN_CHUNK / width),
+          (from, to) -> prepareRows(from, to, new int[counter.getStateCount()][width]));
+    } else {
+      prepareRows(0, rows, new int[counter.getStateCount()][width]);
+    }
+    int moverCount = 0;
+    for (int i = 0; i < buffer.size(); i++) {
+      if (buffer.getMoveState(i) != Cell.NO_MOVEMENT) {
+        movers[moverCount++] = i;
+      }
+    }
+    return moverCount;
+  }
+
+  /**
+   * Used by prepareCountedRows(). Counts and prepares rows from (inclusive) to (exclusive).
+   *
+   * @param from first row
+   * @param to one past the last row
+   * @param counts scratch counts, one row per state
+   */
+  private void prepareRows(int from, int to, int[][] counts) {
+    int width = counter.getWidth();
+    int[] stateCounts = new int[counts.length];
+    for (int y = from; y < to; y++) {
+      counter.countRow(buffer.getStates(), y, counts);
+      for (int x = 0; x < width; x++) {
+        int index = y * width + x;
+        for (int state = 0; state < counts.length; state++) {
+          stateCounts[state] = counts[state][x];
+        }
+        int movement = rule.prepareFromCounts(index, stateCounts,
+            topology.getNeighborCount(index), buffer);
+        buffer.setMoveState(index, movement);
+      }
+    }
+  }
+
+  /**
+   * Reads every cell's value into each summed-area table of the rule and rebuilds the table.
+   */
+  private void rebuildRangeSums() {
+    for (int t = 0; t < rangeSums.length; t++) {
+      SummedAreaTable table = rangeSums[t];
+      for (int i = 0; i < buffer.size(); i++) {
+        table.set(i, rule.getRangeValue(t, i, buffer));
+      }
+      table.rebuild();
+    }
+  }
+
+  /**
+   * Evaporates and diffuses every field of the rule, once all cells have moved.
+   */
+  private void updateFields() {
+    for (int f = 0; f < fields.length; f++) {
+      fields[f].evaporateAndDiffuse(rule.getEvaporation(f), rule.getDiffusion(f), topology,
+          parallel);
+    }
+  }
+
+  /**
+   * Prepares only the cells of the active region, then records which of them changed so the next
+   * generation knows where to look. Cells outside the region keep the next state they already
+   * hold, which matches their current state.
+   */
+  private void prepareActiveCells() {
+    int count = activeRegion.getCount();
+    if (parallel) {
+      ParallelSweep.run(count, (from, to) -> {
+        int[] scratch = new int[neighborStates.length];
+        for (int k = from; k < to; k++) {
+          prepareCell(activeRegion.getCell(k), scratch);
+        }
+      });
+    } else {
+      for (int k = 0; k < count; k++) {
+        prepareCell(activeRegion.getCell(k), neighborStates);
+      }
+    }
+    activeRegion.update(buffer);
+  }
+
+  /**
+   * Gathers the neighbor states of one index into scratch and prepares its next state.
+   *
+   * @param index cell index
+   * @param scratch array at least as long as the largest neighbor count
+   * @return state the cell wants to move, or Cell.NO_MOVEMENT
+   */
+  private int prepareCell(int index, int[] scratch) {
+    int neighborCount = topology.getNeighborCount(index);
+    for (int j = 0; j < neighborCount; j++) {
+      scratch[j] = buffer.getState(topology.getNeighbor(index, j));
+    }
+    int movement = rule.prepareNextState(index, scratch, neighborCount, buffer);
+    buffer.setMoveState(index, movement);
+    return movement;
+  }
+
+  /**
+   * Lets every mover claim its targets through the arbiter, so the outcome depends only on the
+   * seed and not on how many threads ran.
+   *
+   * @param moverCount number of movers recorded
+   */
+  private void arbitrateMoves(int moverCount) {
+    arbiter.resolve(movers, moverCount, buffer.size(), places.length, generation,
+        createMoveHandler());
+  }
+
+  /**
+   * Returns a MoveHandler that finds and accepts moves through the rule.
+   */
+  private ClaimArbiter.MoveHandler createMoveHandler() {
+    return new ClaimArbiter.MoveHandler() {
+      @Override
+      public int findPotentialMoves(int mover, int[] moves) {
+        return rule.findPotentialMoves(mover, topology, moves, buffer);
+      }
+
+      @Override
+      public boolean receiveUpdate(int target, int mover) {
+        return rule.receiveUpdate(target, mover, buffer);
+      }
+    };
+  }
+
+  /**
+   * Offers the moving cell to each potential place in random order, drawn from the mover's own
+   * stream. If no place accepts, the cell is offered back to its own index, matching
+   * Grid.moveCell().
+   *
+   * @param index cell trying to move
+   */
+  private void moveCell(int index) {
+    int count = rule.findPotentialMoves(index, topology, places, buffer);
+    random.shuffle(places, count, index);
+    for (int i = 0; i < count; i++) {
+      if (rule.receiveUpdate(places[i], index, buffer)) {
+        return;
+      }
+    }
+    rule.receiveUpdate(index, index, buffer);
+  }
+}
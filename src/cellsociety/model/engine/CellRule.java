@@ -0,0 +1,350 @@
+package cellsociety.model.engine;
+
+import cellsociety.model.Cell;
+
+/**
+ * Purpose: Represents the update rules of a simulation for the array engine. Where a Cell holds
+ *    its own state, a CellRule is shared by the whole grid and reads and writes states by index
+ *    in a StateBuffer.
+ * Assumptions: Extended by child classes that are created by a Grid child class. Every call to
+ *    prepareNextState sets the next state of the index it was given.
+ * Dependencies: Cell, StateBuffer, NeighborTopology, SummedAreaTable, ScalarField,
+ *    SimulationRandom.
+ * Example of use: Extended by child class WaTorRule.
+ */
+public abstract class CellRule {
+
+  private int maxStateValue;
+  private SimulationRandom random = new SimulationRandom(0);
+
+  /**
+   * Purpose: Checks if a state read from XML is valid for the CellRule subclass.
+   * Assumptions: setMaxStateValue has already been called in the constructor of the subclass.
+   * Parameters: int state.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean isValidState(int state) {
+    return state >= 0 && state <= maxStateValue;
+  }
+
+  /**
+   * Purpose: Returns number of per-cell attribute columns the rule keeps in the StateBuffer.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getAttributeCount() {
+    return 0;
+  }
+
+  /**
+   * Purpose: Returns number of payload columns a moving cell carries to its new position.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getPayloadCount() {
+    return 0;
+  }
+
+  /**
+   * Purpose: Fills in the attribute columns of a newly created cell.
+   * Assumptions: State of index has already been set.
+   * Parameters: int index, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  public void initialize(int index, StateBuffer buffer) {
+  }
+
+  /**
+   * Purpose: Returns whether prepareNextState only reads neighbor states and writes its own index,
+   *    so the engine may prepare many indexes at once. Will default to false.
+   * Assumptions: Rules returning true that move cells only read in findPotentialMoves and only
+   *    write the target in receiveUpdate, so moves can be arbitrated in parallel.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean isParallelSafe() {
+    return false;
+  }
+
+  /**
+   * Purpose: Returns whether prepareNextState may ever ask a cell to move. Rules that never move
+   *    can be updated tile by tile. Will default to false.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean movesCells() {
+    return false;
+  }
+
+  /**
+   * Purpose: Returns whether moving cells may go to any cell of the grid that is in the base state
+   *    next generation, so the engine keeps those cells in a VacancyMover instead of asking
+   *    findPotentialMoves(). Will default to false.
+   * Assumptions: Rules returning true only empty a cell by moving it away, and receiveUpdate()
+   *    accepts a mover into any cell whose next state is the base state.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean movesToEmptyCells() {
+    return false;
+  }
+
+  /**
+   * Purpose: Returns whether a cell keeps its state when neither it nor any of its neighbors
+   *    changed last generation, so the engine may skip preparing it. Will default to false.
+   * Assumptions: Rules returning true decide the next state from the cell's state and neighbor
+   *    states only, with randomness at most deciding whether a change happens.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean skipsQuietCells() {
+    return false;
+  }
+
+  /**
+   * Purpose: Determine new state to update to and write it to the buffer.
+   * Assumptions: Only the first neighborCount values of neighborStates are valid.
+   * Parameters: int index, int[] neighborStates, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int state the cell wants to move, or Cell.NO_MOVEMENT.
+   */
+  public abstract int prepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer);
+
+  /**
+   * Purpose: Returns whether the next state only depends on how many neighbors are in each state,
+   *    so engines that count neighbors a row at a time may call prepareFromCounts() instead of
+   *    prepareNextState(). Will default to false.
+   * Assumptions: Rules returning true give the same result from both methods.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean usesStateCounts() {
+    return false;
+  }
+
+  /**
+   * Purpose: Determine new state to update to from neighbor counts and write it to the buffer.
+   *    Only called when usesStateCounts() is true. Will default to keeping the current state.
+   * Assumptions: stateCounts[s] is the number of neighbors in state s, for every state up to
+   *    getMaxStateValue().
+   * Parameters: int index, int[] stateCounts, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int state the cell wants to move, or Cell.NO_MOVEMENT.
+   */
+  public int prepareFromCounts(int index, int[] stateCounts, int neighborCount,
+      StateBuffer buffer) {
+    buffer.setNextState(index, buffer.getState(index));
+    return Cell.NO_MOVEMENT;
+  }
+
+  /**
+   * Purpose: Fills places with the indexes a moving cell may move to. Will default to no places.
+   * Assumptions: places is at least getMaxPotentialMoves() long.
+   * Parameters: int index, NeighborTopology topology, int[] places, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int number of indexes written to places.
+   */
+  public int findPotentialMoves(int index, NeighborTopology topology, int[] places,
+      StateBuffer buffer) {
+    return 0;
+  }
+
+  /**
+   * Purpose: Returns the most indexes findPotentialMoves() will ever write.
+   * Assumptions: None.
+   * Parameters: int size, int maxNeighbors.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getMaxPotentialMoves(int size, int maxNeighbors) {
+    return maxNeighbors;
+  }
+
+  /**
+   * Purpose: Returns number of summed-area tables the rule reads in findPotentialMoves(), through
+   *    StateBuffer.getRangeSums(). Will default to none.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getRangeSumCount() {
+    return 0;
+  }
+
+  /**
+   * Purpose: Returns the value a cell adds to one summed-area table, such as 1 for a state that is
+   *    being counted or an attribute. Read once every cell is prepared, before any cell moves.
+   *    Will default to 0.
+   * Assumptions: table is below getRangeSumCount().
+   * Parameters: int table, int index, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getRangeValue(int table, int index, StateBuffer buffer) {
+    return 0;
+  }
+
+  /**
+   * Purpose: Returns number of ScalarFields, such as pheromones, the rule keeps next to the cells
+   *    through StateBuffer.getField(). Will default to none.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getFieldCount() {
+    return 0;
+  }
+
+  /**
+   * Purpose: Returns fraction of a field that evaporates every generation. Will default to 0.
+   * Assumptions: field is below getFieldCount().
+   * Parameters: int field.
+   * Exceptions: None.
+   * Returns: float type, from 0 to 1.
+   */
+  public float getEvaporation(int field) {
+    return 0;
+  }
+
+  /**
+   * Purpose: Returns fraction of a field that spreads to the neighbors every generation. Will
+   *    default to 0.
+   * Assumptions: field is below getFieldCount().
+   * Parameters: int field.
+   * Exceptions: None.
+   * Returns: float type, from 0 to 1.
+   */
+  public float getDiffusion(int field) {
+    return 0;
+  }
+
+  /**
+   * Purpose: Tries to move the cell at mover into target. Will default to return false.
+   * Assumptions: Engine should call this method only for movers that did not return NO_MOVEMENT.
+   * Parameters: int target, int mover, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean receiveUpdate(int target, int mover, StateBuffer buffer) {
+    return false;
+  }
+
+  /**
+   * Purpose: Returns default state for cells upon grid size expansion.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getBaseState() {
+    return 0;
+  }
+
+  /**
+   * Purpose: Returns default state for the cell that takes an index upon grid size expansion.
+   *    Rules with a random base state draw it from that index's stream, so the state does not
+   *    depend on how many cells were added before it. Will default to getBaseState().
+   * Assumptions: None.
+   * Parameters: long stream, index of the new cell.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getBaseState(long stream) {
+    return getBaseState();
+  }
+
+  /**
+   * Purpose: Returns whether getBaseState() always returns the same state. Will default to true.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean hasFixedBaseState() {
+    return true;
+  }
+
+  /**
+   * Purpose: Returns the largest valid state.
+   * Assumptions: setMaxStateValue has already been called in the constructor of the subclass.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getMaxStateValue() {
+    return maxStateValue;
+  }
+
+  /**
+   * Purpose: Hands over the random numbers of the simulation. Called by the engine before any
+   *    cell is initialized.
+   * Assumptions: None.
+   * Parameters: SimulationRandom random.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  public void setRandom(SimulationRandom random) {
+    this.random = random;
+  }
+
+  /**
+   * Purpose: Returns the random numbers of the simulation.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: SimulationRandom object.
+   */
+  public SimulationRandom getRandom() {
+    return random;
+  }
+
+  /**
+   * Purpose: Returns a random double from 0 (inclusive) to 1 (exclusive) for one cell. The same
+   *    cell, generation and draw always give the same number, whichever thread asks.
+   * Assumptions: Each draw a cell makes in one generation has its own draw number, from 0.
+   * Parameters: int index, int draw, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: double type.
+   */
+  protected double nextRandomDouble(int index, int draw, StateBuffer buffer) {
+    return random.nextDouble(buffer.getStream(index), draw);
+  }
+
+  /**
+   * Purpose: Returns a random int from 0 (inclusive) to bound (exclusive) for one cell, as
+   *    nextRandomDouble() does.
+   * Assumptions: Each draw a cell makes in one generation has its own draw number, from 0.
+   * Parameters: int index, int draw, int bound, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  protected int nextRandomInt(int index, int draw, int bound, StateBuffer buffer) {
+    return random.nextInt(buffer.getStream(index), draw, bound);
+  }
+
+  /**
+   * Purpose: Sets maxStateValue of the rule.
+   * Assumptions: None.
+   * Parameters: int type.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  protected void setMaxStateValue(int maxState) {
+    maxStateValue = maxState;
+  }
+}
@@ -0,0 +1,466 @@
+package cellsociety.model.engine;
+
+import cellsociety.model.Grid;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs an infinite square grid as a hash map of fixed size chunks instead of one dense grid.
+ * Space outside every chunk holds the rule's base state, so only chunks around non-base cells
+ * exist. Before each generation a chunk with a non-base cell on one of its edges makes sure the
+ * chunk on that side exists; chunks that have held nothing but base cells for a few generations
+ * are dropped. Chunks whose whole neighborhood is base are not updated at all, so memory and time
+ * per generation follow the live pattern instead of its bounding box.
+ * Cells are addressed by (x, y) with the top left cell of the XML grid at (0, 0). Neighbors are
+ * given as (dx, dy) steps, in the order the rule expects them. The rectangle viewGrid() shows
+ * follows the non-base cells the same way a dense infinite Grid resizes, as HashLifeEngine's
+ * viewport does: a side grows by the expansion margin when a non-base cell reaches its outer two
+ * rings, and the rectangle is cut down to the padded cells once they cover less than the shrink
+ * threshold of it. Dimensions and states therefore match the cell engine generation for
+ * generation, whatever the chunk size.
+ * Assumptions: rule keeps no attribute columns, never moves cells, and a base cell with only base
+ * neighbors stays base (CellRule.skipsQuietCells()).
+ * Dependencies: Grid, CellRule, StateBuffer, ParallelSweep, SimulationRandom, java.util.*
+ * Example:
+ * '''
+ * ChunkedEngine engine = new ChunkedEngine(states, width, height, rule, steps, 32, 16, 25, false,
+ *     seed);
+ * engine.updateCells();
+ * List<Integer> view = engine.viewGrid();
+ * '''
+ */
+public class ChunkedEngine {
+
+  public static final int DEFAULT_CHUNK_SIZE = 32;
+  private static final int QUIET_GENERATIONS = 4;
+  private static final int ANY = -1;
+
+  private final CellRule rule;
+  private final int chunkSize;
+  private final int[][] steps;
+  private final int baseState;
+  private final boolean parallel;
+  private final int margin;
+  private final int shrinkThreshold;
+  private final int minWidth;
+  private final int minHeight;
+  private int viewLeft;
+  private int viewTop;
+  private int viewWidth;
+  private int viewHeight;
+  private final Map<Long, Chunk> chunks = new HashMap<>();
+  private final SimulationRandom random;
+  private long generation;
+
+  /**
+   * Returns whether a rule can run on chunks.
+   *
+   * @param rule update rules of the simulation
+   * @return true if empty space stays empty under rule and cells never move
+   */
+  public static boolean supports(CellRule rule) {
+    return rule.skipsQuietCells() && rule.hasFixedBaseState() && !rule.movesCells()
+        && rule.getAttributeCount() == 0;
+  }
+
+  /**
+   * Constructor. Copies the non-base cells of the XML grid into chunks.
+   *
+   * @param states initial cell states in row major order
+   * @param width grid width
+   * @param height grid height
+   * @param rule update rules of the simulation
+   * @param steps (dx, dy) of every neighbor, each at most one cell away
+   * @param chunkSize side length of a chunk, in cells
+   * @param margin rows or columns added to a side of the view when it grows, from
+   *     Grid.evenMargin()
+   * @param shrinkThreshold percentage of the view the padded non-base cells must cover before the
+   *     view shrinks to them, 0 to never shrink
+   * @param parallel whether to update chunks on several cores
+   * @param seed decides every random number the rule draws
+   */
+  public ChunkedEngine(int[] states, int width, int height, CellRule rule, int[][] steps,
+      int chunkSize, int margin, int shrinkThreshold, boolean parallel, long seed) {
+    for (int[] step : steps) {
+      if (Math.abs(step[0]) > 1 || Math.abs(step[1]) > 1) {
+        throw new IllegalArgumentException("neighbor step " + step[0] + "," + step[1]);
+      }
+    }
+    this.rule = rule;
+    this.chunkSize = chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+    this.steps = steps;
+    this.baseState = rule.getBaseState();
+    this.parallel = parallel;
+    this.margin = margin;
+    this.shrinkThreshold = shrinkThreshold;
+    this.minWidth = width;
+    this.minHeight = height;
+    this.viewWidth = width;
+    this.viewHeight = height;
+    this.random = new SimulationRandom(seed);
+    rule.setRandom(random);
+    for (int i = 0; i < states.length; i++) {
+      if (states[i] != baseState) {
+        int x = i % width;
+        int y = i / width;
+        Chunk chunk = getOrCreate(Math.floorDiv(x, this.chunkSize),
+            Math.floorDiv(y, this.chunkSize));
+        chunk.buffer.setState(localIndex(x, y), states[i]);
+        chunk.live++;
+        chunk.include(x, y);
+      }
+    }
+  }
+
+  /**
+   * Returns number of chunks currently allocated.
+   *
+   * @return int chunk count
+   */
+  public int getChunkCount() {
+    return chunks.size();
+  }
+
+  /**
+   * Returns the rectangle shown by viewGrid(). Starts as the XML grid and is resized before each
+   * generation the way a dense infinite Grid is.
+   *
+   * @return [left, top, width, height]
+   */
+  public int[] getBounds() {
+    return new int[]{viewLeft, viewTop, viewWidth, viewHeight};
+  }
+
+  /**
+   * Returns size of the rectangle shown by viewGrid().
+   *
+   * @return [width, height]
+   */
+  public int[] getDimensions() {
+    int[] bounds = getBounds();
+    return new int[]{bounds[2], bounds[3]};
+  }
+
+  /**
+   * Returns cell states inside getBounds(), row by row.
+   *
+   * @return integer array list of cell states
+   */
+  public List<Integer> viewGrid() {
+    int[] bounds = getBounds();
+    List<Integer> states = new ArrayList<>(bounds[2] * bounds[3]);
+    for (int y = bounds[1]; y < bounds[1] + bounds[3]; y++) {
+      for (int x = bounds[0]; x < bounds[0] + bounds[2]; x++) {
+        states.add(getState(x, y));
+      }
+    }
+    return states;
+  }
+
+  /**
+   * Returns state of the cell at (x, y), the base state where no chunk exists.
+   *
+   * @param x column
+   * @param y row
+   * @return int state
+   */
+  public int getState(int x, int y) {
+    Chunk chunk = chunks.get(key(Math.floorDiv(x, chunkSize), Math.floorDiv(y, chunkSize)));
+    return chunk == null ? baseState : chunk.buffer.getState(localIndex(x, y));
+  }
+
+  /**
+   * Runs one generation: grows chunks where activity reaches an edge, updates every chunk with a
+   * non-base cell in or around it, then drops chunks that have stayed empty with no live chunk
+   * next to them.
+   */
+  public void updateCells() {
+    random.setGeneration(generation);
+    fitView();
+    growAtEdges();
+    List<Chunk> active = new ArrayList<>();
+    for (Chunk chunk : chunks.values()) {
+      linkNeighbors(chunk);
+      if (chunk.hasLiveNeighborhood()) {
+        active.add(chunk);
+      }
+    }
+    if (parallel) {
+      ParallelSweep.run(active.size(), 1, (from, to) -> {
+        int[] scratch = new int[steps.length];
+        for (int i = from; i < to; i++) {
+          prepareChunk(active.get(i), scratch);
+        }
+      });
+    } else {
+      int[] scratch = new int[steps.length];
+      for (Chunk chunk : active) {
+        prepareChunk(chunk, scratch);
+      }
+    }
+    for (Chunk chunk : active) {
+      chunk.buffer.pushUpdates();
+      chunk.live = chunk.nextLive;
+      chunk.pushBounds();
+    }
+    chunks.values().removeIf(chunk -> {
+      chunk.quiet = chunk.live > 0 ? 0 : chunk.quiet + 1;
+      return chunk.quiet >= QUIET_GENERATIONS && !chunk.hasLiveNeighborhood();
+    });
+    generation++;
+  }
+
+  /**
+   * Grows each side of the view that has a non-base cell within its outer two rings by the
+   * margin, then shrinks it as Grid.checkGridShrink() does. Finds the non-base cells from the
+   * bounds each chunk keeps, so this costs one visit per chunk.
+   */
+  private void fitView() {
+    int[] live = {Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE};
+    for (Chunk chunk : chunks.values()) {
+      if (chunk.live > 0) {
+        live[0] = Math.min(live[0], chunk.minX);
+        live[1] = Math.min(live[1], chunk.minY);
+        live[2] = Math.max(live[2], chunk.maxX);
+        live[3] = Math.max(live[3], chunk.maxY);
+      }
+    }
+    if (live[0] > live[2]) {
+      return;
+    }
+    int left = viewLeft - margins(viewLeft + Grid.EDGE_RINGS - live[0]);
+    int top = viewTop - margins(viewTop + Grid.EDGE_RINGS - live[1]);
+    int right = viewLeft + viewWidth
+        + margins(live[2] - (viewLeft + viewWidth - Grid.EDGE_RINGS) + 1);
+    int bottom = viewTop + viewHeight
+        + margins(live[3] - (viewTop + viewHeight - Grid.EDGE_RINGS) + 1);
+    viewLeft = left;
+    viewTop = top;
+    viewWidth = right - left;
+    viewHeight = bottom - top;
+    if (shrinkThreshold <= 0) {
+      return;
+    }
+    int pad = Grid.EDGE_RINGS + margin;
+    int[] columns = Grid.shrinkSpan(live[0] - viewLeft - pad, live[2] - viewLeft + 1 + pad,
+        minWidth, viewWidth);
+    int[] rows = Grid.shrinkSpan(live[1] - viewTop - pad, live[3] - viewTop + 1 + pad,
+        minHeight, viewHeight);
+    if ((long) columns[1] * rows[1] * 100 < (long) shrinkThreshold * viewWidth * viewHeight) {
+      viewLeft += columns[0];
+      viewTop += rows[0];
+      viewWidth = columns[1];
+      viewHeight = rows[1];
+    }
+  }
+
+  /**
+   * Returns how far a side moves to clear overlap cells: overlap rounded up to whole margins.
+   */
+  private int margins(int overlap) {
+    return overlap <= 0 ? 0 : (overlap + margin - 1) / margin * margin;
+  }
+
+  /**
+   * Makes sure that every non-base cell on the edge of a chunk has the chunk across that edge
+   * allocated, so the cells it can affect next generation exist.
+   */
+  private void growAtEdges() {
+    List<int[]> needed = new ArrayList<>();
+    int last = chunkSize - 1;
+    for (Chunk chunk : chunks.values()) {
+      if (chunk.live == 0) {
+        continue;
+      }
+      for (int dy = -1; dy <= 1; dy++) {
+        for (int dx = -1; dx <= 1; dx++) {
+          int column = dx < 0 ? 0 : dx > 0 ? last : ANY;
+          int row = dy < 0 ? 0 : dy > 0 ? last : ANY;
+          if ((dx != 0 || dy != 0) && !chunks.containsKey(key(chunk.cx + dx, chunk.cy + dy))
+              && hasLiveEdge(chunk, column, row)) {
+            needed.add(new int[]{chunk.cx + dx, chunk.cy + dy});
+          }
+        }
+      }
+    }
+    for (int[] position : needed) {
+      getOrCreate(position[0], position[1]);
+    }
+  }
+
+  /**
+   * Returns whether chunk has a non-base cell in the given column and row, where ANY stands for
+   * the whole row or column. Two fixed values check a single corner cell.
+   */
+  private boolean hasLiveEdge(Chunk chunk, int column, int row) {
+    if (column != ANY && row != ANY) {
+      return chunk.buffer.getState(row * chunkSize + column) != baseState;
+    }
+    for (int i = 0; i < chunkSize; i++) {
+      int x = column == ANY ? i : column;
+      int y = row == ANY ? i : row;
+      if (chunk.buffer.getState(y * chunkSize + x) != baseState) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Prepares every cell of chunk, reading neighbors across chunk edges from the linked chunks,
+   * and counts the non-base cells of the next generation.
+   */
+  private void prepareChunk(Chunk chunk, int[] scratch) {
+    int nextLive = 0;
+    chunk.clearNextBounds();
+    for (int y = 0; y < chunkSize; y++) {
+      for (int x = 0; x < chunkSize; x++) {
+        for (int k = 0; k < steps.length; k++) {
+          scratch[k] = readNeighbor(chunk, x + steps[k][0], y + steps[k][1]);
+        }
+        int index = y * chunkSize + x;
+        rule.prepareNextState(index, scratch, steps.length, chunk.buffer);
+        if (chunk.buffer.getNextState(index) != baseState) {
+          nextLive++;
+          chunk.includeNext(x, y);
+        }
+      }
+    }
+    chunk.nextLive = nextLive;
+  }
+
+  /**
+   * Reads a cell given in chunk local coordinates that may lie one cell past any edge.
+   */
+  private int readNeighbor(Chunk chunk, int x, int y) {
+    int column = x < 0 ? 0 : x >= chunkSize ? 2 : 1;
+    int row = y < 0 ? 0 : y >= chunkSize ? 2 : 1;
+    Chunk owner = chunk.around[row * 3 + column];
+    if (owner == null) {
+      return baseState;
+    }
+    return owner.buffer.getState(Math.floorMod(y, chunkSize) * chunkSize
+        + Math.floorMod(x, chunkSize));
+  }
+
+  private void linkNeighbors(Chunk chunk) {
+    for (int dy = -1; dy <= 1; dy++) {
+      for (int dx = -1; dx <= 1; dx++) {
+        chunk.around[(dy + 1) * 3 + dx + 1] = chunks.get(key(chunk.cx + dx, chunk.cy + dy));
+      }
+    }
+  }
+
+  private Chunk getOrCreate(int cx, int cy) {
+    return chunks.computeIfAbsent(key(cx, cy), k -> new Chunk(cx, cy, chunkSize, baseState));
+  }
+
+  private int localIndex(int x, int y) {
+    return Math.floorMod(y, chunkSize) * chunkSize + Math.floorMod(x, chunkSize);
+  }
+
+  private static long key(int cx, int cy) {
+    return ((long) cx << Integer.SIZE) | (cy & 0xffffffffL);
+  }
+
+  /**
+   * Returns the random stream of the cell at (x, y) of the plane. Dense infinite grids draw from
+   * the same streams, so both give the same numbers to a cell however the grid has grown.
+   *
+   * @param x column, with the top left cell of the XML grid at 0
+   * @param y row, with the top left cell of the XML grid at 0
+   * @return long stream
+   */
+  public static long planeStream(int x, int y) {
+    return key(x, y);
+  }
+
+  /**
+   * Square block of cells with its own state buffer, links to the eight chunks around it and the
+   * bounding box, in plane coordinates, of its non-base cells. Each cell draws random numbers from
+   * a stream packing its column and row in the whole plane, so a chunk that is dropped and
+   * allocated again gives its cells the same numbers.
+   */
+  private static class Chunk {
+
+    private final int cx;
+    private final int cy;
+    private final StateBuffer buffer;
+    private final Chunk[] around = new Chunk[9];
+    private final int chunkSize;
+    private int live;
+    private int nextLive;
+    private int quiet;
+    private int minX = Integer.MAX_VALUE;
+    private int minY = Integer.MAX_VALUE;
+    private int maxX = Integer.MIN_VALUE;
+    private int maxY = Integer.MIN_VALUE;
+    private int nextMinX;
+    private int nextMinY;
+    private int nextMaxX;
+    private int nextMaxY;
+
+    Chunk(int cx, int cy, int chunkSize, int baseState) {
+      this.cx = cx;
+      this.cy = cy;
+      this.chunkSize = chunkSize;
+      int[] states = new int[chunkSize * chunkSize];
+      Arrays.fill(states, baseState);
+      this.buffer = new StateBuffer(states, 0, 0);
+      long[] streams = new long[states.length];
+      for (int i = 0; i < streams.length; i++) {
+        streams[i] = planeStream(cx * chunkSize + i % chunkSize, cy * chunkSize + i / chunkSize);
+      }
+      buffer.setStreams(streams);
+    }
+
+    /**
+     * Widens the bounding box to the cell at plane coordinates (x, y).
+     */
+    void include(int x, int y) {
+      minX = Math.min(minX, x);
+      minY = Math.min(minY, y);
+      maxX = Math.max(maxX, x);
+      maxY = Math.max(maxY, y);
+    }
+
+    void clearNextBounds() {
+      nextMinX = Integer.MAX_VALUE;
+      nextMinY = Integer.MAX_VALUE;
+      nextMaxX = Integer.MIN_VALUE;
+      nextMaxY = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Widens next generation's bounding box to the cell at chunk local coordinates (x, y).
+     */
+    void includeNext(int x, int y) {
+      nextMinX = Math.min(nextMinX, cx * chunkSize + x);
+      nextMinY = Math.min(nextMinY, cy * chunkSize + y);
+      nextMaxX = Math.max(nextMaxX, cx * chunkSize + x);
+      nextMaxY = Math.max(nextMaxY, cy * chunkSize + y);
+    }
+
+    void pushBounds() {
+      minX = nextMinX;
+      minY = nextMinY;
+      maxX = nextMaxX;
+      maxY = nextMaxY;
+    }
+
+    /**
+     * Returns whether this chunk or any linked chunk holds a non-base cell.
+     */
+    boolean hasLiveNeighborhood() {
+      for (Chunk chunk : around) {
+        if (chunk != null && chunk.live > 0) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
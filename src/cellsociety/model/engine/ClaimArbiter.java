@@ -0,0 +1,208 @@
+package cellsociety.model.engine;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Resolves the moves of one generation in parallel. Instead of handing movers to receiveUpdate()
+ * one at a time, every mover claims a target cell in rounds. Each target keeps only the claim with
+ * the highest priority, and the priority comes from a hash of the seed, generation, round and
+ * mover, so the winner never depends on which thread got there first. Winners try to move; movers
+ * that are turned down go on to their next potential move, and movers that lost a claim try the
+ * same target again next round. A mover that runs out of potential moves is offered back to its
+ * own index, matching Grid.moveCell().
+ * Assumptions: findPotentialMoves() only reads, and receiveUpdate() only writes the target it was
+ * given, so different targets can be updated at the same time.
+ * Dependencies: ParallelSweep, SimulationRandom, java.util.concurrent.atomic.AtomicLongArray
+ * Example:
+ * '''
+ * ClaimArbiter arbiter = new ClaimArbiter(seed);
+ * arbiter.resolve(movers, moverCount, size, maxPlaces, generation, handler);
+ * '''
+ */
+public class ClaimArbiter {
+
+  /**
+   * Finds and accepts moves for the arbiter.
+   */
+  public interface MoveHandler {
+
+    /**
+     * Fills places with the indexes a mover may move to.
+     *
+     * @param mover index of the moving cell
+     * @param places array to fill
+     * @return number of indexes written to places
+     */
+    int findPotentialMoves(int mover, int[] places);
+
+    /**
+     * Tries to move the cell at mover into target.
+     *
+     * @param target index receiving the move
+     * @param mover index of the moving cell
+     * @return true if target accepted the move
+     */
+    boolean receiveUpdate(int target, int mover);
+  }
+
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  private static final long EMPTY_CLAIM = 0;
+
+  private final long seed;
+  private final ThreadLocal<int[]> localPlaces = new ThreadLocal<>();
+  private AtomicLongArray claims = new AtomicLongArray(0);
+  private int[] active = new int[0];
+  private int[] targets = new int[0];
+  private int[] positions = new int[0];
+  private boolean[] exhausted = new boolean[0];
+  private boolean[] done = new boolean[0];
+
+  /**
+   * Constructor.
+   *
+   * @param seed decides every priority and move order, together with the generation
+   */
+  public ClaimArbiter(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Moves every mover of one generation.
+   *
+   * @param movers indexes of the cells that want to move
+   * @param moverCount number of valid entries in movers
+   * @param size number of cells in the grid
+   * @param maxPlaces most indexes findPotentialMoves() will ever write
+   * @param generation generation counter, so each generation gets fresh priorities
+   * @param handler finds and accepts moves
+   */
+  public void resolve(int[] movers, int moverCount, int size, int maxPlaces, long generation,
+      MoveHandler handler) {
+    allocate(moverCount, size);
+    for (int slot = 0; slot < moverCount; slot++) {
+      active[slot] = slot;
+      positions[slot] = 0;
+    }
+
+    int activeCount = moverCount;
+    long round = 0;
+    while (activeCount > 0) {
+      long roundSeed = SimulationRandom.mix(
+          seed ^ SimulationRandom.mix(generation * GOLDEN_GAMMA + round));
+      ParallelSweep.run(activeCount, (from, to) -> {
+        int[] places = getLocalPlaces(maxPlaces);
+        for (int k = from; k < to; k++) {
+          claim(active[k], movers, generation, roundSeed, places, handler);
+        }
+      });
+      ParallelSweep.run(activeCount, (from, to) -> {
+        for (int k = from; k < to; k++) {
+          settle(active[k], movers, roundSeed, handler);
+        }
+      });
+      ParallelSweep.run(activeCount, (from, to) -> {
+        for (int k = from; k < to; k++) {
+          claims.set(targets[active[k]], EMPTY_CLAIM);
+        }
+      });
+      activeCount = compact(activeCount);
+      round++;
+    }
+  }
+
+  /**
+   * Picks the current target of a mover and claims it, keeping the higher priority claim.
+   */
+  private void claim(int slot, int[] movers, long generation, long roundSeed, int[] places,
+      MoveHandler handler) {
+    int mover = movers[slot];
+    int count = handler.findPotentialMoves(mover, places);
+    int position = positions[slot];
+    exhausted[slot] = position >= count;
+    targets[slot] = exhausted[slot] ? mover
+        : pickPlace(places, count, position,
+            SimulationRandom.mix(seed ^ SimulationRandom.mix(generation * GOLDEN_GAMMA ^ mover)));
+
+    long key = claimKey(mover, roundSeed);
+    int target = targets[slot];
+    long current = claims.get(target);
+    while (current < key && !claims.compareAndSet(target, current, key)) {
+      current = claims.get(target);
+    }
+  }
+
+  /**
+   * Lets a mover that won its claim try to move. Movers that lost wait for the next round.
+   */
+  private void settle(int slot, int[] movers, long roundSeed, MoveHandler handler) {
+    int mover = movers[slot];
+    if (claims.get(targets[slot]) != claimKey(mover, roundSeed)) {
+      done[slot] = false;
+      return;
+    }
+    boolean accepted = handler.receiveUpdate(targets[slot], mover);
+    done[slot] = accepted || exhausted[slot];
+    if (!done[slot]) {
+      positions[slot]++;
+    }
+  }
+
+  /**
+   * Returns the place at position of a seeded Fisher-Yates shuffle of places. Only the first
+   * position + 1 swaps are done, so the order a mover tries its places in is the same every round.
+   */
+  private int pickPlace(int[] places, int count, int position, long moverSeed) {
+    for (int i = 0; i <= position; i++) {
+      long draw = SimulationRandom.mix(moverSeed + i * GOLDEN_GAMMA);
+      int j = i + (int) Math.floorMod(draw, (long) (count - i));
+      int temp = places[j];
+      places[j] = places[i];
+      places[i] = temp;
+    }
+    return places[position];
+  }
+
+  /**
+   * Packs a positive, never empty priority into the high bits and the mover into the low bits, so
+   * a larger key always means a higher priority and ties cannot happen.
+   */
+  private long claimKey(int mover, long roundSeed) {
+    long priority = (SimulationRandom.mix(roundSeed ^ mover * GOLDEN_GAMMA) >>> 34) | 1L;
+    return priority << 32 | (mover & 0xffffffffL);
+  }
+
+  /**
+   * Removes finished movers from active, keeping the remaining ones in order.
+   */
+  private int compact(int activeCount) {
+    int kept = 0;
+    for (int k = 0; k < activeCount; k++) {
+      if (!done[active[k]]) {
+        active[kept++] = active[k];
+      }
+    }
+    return kept;
+  }
+
+  private int[] getLocalPlaces(int maxPlaces) {
+    int[] places = localPlaces.get();
+    if (places == null || places.length < maxPlaces) {
+      places = new int[maxPlaces];
+      localPlaces.set(places);
+    }
+    return places;
+  }
+
+  private void allocate(int moverCount, int size) {
+    if (claims.length() < size) {
+      claims = new AtomicLongArray(size);
+    }
+    if (active.length < moverCount) {
+      active = new int[moverCount];
+      targets = new int[moverCount];
+      positions = new int[moverCount];
+      exhausted = new boolean[moverCount];
+      done = new boolean[moverCount];
+    }
+  }
+}
@@ -0,0 +1,85 @@
+package cellsociety.model.engine;
+
+import java.util.Arrays;
+
+/**
+ * Set of cell indexes that can be added to, removed from and sampled at random in O(1). Members
+ * are packed at the front of an array, and a second array remembers where each index sits, so a
+ * removal moves the last member into the hole instead of shifting the rest.
+ * Assumptions: indexes are between 0 and the capacity given to the constructor.
+ * Dependencies: java.util.Arrays
+ * Example:
+ * '''
+ * IndexedSet set = new IndexedSet(size);
+ * set.add(index);
+ * int picked = set.get(random.nextInt(set.size()));
+ * set.remove(picked);
+ * '''
+ */
+public class IndexedSet {
+
+  private static final int ABSENT = -1;
+
+  private final int[] members;
+  private final int[] positions;
+  private int size;
+
+  /**
+   * Constructor. Starts empty.
+   *
+   * @param capacity one more than the largest index the set will hold
+   */
+  public IndexedSet(int capacity) {
+    this.members = new int[capacity];
+    this.positions = new int[capacity];
+    Arrays.fill(positions, ABSENT);
+  }
+
+  /**
+   * Returns number of members.
+   *
+   * @return int size
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns the member at position k. Positions change whenever a member is removed.
+   *
+   * @param k position, below size()
+   * @return index stored there
+   */
+  public int get(int k) {
+    return members[k];
+  }
+
+  /**
+   * Adds index unless it is already a member.
+   *
+   * @param index cell index
+   */
+  public void add(int index) {
+    if (positions[index] != ABSENT) {
+      return;
+    }
+    positions[index] = size;
+    members[size++] = index;
+  }
+
+  /**
+   * Removes index if it is a member, moving the last member into its place.
+   *
+   * @param index cell index
+   */
+  public void remove(int index) {
+    int position = positions[index];
+    if (position == ABSENT) {
+      return;
+    }
+    int last = members[--size];
+    members[position] = last;
+    positions[last] = position;
+    positions[index] = ABSENT;
+  }
+}
@@ -0,0 +1,192 @@
+package cellsociety.model.engine;
+
+/**
+ * Keeps the bounding box of the non-base cells of a grid up to date as cell states change. Every
+ * row and column counts its non-base cells, so marking one cell costs O(1): a new non-base cell
+ * widens the box at once, and a side whose last non-base cell turned base is only pulled in the
+ * next time the box is read, walking inward over rows or columns that are now empty. The number
+ * of non-base cells within band cells of each edge is counted the same way, so whether an
+ * infinite grid has to grow is known without looking at its edges.
+ * Assumptions: cells are indexed row by row and every cell starts out base.
+ * Dependencies: None.
+ * Example:
+ * '''
+ * LiveBounds bounds = new LiveBounds(width, height, 2);
+ * bounds.set(index, state != baseState);
+ * boolean growLeft = bounds.getBandCount(LiveBounds.LEFT) > 0;
+ * '''
+ */
+public class LiveBounds {
+
+  public static final int TOP = 0;
+  public static final int BOTTOM = 1;
+  public static final int LEFT = 2;
+  public static final int RIGHT = 3;
+
+  private final int width;
+  private final int height;
+  private final int band;
+  private final int[] bandCounts = new int[4];
+  private final boolean[] live;
+  private final int[] rowCounts;
+  private final int[] columnCounts;
+  private int count;
+  private int left;
+  private int top;
+  private int right;
+  private int bottom;
+  private boolean loose;
+
+  /**
+   * Constructor. Starts with every cell base and an empty box.
+   *
+   * @param width grid width
+   * @param height grid height
+   * @param band width of the edge bands to count, in cells
+   */
+  public LiveBounds(int width, int height, int band) {
+    this.width = width;
+    this.height = height;
+    this.band = band;
+    this.live = new boolean[width * height];
+    this.rowCounts = new int[height];
+    this.columnCounts = new int[width];
+  }
+
+  /**
+   * Records whether the cell at index holds a non-base state.
+   *
+   * @param index cell index in row major order
+   * @param nonBase true if the cell is not in the base state
+   */
+  public void set(int index, boolean nonBase) {
+    if (live[index] == nonBase) {
+      return;
+    }
+    live[index] = nonBase;
+    int x = index % width;
+    int y = index / width;
+    countBands(x, y, nonBase ? 1 : -1);
+    if (nonBase) {
+      if (count == 0) {
+        left = x;
+        right = x;
+        top = y;
+        bottom = y;
+        loose = false;
+      } else {
+        left = Math.min(left, x);
+        right = Math.max(right, x);
+        top = Math.min(top, y);
+        bottom = Math.max(bottom, y);
+      }
+      rowCounts[y]++;
+      columnCounts[x]++;
+      count++;
+    } else {
+      rowCounts[y]--;
+      columnCounts[x]--;
+      count--;
+      loose = true;
+    }
+  }
+
+  /**
+   * Returns number of non-base cells.
+   *
+   * @return int count
+   */
+  public int getCount() {
+    return count;
+  }
+
+  /**
+   * Returns number of non-base cells within band cells of one edge.
+   *
+   * @param side TOP, BOTTOM, LEFT or RIGHT
+   * @return int count
+   */
+  public int getBandCount(int side) {
+    return bandCounts[side];
+  }
+
+  /**
+   * Returns first column holding a non-base cell. Only meaningful while getCount() is positive.
+   *
+   * @return int column
+   */
+  public int getLeft() {
+    tighten();
+    return left;
+  }
+
+  /**
+   * Returns first row holding a non-base cell. Only meaningful while getCount() is positive.
+   *
+   * @return int row
+   */
+  public int getTop() {
+    tighten();
+    return top;
+  }
+
+  /**
+   * Returns last column holding a non-base cell. Only meaningful while getCount() is positive.
+   *
+   * @return int column
+   */
+  public int getRight() {
+    tighten();
+    return right;
+  }
+
+  /**
+   * Returns last row holding a non-base cell. Only meaningful while getCount() is positive.
+   *
+   * @return int row
+   */
+  public int getBottom() {
+    tighten();
+    return bottom;
+  }
+
+  /**
+   * Adds change to the count of every edge band holding (x, y).
+   */
+  private void countBands(int x, int y, int change) {
+    if (y < band) {
+      bandCounts[TOP] += change;
+    }
+    if (y >= height - band) {
+      bandCounts[BOTTOM] += change;
+    }
+    if (x < band) {
+      bandCounts[LEFT] += change;
+    }
+    if (x >= width - band) {
+      bandCounts[RIGHT] += change;
+    }
+  }
+
+  /**
+   * Pulls each side of the box inward past rows and columns that no longer hold a non-base cell.
+   */
+  private void tighten() {
+    if (!loose || count == 0) {
+      return;
+    }
+    while (columnCounts[left] == 0) {
+      left++;
+    }
+    while (columnCounts[right] == 0) {
+      right--;
+    }
+    while (rowCounts[top] == 0) {
+      top++;
+    }
+    while (rowCounts[bottom] == 0) {
+      bottom--;
+    }
+    loose = false;
+  }
+}
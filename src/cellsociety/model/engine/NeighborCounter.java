@@ -0,0 +1,218 @@
+package cellsociety.model.engine;
+
+/**
+ * Counts, for every cell of a row of a square grid, how many of its neighbors are in each state.
+ * Rules that only need those counts (Game of Life, Rock Paper Scissors, Segregation, Fire) can
+ * then be prepared a whole row at a time instead of gathering each cell's neighbor states one by
+ * one. Handles the eight neighbor and four neighbor square neighborhoods of bounded and wrapping
+ * grids. Cells away from the left and right edges are counted by countSpan(), which
+ * VectorNeighborCounter overrides with SIMD kernels; edge cells are always counted here.
+ * Assumptions: cells are indexed row by row and the topology was built by GridHelper for a square
+ * grid. create() checks every cell's neighbors against the offsets it will count.
+ * Dependencies: NeighborTopology, VectorNeighborCounter (loaded only when asked for)
+ * Example:
+ * '''
+ * NeighborCounter counter = NeighborCounter.create(width, height, false, topology, 2, true);
+ * counter.countRow(buffer.getStates(), y, counts);
+ * int liveNeighbors = counts[1][x];
+ * '''
+ */
+public class NeighborCounter {
+
+  private static final String VECTOR_COUNTER = "cellsociety.model.engine.VectorNeighborCounter";
+  private static final int[][] MOORE = {{-1, -1}, {0, -1}, {1, -1}, {-1, 0}, {1, 0}, {-1, 1},
+      {0, 1}, {1, 1}};
+  private static final int[][] VON_NEUMANN = {{0, -1}, {-1, 0}, {1, 0}, {0, 1}};
+  private static final int MIN_SIDE = 3;
+
+  protected final int width;
+  protected final int height;
+  protected final boolean moore;
+  private final boolean wrapping;
+  private final int stateCount;
+
+  /**
+   * Constructor. Use create(), which checks the neighborhood first.
+   *
+   * @param width grid width
+   * @param height grid height
+   * @param wrapping true if neighborhoods wrap around the edges of the grid
+   * @param moore true for eight neighbors, false for four
+   * @param stateCount number of states to count, from 0
+   */
+  protected NeighborCounter(int width, int height, boolean wrapping, boolean moore,
+      int stateCount) {
+    this.width = width;
+    this.height = height;
+    this.wrapping = wrapping;
+    this.moore = moore;
+    this.stateCount = stateCount;
+  }
+
+  /**
+   * Returns a counter for the grid, or null if some cell's neighbors are not exactly the eight or
+   * four cells around it, or the grid is too small to tell them apart. With vector true the SIMD
+   * counter is used when the jdk.incubator.vector module is present, and this scalar one
+   * otherwise. Both give the same counts.
+   *
+   * @param width grid width
+   * @param height grid height
+   * @param wrapping true if neighborhoods wrap around the edges of the grid
+   * @param topology neighbor indexes of every cell
+   * @param stateCount number of states to count, from 0
+   * @param vector whether to try the SIMD counter
+   * @return counter, or null if the grid cannot be counted by rows
+   */
+  public static NeighborCounter create(int width, int height, boolean wrapping,
+      NeighborTopology topology, int stateCount, boolean vector) {
+    if (width < MIN_SIDE || height < MIN_SIDE || topology.getMaxNeighborCount() == 0) {
+      return null;
+    }
+    boolean moore = topology.getMaxNeighborCount() == MOORE.length;
+    if (!matches(width, height, wrapping, moore ? MOORE : VON_NEUMANN, topology)) {
+      return null;
+    }
+    if (vector) {
+      try {
+        return (NeighborCounter) Class.forName(VECTOR_COUNTER)
+            .getDeclaredConstructor(int.class, int.class, boolean.class, boolean.class, int.class)
+            .newInstance(width, height, wrapping, moore, stateCount);
+      } catch (ReflectiveOperationException | LinkageError e) {
+        // jdk.incubator.vector is not available, count with the scalar loops instead
+      }
+    }
+    return new NeighborCounter(width, height, wrapping, moore, stateCount);
+  }
+
+  /**
+   * Returns whether the neighbors of every cell are exactly the cells at offsets from it.
+   */
+  private static boolean matches(int width, int height, boolean wrapping, int[][] offsets,
+      NeighborTopology topology) {
+    int[] stamps = new int[width * height];
+    for (int index = 0; index < width * height; index++) {
+      int x = index % width;
+      int y = index / width;
+      int expected = 0;
+      for (int[] offset : offsets) {
+        int neighbor = locate(x + offset[0], y + offset[1], width, height, wrapping);
+        if (neighbor >= 0) {
+          stamps[neighbor] = index + 1;
+          expected++;
+        }
+      }
+      if (topology.getNeighborCount(index) != expected) {
+        return false;
+      }
+      for (int k = 0; k < expected; k++) {
+        if (stamps[topology.getNeighbor(index, k)] != index + 1) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static int locate(int x, int y, int width, int height, boolean wrapping) {
+    if (wrapping) {
+      return Math.floorMod(y, height) * width + Math.floorMod(x, width);
+    }
+    return x < 0 || y < 0 || x >= width || y >= height ? -1 : y * width + x;
+  }
+
+  /**
+   * Returns number of states counted.
+   *
+   * @return int count
+   */
+  public int getStateCount() {
+    return stateCount;
+  }
+
+  /**
+   * Returns grid width, the length of each row of counts.
+   *
+   * @return int width
+   */
+  public int getWidth() {
+    return width;
+  }
+
+  /**
+   * Fills counts[state][x] with the number of neighbors of cell (x, y) in state, for every state
+   * and every cell of row y.
+   *
+   * @param states current state of every cell
+   * @param y row to count
+   * @param counts one array of at least width entries per state
+   */
+  public void countRow(int[] states, int y, int[][] counts) {
+    int above = y > 0 ? y - 1 : wrapping ? height - 1 : -1;
+    int below = y < height - 1 ? y + 1 : wrapping ? 0 : -1;
+    for (int state = 0; state < stateCount; state++) {
+      int[] out = counts[state];
+      countSpan(states, y, above, below, state, out, 1, width - 1);
+      out[0] = countCell(states, 0, y, state);
+      out[width - 1] = countCell(states, width - 1, y, state);
+    }
+  }
+
+  /**
+   * Counts neighbors in state for the cells of row y from (inclusive) to (exclusive), none of
+   * which is in the first or last column, so their neighbors in the same rows are plain array
+   * neighbors.
+   *
+   * @param states current state of every cell
+   * @param y row being counted
+   * @param above row above y, or -1 if there is none
+   * @param below row below y, or -1 if there is none
+   * @param state state to count
+   * @param out counts of row y, indexed by column
+   * @param from first column, at least 1
+   * @param to one past the last column, at most width - 1
+   */
+  protected void countSpan(int[] states, int y, int above, int below, int state, int[] out,
+      int from, int to) {
+    int row = y * width;
+    for (int x = from; x < to; x++) {
+      int count = equal(states[row + x - 1], state) + equal(states[row + x + 1], state);
+      if (above >= 0) {
+        count += rowCount(states, above * width + x, state);
+      }
+      if (below >= 0) {
+        count += rowCount(states, below * width + x, state);
+      }
+      out[x] = count;
+    }
+  }
+
+  /**
+   * Counts the neighbors in state of cell at index found in another row: the cell straight above
+   * or below, and with eight neighbors the two beside it as well.
+   */
+  private int rowCount(int[] states, int index, int state) {
+    int count = equal(states[index], state);
+    if (moore) {
+      count += equal(states[index - 1], state) + equal(states[index + 1], state);
+    }
+    return count;
+  }
+
+  /**
+   * Counts the neighbors in state of one cell, looking up each offset on its own.
+   */
+  private int countCell(int[] states, int x, int y, int state) {
+    int count = 0;
+    for (int[] offset : moore ? MOORE : VON_NEUMANN) {
+      int neighbor = locate(x + offset[0], y + offset[1], width, height, wrapping);
+      if (neighbor >= 0) {
+        count += equal(states[neighbor], state);
+      }
+    }
+    return count;
+  }
+
+  private static int equal(int value, int state) {
+    return value == state ? 1 : 0;
+  }
+}
@@ -0,0 +1,141 @@
+package cellsociety.model.engine;
+
+import java.util.Arrays;
+
+/**
+ * Stores the neighbors of every cell in compressed sparse row form: one flat array holding every
+ * neighbor index, and one offsets array where the neighbors of cell i sit between offsets[i] and
+ * offsets[i + 1]. Replaces a map from cell to its own small neighbor array, so looking up
+ * neighbors is two array reads with no hashing.
+ * Assumptions: Topology never changes after it is built, so one instance may be shared by every
+ * grid with the same shape, grid type, size and neighborhood.
+ * Dependencies: java.util.Arrays
+ * Example:
+ * '''
+ * NeighborTopology topology = NeighborTopology.build(width * height, this::findNeighbors);
+ * int first = topology.getNeighbor(index, 0);
+ * '''
+ */
+public class NeighborTopology {
+
+  private final int[] offsets;
+  private final int[] indexes;
+  private final int maxNeighborCount;
+
+  /**
+   * Finds the neighbors of one cell. Used while building the topology.
+   */
+  public interface NeighborFinder {
+
+    /**
+     * Returns neighboring indexes of one cell.
+     *
+     * @param index center index
+     * @return neighboring indexes
+     * @throws Exception neighborhood size is inconsistent or shape is invalid
+     */
+    int[] findNeighbors(int index) throws Exception;
+  }
+
+  /**
+   * Constructor. Takes ownership of both arrays.
+   *
+   * @param offsets start of each cell's neighbors in indexes, with one extra trailing entry
+   * @param indexes every neighbor index, grouped by cell
+   */
+  public NeighborTopology(int[] offsets, int[] indexes) {
+    this.offsets = offsets;
+    this.indexes = indexes;
+    int max = 0;
+    for (int i = 0; i < offsets.length - 1; i++) {
+      max = Math.max(max, offsets[i + 1] - offsets[i]);
+    }
+    this.maxNeighborCount = max;
+  }
+
+  /**
+   * Builds a topology by asking finder for the neighbors of each cell in order.
+   *
+   * @param size number of cells
+   * @param finder finds neighbors of one cell
+   * @return topology of every cell
+   * @throws Exception when finder fails
+   */
+  public static NeighborTopology build(int size, NeighborFinder finder) throws Exception {
+    int[] offsets = new int[size + 1];
+    int[] indexes = new int[size * 4];
+    int count = 0;
+    for (int i = 0; i < size; i++) {
+      int[] neighbors = finder.findNeighbors(i);
+      if (count + neighbors.length > indexes.length) {
+        indexes = Arrays.copyOf(indexes, Math.max(indexes.length * 2, count + neighbors.length));
+      }
+      System.arraycopy(neighbors, 0, indexes, count, neighbors.length);
+      count += neighbors.length;
+      offsets[i + 1] = count;
+    }
+    return new NeighborTopology(offsets, Arrays.copyOf(indexes, count));
+  }
+
+  /**
+   * Returns number of cells.
+   *
+   * @return int size
+   */
+  public int size() {
+    return offsets.length - 1;
+  }
+
+  /**
+   * Returns number of neighbors of a cell.
+   *
+   * @param index center index
+   * @return int neighbor count
+   */
+  public int getNeighborCount(int index) {
+    return offsets[index + 1] - offsets[index];
+  }
+
+  /**
+   * Returns the largest neighbor count of any cell.
+   *
+   * @return int max neighbor count
+   */
+  public int getMaxNeighborCount() {
+    return maxNeighborCount;
+  }
+
+  /**
+   * Returns one neighbor of a cell.
+   *
+   * @param index center index
+   * @param k which neighbor, from 0 to getNeighborCount(index) - 1
+   * @return neighboring index
+   */
+  public int getNeighbor(int index, int k) {
+    return indexes[offsets[index] + k];
+  }
+
+  /**
+   * Copies the neighbors of a cell into out.
+   *
+   * @param index center index
+   * @param out array at least getNeighborCount(index) long
+   * @return number of neighbors copied
+   */
+  public int copyNeighbors(int index, int[] out) {
+    int count = getNeighborCount(index);
+    System.arraycopy(indexes, offsets[index], out, 0, count);
+    return count;
+  }
+
+  /**
+   * Returns a new array holding the neighbors of a cell.
+   *
+   * @param index center index
+   * @return neighboring indexes
+   */
+  public int[] getNeighbors(int index) {
+    return Arrays.copyOfRange(indexes, offsets[index], offsets[index + 1]);
+  }
+}
@@ -0,0 +1,120 @@
+package cellsociety.model.engine;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Splits a range of cell indexes into chunks and runs them across the common ForkJoinPool, or
+ * across the pool of the calling task when called from inside a ForkJoinPool, so callers can bound
+ * the number of threads. Used to prepare the next state of every cell in parallel when each cell
+ * only reads its neighbors' current states and writes its own next state, so the chunks never
+ * touch the same data and the result is the same as a sequential sweep.
+ * Assumptions: task is safe to run on disjoint ranges at the same time.
+ * Dependencies: java.util.concurrent.*
+ * Example:
+ * '''
+ * ParallelSweep.run(size, (from, to) -> prepareRange(from, to));
+ * '''
+ */
+public final class ParallelSweep {
+
+  public static final int MIN_CHUNK = 1024;
+
+  /**
+   * Work done on one chunk of the range.
+   */
+  public interface RangeTask {
+
+    /**
+     * Runs the task on indexes from (inclusive) to (exclusive).
+     *
+     * @param from first index
+     * @param to one past the last index
+     */
+    void run(int from, int to);
+  }
+
+  private ParallelSweep() {
+  }
+
+  /**
+   * Returns whether more than one core is available to the common pool.
+   *
+   * @return true if splitting can run chunks at the same time
+   */
+  public static boolean hasSpareCores() {
+    return ForkJoinPool.getCommonPoolParallelism() > 1;
+  }
+
+  /**
+   * Returns whether a range is large enough to be split at all.
+   *
+   * @param size number of indexes
+   * @return true if the range holds more than one chunk
+   */
+  public static boolean isWorthSplitting(int size) {
+    return size > MIN_CHUNK;
+  }
+
+  /**
+   * Runs task on every index from 0 to size, split into chunks of at least MIN_CHUNK indexes.
+   * Returns once every chunk is done.
+   *
+   * @param size number of indexes
+   * @param task work to run on each chunk
+   */
+  public static void run(int size, RangeTask task) {
+    run(size, MIN_CHUNK, task);
+  }
+
+  /**
+   * Runs task on every index from 0 to size, split into chunks of at least minChunk indexes. Used
+   * with a small minChunk when each index is already a large piece of work, such as a tile.
+   *
+   * @param size number of indexes
+   * @param minChunk fewest indexes worth running as one chunk
+   * @param task work to run on each chunk
+   */
+  public static void run(int size, int minChunk, RangeTask task) {
+    if (size <= minChunk) {
+      task.run(0, size);
+      return;
+    }
+    ForkJoinPool pool = ForkJoinTask.inForkJoinPool() ? ForkJoinTask.getPool()
+        : ForkJoinPool.commonPool();
+    int chunks = Math.max(1, pool.getParallelism() * 4);
+    int chunk = Math.max(minChunk, (size + chunks - 1) / chunks);
+    pool.invoke(new Sweep(task, 0, size, chunk));
+  }
+
+  /**
+   * Splits its range in half until it is no bigger than one chunk.
+   */
+  private static class Sweep extends RecursiveAction {
+
+    private static final long serialVersionUID = 1L;
+
+    private final RangeTask task;
+    private final int from;
+    private final int to;
+    private final int chunk;
+
+    Sweep(RangeTask task, int from, int to, int chunk) {
+      this.task = task;
+      this.from = from;
+      this.to = to;
+      this.chunk = chunk;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from <= chunk) {
+        task.run(from, to);
+        return;
+      }
+      int middle = (from + to) >>> 1;
+      invokeAll(new Sweep(task, from, middle, chunk), new Sweep(task, middle, to, chunk));
+    }
+  }
+}
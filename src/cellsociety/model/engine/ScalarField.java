@@ -0,0 +1,163 @@
+package cellsociety.model.engine;
+
+/**
+ * Holds one float per cell, such as a pheromone, in a dense array next to the cells rather than
+ * inside them. Cells add to their own entry while they are prepared, and once a generation the
+ * whole field evaporates and diffuses in a separate pass: every cell keeps (1 - evaporation) of
+ * what it holds and shares diffusion of that equally among its neighbors. The pass only writes
+ * each cell's own entry of a second array, so it can run across several cores, and without
+ * diffusion it is a single multiply over the array that the JIT can vectorize.
+ * Assumptions: neighbor relations are symmetric, so diffusion neither creates nor loses any of the
+ * field. Cells are indexed row by row when the field is resized.
+ * Dependencies: NeighborTopology, ParallelSweep
+ * Example:
+ * '''
+ * ScalarField pheromone = new ScalarField(size);
+ * pheromone.add(index, 1);
+ * pheromone.evaporateAndDiffuse(0.05f, 0.1f, topology, parallel);
+ * '''
+ */
+public class ScalarField {
+
+  private float[] values;
+  private float[] next;
+  private float[] shares;
+
+  /**
+   * Constructor. Starts with every value 0.
+   *
+   * @param size number of cells
+   */
+  public ScalarField(int size) {
+    this.values = new float[size];
+    this.next = new float[size];
+  }
+
+  /**
+   * Returns number of cells in the field.
+   *
+   * @return int size
+   */
+  public int size() {
+    return values.length;
+  }
+
+  /**
+   * Returns the value of one cell.
+   *
+   * @param index cell index
+   * @return float value
+   */
+  public float get(int index) {
+    return values[index];
+  }
+
+  /**
+   * Adds to the value of one cell. Safe to call from many threads as long as each writes its own
+   * index.
+   *
+   * @param index cell index
+   * @param amount amount to add
+   */
+  public void add(int index, float amount) {
+    values[index] += amount;
+  }
+
+  /**
+   * Runs one generation of evaporation and diffusion. Does nothing when both are 0.
+   *
+   * @param evaporation fraction of each value lost, from 0 to 1
+   * @param diffusion fraction of each remaining value shared among the neighbors, from 0 to 1
+   * @param topology neighbor indexes of every cell
+   * @param parallel whether to split the pass across several cores
+   */
+  public void evaporateAndDiffuse(float evaporation, float diffusion, NeighborTopology topology,
+      boolean parallel) {
+    if (evaporation <= 0 && diffusion <= 0) {
+      return;
+    }
+    float keep = 1 - evaporation;
+    if (diffusion <= 0) {
+      if (parallel) {
+        ParallelSweep.run(values.length, (from, to) -> evaporate(keep, from, to));
+      } else {
+        evaporate(keep, 0, values.length);
+      }
+      return;
+    }
+    if (shares == null || shares.length != values.length) {
+      shares = new float[values.length];
+    }
+    if (parallel) {
+      ParallelSweep.run(values.length, (from, to) -> share(diffusion, topology, from, to));
+      ParallelSweep.run(values.length, (from, to) -> diffuse(keep, diffusion, topology, from, to));
+    } else {
+      share(diffusion, topology, 0, values.length);
+      diffuse(keep, diffusion, topology, 0, values.length);
+    }
+    float[] temp = values;
+    values = next;
+    next = temp;
+  }
+
+  /**
+   * Used by evaporateAndDiffuse(). Scales the values from (inclusive) to (exclusive) in place.
+   */
+  private void evaporate(float keep, int from, int to) {
+    float[] field = values;
+    for (int i = from; i < to; i++) {
+      field[i] *= keep;
+    }
+  }
+
+  /**
+   * Used by evaporateAndDiffuse(). Works out how much cells from (inclusive) to (exclusive) give
+   * to each of their neighbors, so the gather pass needs no division.
+   */
+  private void share(float diffusion, NeighborTopology topology, int from, int to) {
+    for (int i = from; i < to; i++) {
+      int neighborCount = topology.getNeighborCount(i);
+      shares[i] = neighborCount > 0 ? values[i] * diffusion / neighborCount : 0;
+    }
+  }
+
+  /**
+   * Used by evaporateAndDiffuse(). Writes the next value of cells from (inclusive) to (exclusive)
+   * by gathering the share each neighbor gives away, so no two cells write the same entry.
+   */
+  private void diffuse(float keep, float diffusion, NeighborTopology topology, int from, int to) {
+    for (int i = from; i < to; i++) {
+      int neighborCount = topology.getNeighborCount(i);
+      float value = neighborCount > 0 ? values[i] * (1 - diffusion) : values[i];
+      for (int k = 0; k < neighborCount; k++) {
+        value += shares[topology.getNeighbor(i, k)];
+      }
+      next[i] = value * keep;
+    }
+  }
+
+  /**
+   * Returns a field for a grid that changed size, with every value moved to the same cell in the
+   * new grid. Values of cells that were cut off are dropped and new cells start at 0.
+   *
+   * @param top rows added above the old grid, negative if rows were removed
+   * @param left columns added left of the old grid, negative if columns were removed
+   * @param oldWidth width of the old grid
+   * @param newWidth width of the new grid
+   * @param newHeight height of the new grid
+   * @return resized field
+   */
+  public ScalarField resize(int top, int left, int oldWidth, int newWidth, int newHeight) {
+    ScalarField resized = new ScalarField(newWidth * newHeight);
+    int oldHeight = values.length / oldWidth;
+    for (int y = Math.max(0, -top); y < Math.min(oldHeight, newHeight - top); y++) {
+      int fromX = Math.max(0, -left);
+      int toX = Math.min(oldWidth, newWidth - left);
+      if (fromX < toX) {
+        System.arraycopy(values, y * oldWidth + fromX, resized.values,
+            (y + top) * newWidth + fromX + left, toX - fromX);
+      }
+    }
+    return resized;
+  }
+}
@@ -0,0 +1,146 @@
+package cellsociety.model.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seeded random numbers for a whole simulation. Nothing is stored per draw: every number is a
+ * hash of the seed, the generation, a stream and a draw number, where the stream is usually the
+ * index of the cell drawing and the draw number tells apart the draws one cell makes in one
+ * generation. A cell therefore gets the same numbers whichever thread prepares it, in whatever
+ * order, and whether or not other cells were skipped, so runs with the same seed are identical
+ * on any number of cores and no cell needs a generator of its own.
+ * Assumptions: setGeneration() is only called between passes, never while cells are drawing.
+ * Callers use draw numbers from 0; negative draw numbers are kept for shuffle() and split().
+ * Dependencies: java.util.SplittableRandom
+ * Example:
+ * '''
+ * SimulationRandom random = new SimulationRandom(seed);
+ * random.setGeneration(generation);
+ * boolean catches = random.nextDouble(index, 0) >= catchThreshold;
+ * '''
+ */
+public class SimulationRandom {
+
+  /**
+   * Stream for draws made for the grid as a whole rather than for one cell. No cell index is
+   * this negative.
+   */
+  public static final long GRID_STREAM = Long.MIN_VALUE;
+  private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+  private static final int SPLIT_DRAW = -1;
+  private static final int FIRST_SHUFFLE_DRAW = -2;
+  private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+  private final long seed;
+  private long generation;
+
+  /**
+   * Constructor. Starts at generation 0.
+   *
+   * @param seed decides every number drawn
+   */
+  public SimulationRandom(long seed) {
+    this.seed = seed;
+  }
+
+  /**
+   * Returns the seed every number is drawn from.
+   *
+   * @return long seed
+   */
+  public long getSeed() {
+    return seed;
+  }
+
+  /**
+   * Returns generation the next draws belong to.
+   *
+   * @return long generation
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Sets generation the next draws belong to, so each generation gets fresh numbers.
+   *
+   * @param generation generation counter of the grid or engine
+   */
+  public void setGeneration(long generation) {
+    this.generation = generation;
+  }
+
+  /**
+   * Returns 64 random bits for one draw of one stream in the current generation.
+   *
+   * @param stream cell index, or GRID_STREAM
+   * @param draw which of the stream's draws this is
+   * @return long random bits
+   */
+  public long nextLong(long stream, int draw) {
+    long streamKey = mix(seed ^ mix(generation * GOLDEN_GAMMA + stream));
+    return mix(streamKey + (draw + 1L) * GOLDEN_GAMMA);
+  }
+
+  /**
+   * Returns a random double from 0 (inclusive) to 1 (exclusive).
+   *
+   * @param stream cell index, or GRID_STREAM
+   * @param draw which of the stream's draws this is
+   * @return double random value
+   */
+  public double nextDouble(long stream, int draw) {
+    return (nextLong(stream, draw) >>> 11) * DOUBLE_UNIT;
+  }
+
+  /**
+   * Returns a random int from 0 (inclusive) to bound (exclusive).
+   *
+   * @param stream cell index, or GRID_STREAM
+   * @param draw which of the stream's draws this is
+   * @param bound number of possible values, at least 1
+   * @return int random value
+   */
+  public int nextInt(long stream, int draw, int bound) {
+    return (int) (((nextLong(stream, draw) >>> 32) * bound) >>> 32);
+  }
+
+  /**
+   * Puts the first count values in random order, with a Fisher-Yates shuffle drawn from stream.
+   *
+   * @param values array to shuffle in place
+   * @param count number of values to shuffle
+   * @param stream cell index, or GRID_STREAM
+   */
+  public void shuffle(int[] values, int count, long stream) {
+    for (int i = count - 1; i > 0; i--) {
+      int j = nextInt(stream, FIRST_SHUFFLE_DRAW - i, i + 1);
+      int temp = values[j];
+      values[j] = values[i];
+      values[i] = temp;
+    }
+  }
+
+  /**
+   * Returns a sequential generator seeded from one stream of the current generation, for code
+   * that makes an unknown number of draws in a fixed order.
+   *
+   * @param stream cell index, or GRID_STREAM
+   * @return generator that only depends on the seed, generation and stream
+   */
+  public SplittableRandom split(long stream) {
+    return new SplittableRandom(nextLong(stream, SPLIT_DRAW));
+  }
+
+  /**
+   * SplitMix64 finalizer. Spreads every bit of z over the whole result.
+   *
+   * @param z value to mix
+   * @return mixed value
+   */
+  public static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+    z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+    return z ^ (z >>> 31);
+  }
+}
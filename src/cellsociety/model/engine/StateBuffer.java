@@ -0,0 +1,249 @@
+package cellsociety.model.engine;
+
+import cellsociety.model.Cell;
+import java.util.Arrays;
+
+/**
+ * Stores every cell of a grid as columns of primitive arrays instead of Cell objects. Holds the
+ * current and next state of each cell, the state each cell wants to move, any per-cell attribute
+ * columns a CellRule needs (WaTor energy, SugarScape patch sugar, ...) and the payload columns a
+ * moving cell carries with it, along with any summed-area tables and scalar fields the rule
+ * reads and the random stream of each cell. Current and next states are two buffers that swap
+ * roles at the end of every generation, so pushing a generation never touches the cells
+ * themselves. The swap applies only here; grids of Cell objects still finalize every cell, see
+ * Grid.pushCellUpdates().
+ * Assumptions: Indexes match the row major order of the XML cell rows.
+ * Dependencies: Cell, SummedAreaTable, ScalarField, java.util.Arrays
+ * Example:
+ * '''
+ * StateBuffer buffer = new StateBuffer(states, rule.getAttributeCount(), rule.getPayloadCount());
+ * buffer.setNextState(0, buffer.getState(1));
+ * buffer.pushUpdates();
+ * '''
+ */
+public class StateBuffer {
+
+  private int[] states;
+  private int[] nextStates;
+  private final int[] moveStates;
+  private final int[][] attributes;
+  private final int[][] payload;
+  private SummedAreaTable[] rangeSums = new SummedAreaTable[0];
+  private ScalarField[] fields = new ScalarField[0];
+  private long[] streams;
+
+  /**
+   * Constructor. Copies the initial states and allocates every column once.
+   *
+   * @param initialStates cell states in row major order
+   * @param attributeCount number of per-cell attribute columns
+   * @param payloadCount number of payload columns for moving cells
+   */
+  public StateBuffer(int[] initialStates, int attributeCount, int payloadCount) {
+    int size = initialStates.length;
+    this.states = Arrays.copyOf(initialStates, size);
+    this.nextStates = new int[size];
+    this.moveStates = new int[size];
+    this.attributes = new int[attributeCount][size];
+    this.payload = new int[payloadCount][size];
+    Arrays.fill(nextStates, Cell.NO_MOVEMENT);
+    Arrays.fill(moveStates, Cell.NO_MOVEMENT);
+  }
+
+  /**
+   * Returns number of cells in the buffer.
+   *
+   * @return int size
+   */
+  public int size() {
+    return states.length;
+  }
+
+  /**
+   * Returns current state of a cell.
+   *
+   * @param index cell index
+   * @return int state
+   */
+  public int getState(int index) {
+    return states[index];
+  }
+
+  /**
+   * Returns the current states themselves, for kernels that read whole rows at once. Callers
+   * must not write to the array, and must not keep it past the generation, since the buffers swap
+   * roles when it is pushed.
+   *
+   * @return current states in row major order
+   */
+  public int[] getStates() {
+    return states;
+  }
+
+  /**
+   * Overwrites the current state of a cell. Used to refresh copies of another buffer, such as the
+   * halo of a tile.
+   *
+   * @param index cell index
+   * @param state current state
+   */
+  public void setState(int index, int state) {
+    states[index] = state;
+  }
+
+  /**
+   * Returns state prepared for the next generation.
+   *
+   * @param index cell index
+   * @return int next state, stale until the cell has been prepared this generation
+   */
+  public int getNextState(int index) {
+    return nextStates[index];
+  }
+
+  /**
+   * Sets state for the next generation.
+   *
+   * @param index cell index
+   * @param state next state
+   */
+  public void setNextState(int index, int state) {
+    nextStates[index] = state;
+  }
+
+  /**
+   * Returns the state a cell asked to move this generation.
+   *
+   * @param index cell index
+   * @return int moving state or Cell.NO_MOVEMENT
+   */
+  public int getMoveState(int index) {
+    return moveStates[index];
+  }
+
+  /**
+   * Records the state a cell asked to move this generation.
+   *
+   * @param index cell index
+   * @param state moving state or Cell.NO_MOVEMENT
+   */
+  public void setMoveState(int index, int state) {
+    moveStates[index] = state;
+  }
+
+  /**
+   * Returns a per-cell attribute.
+   *
+   * @param column attribute column defined by the CellRule
+   * @param index cell index
+   * @return int attribute value
+   */
+  public int getAttribute(int column, int index) {
+    return attributes[column][index];
+  }
+
+  /**
+   * Sets a per-cell attribute.
+   *
+   * @param column attribute column defined by the CellRule
+   * @param index cell index
+   * @param value new value
+   */
+  public void setAttribute(int column, int index, int value) {
+    attributes[column][index] = value;
+  }
+
+  /**
+   * Returns a value a moving cell carries to its new position.
+   *
+   * @param column payload column defined by the CellRule
+   * @param index index of moving cell
+   * @return int payload value
+   */
+  public int getPayload(int column, int index) {
+    return payload[column][index];
+  }
+
+  /**
+   * Sets a value a moving cell carries to its new position.
+   *
+   * @param column payload column defined by the CellRule
+   * @param index index of moving cell
+   * @param value payload value
+   */
+  public void setPayload(int column, int index, int value) {
+    payload[column][index] = value;
+  }
+
+  /**
+   * Hands over the summed-area tables the engine keeps up to date for the rule.
+   *
+   * @param tables one table per CellRule.getRangeSumCount()
+   */
+  public void setRangeSums(SummedAreaTable[] tables) {
+    this.rangeSums = tables;
+  }
+
+  /**
+   * Returns one of the summed-area tables of the rule, as of the last time every cell was
+   * prepared.
+   *
+   * @param table table number
+   * @return summed-area table
+   */
+  public SummedAreaTable getRangeSums(int table) {
+    return rangeSums[table];
+  }
+
+  /**
+   * Hands over the fields the engine evaporates and diffuses for the rule.
+   *
+   * @param fields one field per CellRule.getFieldCount()
+   */
+  public void setFields(ScalarField[] fields) {
+    this.fields = fields;
+  }
+
+  /**
+   * Returns one of the fields of the rule. Cells may add to their own index while they are
+   * prepared.
+   *
+   * @param field field number
+   * @return scalar field
+   */
+  public ScalarField getField(int field) {
+    return fields[field];
+  }
+
+  /**
+   * Gives every index the random stream of the cell it holds in the whole grid, for buffers that
+   * only hold part of it, such as a tile or a chunk. Without streams each index is its own stream.
+   *
+   * @param streams stream of every index
+   */
+  public void setStreams(long[] streams) {
+    this.streams = streams;
+  }
+
+  /**
+   * Returns the stream a cell draws its random numbers from, so a cell gets the same numbers
+   * however the grid is split up.
+   *
+   * @param index cell index
+   * @return long stream for SimulationRandom
+   */
+  public long getStream(int index) {
+    return streams == null ? index : streams[index];
+  }
+
+  /**
+   * Finalizes the generation by swapping the current and next buffers. The old current buffer
+   * becomes the next buffer and is overwritten while the following generation is prepared.
+   * Assumptions: Every cell has had its next state prepared.
+   */
+  public void pushUpdates() {
+    int[] temp = states;
+    states = nextStates;
+    nextStates = temp;
+  }
+}
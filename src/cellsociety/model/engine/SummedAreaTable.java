@@ -0,0 +1,142 @@
+package cellsociety.model.engine;
+
+import java.util.Arrays;
+
+/**
+ * Answers range-sum queries over one integer value per cell, such as a state mask (1 for an agent,
+ * 0 otherwise) or a patch attribute, in O(1). Each entry holds the sum of every value above and
+ * to the left of it, so the sum over any rectangle is four reads whatever its size, and a radius r
+ * neighborhood no longer costs (2r + 1)^2 reads. Values are set as they change and the table is
+ * rebuilt only from the first row that changed since the last rebuild. On wrapping grids a
+ * neighborhood that crosses an edge is summed as up to four rectangles.
+ * Assumptions: cells are indexed row by row. Queries read the table as of the last rebuild(), so
+ * they may run on many threads as long as nothing is set or rebuilt meanwhile.
+ * Dependencies: java.util.Arrays
+ * Example:
+ * '''
+ * SummedAreaTable sugar = new SummedAreaTable(width, height, false);
+ * sugar.set(index, patchSugar);
+ * sugar.rebuild();
+ * long seen = sugar.sumAround(index, vision);
+ * '''
+ */
+public class SummedAreaTable {
+
+  private final int width;
+  private final int height;
+  private final boolean wrapping;
+  private final int[] values;
+  private final long[] sums;
+  private int dirtyRow;
+
+  /**
+   * Constructor. Starts with every value 0.
+   *
+   * @param width grid width
+   * @param height grid height
+   * @param wrapping true if neighborhoods wrap around the edges of the grid
+   */
+  public SummedAreaTable(int width, int height, boolean wrapping) {
+    this.width = width;
+    this.height = height;
+    this.wrapping = wrapping;
+    this.values = new int[width * height];
+    this.sums = new long[(width + 1) * (height + 1)];
+    this.dirtyRow = height;
+  }
+
+  /**
+   * Records the value of one cell. Seen by queries after the next rebuild().
+   *
+   * @param index cell index in row major order
+   * @param value value of the cell
+   */
+  public void set(int index, int value) {
+    if (values[index] != value) {
+      values[index] = value;
+      dirtyRow = Math.min(dirtyRow, index / width);
+    }
+  }
+
+  /**
+   * Sets every value to 0.
+   */
+  public void clear() {
+    Arrays.fill(values, 0);
+    Arrays.fill(sums, 0);
+    dirtyRow = height;
+  }
+
+  /**
+   * Brings the table up to date with the values set since the last rebuild. Rows above the first
+   * changed row keep their sums.
+   */
+  public void rebuild() {
+    int stride = width + 1;
+    for (int y = dirtyRow; y < height; y++) {
+      long rowSum = 0;
+      int above = y * stride;
+      int row = above + stride;
+      for (int x = 0; x < width; x++) {
+        rowSum += values[y * width + x];
+        sums[row + x + 1] = sums[above + x + 1] + rowSum;
+      }
+    }
+    dirtyRow = height;
+  }
+
+  /**
+   * Returns sum of the values in columns left to right and rows top to bottom, all inclusive.
+   * Parts of the rectangle outside the grid are ignored.
+   *
+   * @param left first column
+   * @param top first row
+   * @param right last column
+   * @param bottom last row
+   * @return long sum
+   */
+  public long sum(int left, int top, int right, int bottom) {
+    int fromX = Math.max(0, left);
+    int fromY = Math.max(0, top);
+    int toX = Math.min(width - 1, right) + 1;
+    int toY = Math.min(height - 1, bottom) + 1;
+    if (fromX >= toX || fromY >= toY) {
+      return 0;
+    }
+    int stride = width + 1;
+    return sums[toY * stride + toX] - sums[fromY * stride + toX] - sums[toY * stride + fromX]
+        + sums[fromY * stride + fromX];
+  }
+
+  /**
+   * Returns sum of the values within radius columns and rows of a cell, the cell included.
+   *
+   * @param index cell index in row major order
+   * @param radius how far to look in every direction
+   * @return long sum
+   */
+  public long sumAround(int index, int radius) {
+    int x = index % width;
+    int y = index / width;
+    if (!wrapping) {
+      return sum(x - radius, y - radius, x + radius, y + radius);
+    }
+    int columns = Math.min(2 * radius + 1, width);
+    int rows = Math.min(2 * radius + 1, height);
+    int left = columns == width ? 0 : Math.floorMod(x - radius, width);
+    int top = rows == height ? 0 : Math.floorMod(y - radius, height);
+    int rightOverflow = left + columns - width;
+    int bottomOverflow = top + rows - height;
+    long total = sum(left, top, left + columns - 1, top + rows - 1);
+    if (rightOverflow > 0) {
+      total += sum(0, top, rightOverflow - 1, top + rows - 1);
+    }
+    if (bottomOverflow > 0) {
+      total += sum(left, 0, left + columns - 1, bottomOverflow - 1);
+    }
+    if (rightOverflow > 0 && bottomOverflow > 0) {
+      total += sum(0, 0, rightOverflow - 1, bottomOverflow - 1);
+    }
+    return total;
+  }
+}
@@ -0,0 +1,174 @@
+package cellsociety.model.engine;
+
+import java.util.Arrays;
+
+/**
+ * Splits an array engine grid into rectangular tiles that each keep their own copy of the states
+ * they read. A tile stores its interior cells first, then a halo of every outside cell one of its
+ * interior cells has as a neighbor, and a neighbor topology renumbered to those local indexes. A
+ * generation refreshes each halo from the shared buffer, updates the interior from the tile's own
+ * small arrays, and writes the interior back. Halos are found through the grid's topology, so
+ * square, triangle and hexagon neighborhoods and wrapping edges all work without special cases.
+ * Each local cell draws random numbers from the stream of its global index.
+ * Assumptions: rule only reads neighbor states and its own index, never moves cells and keeps no
+ * attribute columns.
+ * Dependencies: CellRule, StateBuffer, NeighborTopology, ParallelSweep, java.util.Arrays
+ * Example:
+ * '''
+ * TileDecomposition tiles = new TileDecomposition(width, height, 64, topology, buffer);
+ * tiles.updateCells(rule, buffer, true);
+ * buffer.pushUpdates();
+ * '''
+ */
+public class TileDecomposition {
+
+  private final Tile[] tiles;
+
+  /**
+   * Constructor. Builds every tile and copies its interior states out of buffer.
+   *
+   * @param width grid width
+   * @param height grid height
+   * @param tileSize side length of a tile, in cells
+   * @param topology neighbor indexes of every cell
+   * @param buffer states to copy the interiors from
+   */
+  public TileDecomposition(int width, int height, int tileSize, NeighborTopology topology,
+      StateBuffer buffer) {
+    int tileColumns = (width + tileSize - 1) / tileSize;
+    int tileRows = (height + tileSize - 1) / tileSize;
+    int[] localIds = new int[width * height];
+    Arrays.fill(localIds, -1);
+    this.tiles = new Tile[tileColumns * tileRows];
+    for (int row = 0; row < tileRows; row++) {
+      for (int column = 0; column < tileColumns; column++) {
+        int left = column * tileSize;
+        int top = row * tileSize;
+        tiles[row * tileColumns + column] = new Tile(width, left, top,
+            Math.min(tileSize, width - left), Math.min(tileSize, height - top), topology, buffer,
+            localIds);
+      }
+    }
+  }
+
+  /**
+   * Returns number of tiles.
+   *
+   * @return int tile count
+   */
+  public int size() {
+    return tiles.length;
+  }
+
+  /**
+   * Prepares every cell of every tile and writes the results into the next states of buffer. Does
+   * not swap buffer; the caller does that once every tile is done.
+   *
+   * @param rule update rules of the simulation
+   * @param buffer shared states the halos are read from and the interiors are written to
+   * @param parallel whether to update tiles on several cores
+   */
+  public void updateCells(CellRule rule, StateBuffer buffer, boolean parallel) {
+    if (parallel) {
+      ParallelSweep.run(tiles.length, 1, (from, to) -> {
+        for (int i = from; i < to; i++) {
+          tiles[i].updateCells(rule, buffer);
+        }
+      });
+    } else {
+      for (Tile tile : tiles) {
+        tile.updateCells(rule, buffer);
+      }
+    }
+  }
+
+  /**
+   * One rectangle of the grid with the halo of neighbors around it.
+   */
+  private static class Tile {
+
+    private final int[] globals;
+    private final int interiorCount;
+    private final NeighborTopology localTopology;
+    private final StateBuffer local;
+    private final int[] neighborStates;
+
+    /**
+     * Numbers the interior row by row, then gives each outside neighbor the next free local index
+     * the first time it is seen.
+     */
+    Tile(int width, int left, int top, int tileWidth, int tileHeight, NeighborTopology topology,
+        StateBuffer buffer, int[] localIds) {
+      this.interiorCount = tileWidth * tileHeight;
+      int[] ids = new int[interiorCount + interiorCount * 4];
+      int count = 0;
+      for (int y = top; y < top + tileHeight; y++) {
+        for (int x = left; x < left + tileWidth; x++) {
+          int global = y * width + x;
+          localIds[global] = count;
+          ids[count++] = global;
+        }
+      }
+
+      int[] offsets = new int[interiorCount + 1];
+      int[] indexes = new int[Math.max(1, offsets.length * 4)];
+      int neighborCount = 0;
+      for (int i = 0; i < interiorCount; i++) {
+        int global = ids[i];
+        for (int k = 0; k < topology.getNeighborCount(global); k++) {
+          int neighbor = topology.getNeighbor(global, k);
+          if (localIds[neighbor] == -1) {
+            if (count == ids.length) {
+              ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+            localIds[neighbor] = count;
+            ids[count++] = neighbor;
+          }
+          if (neighborCount == indexes.length) {
+            indexes = Arrays.copyOf(indexes, indexes.length * 2);
+          }
+          indexes[neighborCount++] = localIds[neighbor];
+        }
+        offsets[i + 1] = neighborCount;
+      }
+
+      this.globals = Arrays.copyOf(ids, count);
+      for (int global : globals) {
+        localIds[global] = -1;
+      }
+      this.localTopology = new NeighborTopology(offsets, Arrays.copyOf(indexes, neighborCount));
+      int[] states = new int[count];
+      for (int i = 0; i < interiorCount; i++) {
+        states[i] = buffer.getState(globals[i]);
+      }
+      this.local = new StateBuffer(states, 0, 0);
+      long[] streams = new long[count];
+      for (int i = 0; i < count; i++) {
+        streams[i] = globals[i];
+      }
+      local.setStreams(streams);
+      this.neighborStates = new int[localTopology.getMaxNeighborCount()];
+    }
+
+    /**
+     * Refreshes the halo, prepares the interior from local arrays only, then writes the interior
+     * to the shared buffer and swaps the local buffer so it matches the next generation.
+     */
+    void updateCells(CellRule rule, StateBuffer buffer) {
+      for (int i = interiorCount; i < globals.length; i++) {
+        local.setState(i, buffer.getState(globals[i]));
+      }
+      for (int i = 0; i < interiorCount; i++) {
+        int neighborCount = localTopology.getNeighborCount(i);
+        for (int k = 0; k < neighborCount; k++) {
+          neighborStates[k] = local.getState(localTopology.getNeighbor(i, k));
+        }
+        rule.prepareNextState(i, neighborStates, neighborCount, local);
+      }
+      for (int i = 0; i < interiorCount; i++) {
+        buffer.setNextState(globals[i], local.getNextState(i));
+      }
+      local.pushUpdates();
+    }
+  }
+}
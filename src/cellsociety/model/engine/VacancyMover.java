@@ -0,0 +1,93 @@
+package cellsociety.model.engine;
+
+import java.util.SplittableRandom;
+
+/**
+ * Moves cells to random empty cells anywhere in the grid, for rules such as Segregation where a
+ * mover may go to any cell that will be empty next generation. The empty cells are kept in an
+ * IndexedSet across generations instead of being searched for, so each mover costs O(1) rather
+ * than a pass over the whole grid. Every mover ends up in an empty cell picked uniformly from all
+ * empty cells but its own, the same outcome as trying every other cell in random order.
+ * Assumptions: a cell only becomes empty by moving away and only stops being empty by receiving a
+ * mover, and receiveUpdate() accepts any mover into a cell that is empty next generation.
+ * Dependencies: IndexedSet, ClaimArbiter.MoveHandler, SimulationRandom,
+ * java.util.SplittableRandom
+ * Example:
+ * '''
+ * VacancyMover vacancies = new VacancyMover(size, random);
+ * vacancies.setVacant(index, state == emptyState);
+ * vacancies.moveAll(movers, moverCount, handler);
+ * '''
+ */
+public class VacancyMover {
+
+  private final IndexedSet vacancies;
+  private final SimulationRandom random;
+
+  /**
+   * Constructor. Starts with no empty cells.
+   *
+   * @param size number of cells in the grid
+   * @param random decides which empty cell each mover picks
+   */
+  public VacancyMover(int size, SimulationRandom random) {
+    this.vacancies = new IndexedSet(size);
+    this.random = random;
+  }
+
+  /**
+   * Records whether a cell is empty. Used to fill in the empty cells of a new grid.
+   *
+   * @param index cell index
+   * @param vacant true if the cell is empty
+   */
+  public void setVacant(int index, boolean vacant) {
+    if (vacant) {
+      vacancies.add(index);
+    } else {
+      vacancies.remove(index);
+    }
+  }
+
+  /**
+   * Returns number of cells that are empty next generation.
+   *
+   * @return int count
+   */
+  public int getVacancyCount() {
+    return vacancies.size();
+  }
+
+  /**
+   * Moves every mover of one generation. Cells the movers leave become empty before any of them
+   * moves, so one mover may take the cell another one left. A mover with no empty cell to go to
+   * is offered back to its own index, matching Grid.moveCell(). The picks are drawn from the
+   * grid's stream of the current generation.
+   *
+   * @param movers indexes of the cells that want to move
+   * @param moverCount number of valid entries in movers
+   * @param handler accepts moves; findPotentialMoves() is not used
+   */
+  public void moveAll(int[] movers, int moverCount, ClaimArbiter.MoveHandler handler) {
+    for (int i = 0; i < moverCount; i++) {
+      vacancies.add(movers[i]);
+    }
+    SplittableRandom picks = random.split(SimulationRandom.GRID_STREAM);
+    for (int i = 0; i < moverCount; i++) {
+      move(movers[i], handler, picks);
+    }
+  }
+
+  private void move(int mover, ClaimArbiter.MoveHandler handler, SplittableRandom picks) {
+    vacancies.remove(mover);
+    while (vacancies.size() > 0) {
+      int target = vacancies.get(picks.nextInt(vacancies.size()));
+      vacancies.remove(target);
+      if (handler.receiveUpdate(target, mover)) {
+        vacancies.add(mover);
+        return;
+      }
+    }
+    handler.receiveUpdate(mover, mover);
+  }
+}
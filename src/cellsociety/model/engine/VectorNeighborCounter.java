@@ -0,0 +1,73 @@
+package cellsociety.model.engine;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * NeighborCounter whose row kernel counts as many cells at once as the CPU has int lanes. For a
+ * run of cells starting at column x, the states at x - 1, x and x + 1 of each neighboring row are
+ * loaded as three lane vectors shifted by one cell, compared with the counted state, and the
+ * matches added lane by lane, so every lane ends up holding the count of its own cell. Columns
+ * left over at the end of a row fall back to the scalar loop, so counts are identical to
+ * NeighborCounter's.
+ * Assumptions: the jdk.incubator.vector module is available. NeighborCounter.create() only loads
+ * this class by name, so builds and runs without the module fall back to scalar counting.
+ * Dependencies: NeighborCounter, jdk.incubator.vector
+ * Example:
+ * '''
+ * NeighborCounter counter = NeighborCounter.create(width, height, false, topology, 2, true);
+ * '''
+ */
+final class VectorNeighborCounter extends NeighborCounter {
+
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+  private static final IntVector ONE = IntVector.broadcast(SPECIES, 1);
+
+  VectorNeighborCounter(int width, int height, boolean wrapping, boolean moore,
+      int stateCount) {
+    super(width, height, wrapping, moore, stateCount);
+  }
+
+  @Override
+  protected void countSpan(int[] states, int y, int above, int below, int state, int[] out,
+      int from, int to) {
+    int lanes = SPECIES.length();
+    int row = y * width;
+    int x = from;
+    for (; x + lanes <= to; x += lanes) {
+      IntVector count = IntVector.zero(SPECIES);
+      count = addMatches(count, states, row + x - 1, state);
+      count = addMatches(count, states, row + x + 1, state);
+      if (above >= 0) {
+        count = addRow(count, states, above * width + x, state);
+      }
+      if (below >= 0) {
+        count = addRow(count, states, below * width + x, state);
+      }
+      count.intoArray(out, x);
+    }
+    super.countSpan(states, y, above, below, state, out, x, to);
+  }
+
+  /**
+   * Adds matches from another row: the cells straight above or below, and with eight neighbors
+   * the cells one to the left and one to the right of them as well.
+   */
+  private IntVector addRow(IntVector count, int[] states, int start, int state) {
+    count = addMatches(count, states, start, state);
+    if (moore) {
+      count = addMatches(count, states, start - 1, state);
+      count = addMatches(count, states, start + 1, state);
+    }
+    return count;
+  }
+
+  /**
+   * Adds 1 to every lane whose cell, read from states starting at start, is in state.
+   */
+  private IntVector addMatches(IntVector count, int[] states, int start, int state) {
+    VectorMask<Integer> match = IntVector.fromArray(SPECIES, states, start).eq(state);
+    return count.add(ONE, match);
+  }
+}
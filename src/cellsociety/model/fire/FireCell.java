@@ -1,13 +1,13 @@
 package cellsociety.model.fire;
 
 import cellsociety.model.Cell;
+import cellsociety.model.MoveRequest;
 import java.util.Map;
-import java.util.Random;
 
 /**
  * Purpose: Represents a cell for the Fire simulation. Extends the Cell class.
  * Assumptions: None.
- * Dependencies: Cell class, Map and Random libraries.
+ * Dependencies: Cell and MoveRequest classes, Map library.
  * Example of use: Cell fire = new FireCell(params).
  *
  * @author Jessica Yang
@@ -17,8 +17,8 @@ public class FireCell extends Cell {
   public static final int TREE = 0;
   public static final int BURNING = 1;
   public static final int EMPTY = 2;
+  static final int CATCH_DRAW = 0;
   private final String probKey = "prob";
-  private final Random randFire = new Random();
   private double catchThreshold = 0.5;
 
   /**
@@ -45,27 +45,25 @@ public class FireCell extends Cell {
   /**
    * Purpose: Determine new state to update to.
    * Assumptions: neighborStates is passed with [N, S, E, W].
-   * Parameters: int[] neighborStates.
+   * Parameters: int[] neighborStates, MoveRequest request.
    * Exceptions: None.
-   * Returns: Map object. Describes what needs to be moved, if any.
+   * Returns: None. Nothing ever moves.
    * Rules taken from https://www2.cs.duke.edu/courses/compsci308/current/assign/02_simulation/nifty/shiflet-fire/
    */
-  public Map<String, Integer> prepareNextState(int[] neighborStates) {
+  public void prepareNextState(int[] neighborStates, MoveRequest request) {
     boolean burningNeighbor = checkBurningNeighbor(neighborStates);
-    double probFire = randFire.nextDouble();
 
     if (getState() == EMPTY || getState() == BURNING) {
       setNextState(EMPTY);
     } else if (getState() == TREE) {
-      if (burningNeighbor && probFire >= catchThreshold) {
+      if (burningNeighbor && nextRandomDouble(CATCH_DRAW) >= catchThreshold) {
         setNextState(BURNING);
       } else {
         setNextState(TREE);
       }
     }
 
-    setMoveStateValue(STATE_KEY, NO_MOVEMENT);
-    return getMoveStateCopy();
+    request.setState(NO_MOVEMENT);
   }
 
   private boolean checkBurningNeighbor(int[] neighborStates) {
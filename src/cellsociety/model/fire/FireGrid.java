@@ -2,6 +2,7 @@ package cellsociety.model.fire;
 
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
+import cellsociety.model.engine.CellRule;
 import java.util.List;
 import java.util.Map;
 
@@ -41,6 +42,28 @@ public class FireGrid extends Grid {
     return new FireCell(parameters);
   }
 
+  /**
+   * Returns FireRule object for the array engine.
+   *
+   * @param parameters game parameters from XML
+   * @return FireRule object
+   */
+  @Override
+  protected CellRule chooseRule(Map<String, Integer> parameters) throws Exception {
+    return new FireRule(parameters);
+  }
+
+  /**
+   * Cells only read neighbor states and write their own next state, so they may be prepared in
+   * parallel.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean isParallelSafe() {
+    return true;
+  }
+
   /**
    * Forces small neighborhood size as fire can only spread cardinally.
    *
@@ -0,0 +1,130 @@
+package cellsociety.model.fire;
+
+import cellsociety.model.Cell;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.StateBuffer;
+import java.util.Map;
+
+/**
+ * Purpose: Fire rules for the array engine. Same rules as FireCell, drawing from the random
+ *    numbers of the simulation, so a seeded grid burns the same way on any number of cores and
+ *    the same way as with FireCells.
+ * Assumptions: Map will contain the key "prob" with an integer value.
+ * Dependencies: CellRule, StateBuffer, FireCell and Map library.
+ * Example of use: CellRule rule = new FireRule(params).
+ */
+public class FireRule extends CellRule {
+
+  private final String probKey = "prob";
+  private double catchThreshold = 0.5;
+
+  /**
+   * Purpose: Constructor for FireRule class.
+   * Assumptions: Map will contain the key "prob" with an integer value.
+   * Parameters: Map config.
+   * Exceptions: Throws exception if "prob" is missing.
+   * Returns: FireRule object.
+   */
+  public FireRule(Map<String, Integer> config) throws Exception {
+    setMaxStateValue(FireCell.EMPTY);
+    try {
+      catchThreshold = (double) config.get(probKey) / 100;
+    } catch (Exception e) {
+      throw new Exception(Cell.PARAMETER_EXCEPTION_MESSAGE);
+    }
+  }
+
+  /**
+   * Purpose: Cells only read neighbor states and write their own next state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean isParallelSafe() {
+    return true;
+  }
+
+  /**
+   * Purpose: Only a burning neighbor can set a tree alight, and a burning cell always turns
+   *    empty, so a tree next to a fire always has a neighbor that changed last generation.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean skipsQuietCells() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to.
+   * Assumptions: None.
+   * Parameters: int index, int[] neighborStates, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type. There should never be any movement.
+   * Rules taken from https://www2.cs.duke.edu/courses/compsci308/current/assign/02_simulation/nifty/shiflet-fire/
+   */
+  @Override
+  public int prepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer) {
+    int state = buffer.getState(index);
+    boolean catches = state == FireCell.TREE && checkBurningNeighbor(neighborStates, neighborCount)
+        && catchesFire(index, buffer);
+    return prepareFromCatch(index, state, catches, buffer);
+  }
+
+  /**
+   * Purpose: Next state only depends on how many neighbors are in each state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean usesStateCounts() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to from the number of burning neighbors.
+   * Assumptions: None.
+   * Parameters: int index, int[] stateCounts, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type. There should never be any movement.
+   */
+  @Override
+  public int prepareFromCounts(int index, int[] stateCounts, int neighborCount,
+      StateBuffer buffer) {
+    int state = buffer.getState(index);
+    boolean catches = state == FireCell.TREE && stateCounts[FireCell.BURNING] > 0
+        && catchesFire(index, buffer);
+    return prepareFromCatch(index, state, catches, buffer);
+  }
+
+  private boolean catchesFire(int index, StateBuffer buffer) {
+    return nextRandomDouble(index, FireCell.CATCH_DRAW, buffer) >= catchThreshold;
+  }
+
+  private int prepareFromCatch(int index, int state, boolean catches, StateBuffer buffer) {
+    if (catches) {
+      buffer.setNextState(index, FireCell.BURNING);
+    } else if (state == FireCell.TREE) {
+      buffer.setNextState(index, FireCell.TREE);
+    } else {
+      buffer.setNextState(index, FireCell.EMPTY);
+    }
+    return Cell.NO_MOVEMENT;
+  }
+
+  private boolean checkBurningNeighbor(int[] neighborStates, int neighborCount) {
+    for (int i = 0; i < neighborCount; i++) {
+      if (neighborStates[i] == FireCell.BURNING) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -1,13 +1,14 @@
 package cellsociety.model.foragingants;
 
 import cellsociety.model.Cell;
+import cellsociety.model.MoveRequest;
 import java.util.Map;
 
 /**
  * Purpose: Represents a cell for the Foraging Ants simulation. Extends the Cell class.
  * Assumptions: The nest is set at the top left corner of the grid, while food is at the bottom
  *    right corner.
- * Dependencies: Cell class and Map library.
+ * Dependencies: Cell and MoveRequest classes, Map library.
  * Example of use: Cell foragingAnts = new ForagingAntsCell(params).
  *
  * @author Jessica Yang
@@ -18,9 +19,10 @@ public class ForagingAntsCell extends Cell {
   public static final int HOME = 1;
   public static final int FOOD = 2;
   public static final int ANT = 3;
-  public static final String HAS_FOOD = "hasFood";
-  private int foodPheromone;
-  private int homePheromone;
+  public static final int HOME_PHEROMONE_DEPOSIT = 1;
+  public static final int FOOD_PHEROMONE_DEPOSIT = 2;
+  private int foodPheromoneDeposit;
+  private int homePheromoneDeposit;
   private int hasFood;
 
   /**
@@ -33,36 +35,35 @@ public class ForagingAntsCell extends Cell {
   public ForagingAntsCell(Map<String, Integer> config) {
     super(config);
     setMaxStateValue(ANT);
-    foodPheromone = 0;
-    homePheromone = 0;
+    foodPheromoneDeposit = 0;
+    homePheromoneDeposit = 0;
     hasFood = 0;
   }
 
   /**
    * Purpose: Determine new state to update to.
-   * Assumptions: Grid will use values in moveState to determine where to move an ant.
-   * Parameters: int[] neighborStates.
+   * Assumptions: Grid will use values in request to determine where to move an ant.
+   * Parameters: int[] neighborStates, MoveRequest request.
    * Exceptions: None.
-   * Returns: Map object.
+   * Returns: None. Fills request with the ant that moves, if any.
    * Rules taken from https://greenteapress.com/complexity/html/thinkcomplexity013.html
    */
-  public Map<String, Integer> prepareNextState(int[] neighborStates) {
+  public void prepareNextState(int[] neighborStates, MoveRequest request) {
+    foodPheromoneDeposit = 0;
+    homePheromoneDeposit = 0;
     if (getState() == HOME) {
       setNextState(HOME);
-      setMoveStateValue(STATE_KEY, ANT);
-      setMoveStateValue(HAS_FOOD, hasFood);
+      request.setState(ANT);
+      request.setHasFood(hasFood);
     } else if (getState() == ANT) {
-      antPrepareNextState(neighborStates);
+      antPrepareNextState(neighborStates, request);
     } else {
       setNextState(getState());
-      setMoveStateValue(STATE_KEY, NO_MOVEMENT);
+      request.setState(NO_MOVEMENT);
     }
-
-    updateMoveStateParam();
-    return getMoveStateCopy();
   }
 
-  private void antPrepareNextState(int[] neighborStates) {
+  private void antPrepareNextState(int[] neighborStates, MoveRequest request) {
     boolean containsHome = checkNeighborState(HOME, neighborStates);
     boolean containsFood = checkNeighborState(FOOD, neighborStates);
 
@@ -70,19 +71,19 @@ public class ForagingAntsCell extends Cell {
       if (containsFood) {
         hasFood = 1;
       }
-      homePheromone++;
-      setMoveStateValue(STATE_KEY, ANT);
+      homePheromoneDeposit = HOME_PHEROMONE_DEPOSIT;
+      request.setState(ANT);
     } else {
       if (containsHome) { // basically reached home, and can disappear
         hasFood = 0;
-        setMoveStateValue(STATE_KEY, NO_MOVEMENT);
+        request.setState(NO_MOVEMENT);
       } else {
-        setMoveStateValue(STATE_KEY, ANT);
+        request.setState(ANT);
       }
-      foodPheromone += 2;
+      foodPheromoneDeposit = FOOD_PHEROMONE_DEPOSIT;
     }
 
-    setMoveStateValue(HAS_FOOD,hasFood);
+    request.setHasFood(hasFood);
     setNextState(EMPTY);
   }
 
@@ -96,25 +97,19 @@ public class ForagingAntsCell extends Cell {
     return false;
   }
 
-  private void updateMoveStateParam() {
-    setMoveStateValue("originFoodPheromone", foodPheromone);
-    setMoveStateValue("originHomePheromone", homePheromone);
-  }
-
   /**
-   * Purpose: Accepts Map information with new state information.
+   * Purpose: Accepts MoveRequest with new state information.
    * Assumptions: Grid will not pass call this method when the 'state' field is NO_MOVEMENT (-1).
-   * Parameters: Map object.
+   * Parameters: MoveRequest object.
    * Exceptions: None.
    * Returns: None.
    */
   @Override
-  public boolean receiveUpdate(Map<String, Integer> newInfo) {
-    int incomingState = newInfo.get(STATE_KEY);
+  public boolean receiveUpdate(MoveRequest newInfo) {
+    int incomingState = newInfo.getState();
 
     if (incomingState == ANT && getState() == EMPTY) {
       setNextState(ANT);
-      setMoveStateValue(HAS_FOOD, newInfo.get(HAS_FOOD));
       return true;
     }
 
@@ -122,11 +117,26 @@ public class ForagingAntsCell extends Cell {
   }
 
   /**
-   * Getter used by ForagingAntsGrid.
-   *
-   * @return [food pheromone count, home pheromone count]
+   * Purpose: Gets the food pheromone this cell's ant laid while it was last prepared, for
+   *    ForagingAntsGrid to add to its food pheromone field.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int food pheromone deposit.
+   */
+  public int getFoodPheromoneDeposit() {
+    return foodPheromoneDeposit;
+  }
+
+  /**
+   * Purpose: Gets the home pheromone this cell's ant laid while it was last prepared, for
+   *    ForagingAntsGrid to add to its home pheromone field.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int home pheromone deposit.
    */
-  public int[] getPheromone() {
-    return new int[]{foodPheromone, homePheromone};
+  public int getHomePheromoneDeposit() {
+    return homePheromoneDeposit;
   }
-}
\ No newline at end of file
+}
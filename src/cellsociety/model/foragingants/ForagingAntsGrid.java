@@ -2,18 +2,17 @@ package cellsociety.model.foragingants;
 
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collections;
-import java.util.Comparator;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.NeighborTopology;
+import cellsociety.model.engine.ScalarField;
 import java.util.List;
 import java.util.Map;
-import java.util.Random;
 
 /**
  * Allows for the simulation of ForagingAnts.
  * Assumptions: game will follow the rules laid out in ForagingAntsCell.
- * Dependencies: java.util.*, GridHelper, Grid, Cell, ForagingAntsCell
+ * Dependencies: java.util.*, GridHelper, Grid, Cell, ForagingAntsCell, ForagingAntsRule,
+ * NeighborTopology, ScalarField
  * Examples:
  * '''
  * Grid grid = new ForagingAntsGrid(cellA, gridP, cellP);
@@ -22,6 +21,9 @@ import java.util.Random;
  */
 public class ForagingAntsGrid extends Grid {
 
+  private final float evaporation;
+  private final float diffusion;
+
   /**
    * Fills grid and instantiates cells.
    *
@@ -33,6 +35,8 @@ public class ForagingAntsGrid extends Grid {
   public ForagingAntsGrid(List<String> cellArrangement, String[] gridParameters,
       Map<String, Integer> cellParameters) throws Exception {
     super(cellArrangement, gridParameters, cellParameters);
+    this.evaporation = ForagingAntsRule.readFraction(cellParameters, ForagingAntsRule.EVAPORATION);
+    this.diffusion = ForagingAntsRule.readFraction(cellParameters, ForagingAntsRule.DIFFUSION);
   }
 
   /**
@@ -46,6 +50,28 @@ public class ForagingAntsGrid extends Grid {
     return new ForagingAntsCell(parameters);
   }
 
+  /**
+   * Returns ForagingAntsRule object for the array engine.
+   *
+   * @param parameters game parameters from XML
+   * @return ForagingAntsRule object
+   */
+  @Override
+  protected CellRule chooseRule(Map<String, Integer> parameters) {
+    return new ForagingAntsRule(parameters);
+  }
+
+  /**
+   * Cells only change themselves while preparing, and a move only changes the receiving cell, so
+   * cells may be prepared and moved in parallel.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean isParallelSafe() {
+    return true;
+  }
+
   /**
    * Ants can only move cardinally so this enforces small neighborhood sizes.
    *
@@ -58,140 +84,96 @@ public class ForagingAntsGrid extends Grid {
     return decideSmallNeighborhood(index);
   }
 
-
-
   /**
-   * Returns array list of indexes that should be checked to receive a moving cell. Differentiates
-   * before between when ants have and don't have food. Follows pheromone trails when available, and
-   * walks randomly when not.
+   * Pheromones are kept in two fields next to the cells: food pheromone and home pheromone.
    *
-   * @param index of cell trying to move
-   * @return indexes to be checked for receiving update
+   * @return 2
    */
   @Override
-  protected List<Integer> findPotentialMoves(int index) {
-    Cell center = getGrid().get(index);
-    int[] neighbors = getNeighbors(center);
-    boolean hasFood = getIssues(index).get(ForagingAntsCell.HAS_FOOD) == 1;
-    int[][] sortedNeighbors = sortNeighborsByPheromone(hasFood, neighbors);
-
-    if (sortedNeighbors[0][1] == 0) {
-      return hasNoPheromones(index, hasFood, neighbors);
-    }
-
-    List<Integer> ordering = new ArrayList<>();
-    for (int[] i : sortedNeighbors) {
-      ordering.add(i[0]);
-    }
-    return ordering;
+  protected int getFieldCount() {
+    return 2;
   }
 
   /**
-   * Returns appropriately random arrays in the case that neighboring cells all lack pheromones.
-   * When searching for food, moves randomly away from home. When ant has food, moves randomly.
+   * Returns the pheromone the cell's ant laid this generation.
    *
-   * @param index     ant index
-   * @param hasFood   whether or not ant has food
-   * @param neighbors index of neighboring cells
-   * @return arraylist of neighbors appropriately shuffled
+   * @param field ForagingAntsRule.FOOD_PHEROMONE or HOME_PHEROMONE
+   * @param cell ForagingAntsCell that was just prepared
+   * @return amount of pheromone laid
    */
-  private List<Integer> hasNoPheromones(int index, boolean hasFood, int[] neighbors) {
-    if (hasFood) {
-      return shuffleArray(neighbors);
-    } else {
-      List<Integer> movingAway = new ArrayList<>();
-      for (int i : neighbors) {
-        if (i > index) {
-          movingAway.add(i);
-        }
-      }
-      Collections.shuffle(movingAway);
-      return movingAway;
-    }
+  @Override
+  protected float getDeposit(int field, Cell cell) {
+    ForagingAntsCell ant = (ForagingAntsCell) cell;
+    return field == ForagingAntsRule.FOOD_PHEROMONE ? ant.getFoodPheromoneDeposit()
+        : ant.getHomePheromoneDeposit();
   }
 
   /**
-   * Creates a 2D array where each row is cell index, food pheromone count, and home pheromone
-   * count. Sorts by food or home pheromones depending on if ant has food. Removes unnecessary
-   * pheromone column. If it has food, the ant only needs home pheromone and vice versa.
+   * Returns fraction of each pheromone that evaporates every generation, from the "evaporation"
+   * percentage.
    *
-   * @param hasFood   whether the ant has food or not
-   * @param neighbors int[] of neighbor indexes
-   * @return [[neighbor index, pheromone],...] sorted by relevant pheromone
+   * @param field field number
+   * @return fraction from 0 to 1
    */
-  private int[][] sortNeighborsByPheromone(boolean hasFood, int[] neighbors) {
-    int[][] neighborStates = new int[neighbors.length][3];
-    for (int i = 0; i < neighbors.length; i++) {
-      ForagingAntsCell neighbor = (ForagingAntsCell) getGrid().get(neighbors[i]);
-      neighborStates[i][0] = neighbors[i];
-      neighborStates[i][1] = neighbor.getPheromone()[0];
-      neighborStates[i][2] = neighbor.getPheromone()[1];
-    }
-    if (hasFood) {
-      Arrays.sort(neighborStates, Comparator.comparingInt(row -> -1 * row[2]));
-      neighborStates = removeColumn(neighborStates, 1);
-    } else {
-      Arrays.sort(neighborStates, Comparator.comparingInt(row -> -1 * row[1]));
-      neighborStates = removeColumn(neighborStates, 2);
-    }
-    return neighborStates;
+  @Override
+  protected float getEvaporation(int field) {
+    return evaporation;
   }
 
   /**
-   * Fisher-Yates shuffle array function. By Dan Bray at https://stackoverflow.com/questions/1519736/random-shuffling-of-an-array
-   * Modified to return array list.
+   * Returns fraction of each pheromone that spreads to the neighbors every generation, from the
+   * "diffusion" percentage.
    *
-   * @param array int array
-   * @return shuffled int array as arraylist
+   * @param field field number
+   * @return fraction from 0 to 1
    */
-  private List<Integer> shuffleArray(int[] array) {
-    int index, temp;
-    Random random = new Random();
-    for (int i = array.length - 1; i > 0; i--) {
-      index = random.nextInt(i + 1);
-      temp = array[index];
-      array[index] = array[i];
-      array[i] = temp;
-    }
-
-    List<Integer> list = new ArrayList<>();
-    for (int i : array) {
-      list.add(i);
-    }
-    return list;
+  @Override
+  protected float getDiffusion(int field) {
+    return diffusion;
   }
 
   /**
-   * Extracts first column from 2D int array.
+   * Fills places with indexes that should be checked to receive a moving cell. Ants carrying food
+   * follow the home pheromone and ants looking for food follow the food pheromone, to the empty
+   * neighbors where the trail is strongest, and walk randomly when there is no trail. moveCell()
+   * shuffles places, so ants pick among equally strong trails at random.
    *
-   * @param input int[][]
-   * @return first column of int[][]
+   * @param index of cell trying to move
+   * @param places array to fill with neighboring indexes
+   * @return number of indexes written to places
    */
-  private int[][] removeColumn(int[][] input, int column) {
-    int[][] array = new int[input.length][input[0].length - 1];
-    for (int i = 0; i < array.length; i++) {
-      array[i] = removeIndex(input[i], column);
+  @Override
+  protected int findPotentialMoves(int index, int[] places) {
+    NeighborTopology topology = getTopology();
+    List<Cell> grid = getGrid();
+    boolean hasFood = getIssues(index).getHasFood() == 1;
+    ScalarField trail = getField(hasFood ? ForagingAntsRule.HOME_PHEROMONE
+        : ForagingAntsRule.FOOD_PHEROMONE);
+    int neighborCount = topology.getNeighborCount(index);
+    int count = 0;
+    float strongest = 0;
+    for (int k = 0; k < neighborCount; k++) {
+      int neighbor = topology.getNeighbor(index, k);
+      float level = grid.get(neighbor).getState() == ForagingAntsCell.EMPTY
+          ? trail.get(neighbor) : 0;
+      if (level > strongest) {
+        strongest = level;
+        count = 0;
+      }
+      if (level == strongest && level > 0) {
+        places[count++] = neighbor;
+      }
+    }
+    if (count > 0) {
+      return count;
     }
-    return array;
-  }
 
-  /**
-   * Removes index from int[].
-   *
-   * @param input int[]
-   * @param index to remove
-   * @return int[] without value at index
-   */
-  private int[] removeIndex(int[] input, int index) {
-    int[] array = new int[input.length - 1];
-    for (int i = 0; i < input.length; i++) {
-      if (i < index) {
-        array[i] = input[i];
-      }
-      if (i > index) {
-        array[i - 1] = input[i];
+    for (int k = 0; k < neighborCount; k++) {
+      int neighbor = topology.getNeighbor(index, k);
+      if (hasFood || neighbor > index) {
+        places[count++] = neighbor;
       }
     }
-    return array;
+    return count;
   }
 }
@@ -0,0 +1,234 @@
+package cellsociety.model.foragingants;
+
+import cellsociety.model.Cell;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.NeighborTopology;
+import cellsociety.model.engine.ScalarField;
+import cellsociety.model.engine.StateBuffer;
+import java.util.Map;
+
+/**
+ * Purpose: Foraging Ants rules for the array engine. Same rules as ForagingAntsCell and
+ *    ForagingAntsGrid, with each cell's food flag kept in an attribute column and the pheromones
+ *    in two ScalarFields that evaporate and diffuse after every generation.
+ * Assumptions: The nest is set at the top left corner of the grid, while food is at the bottom
+ *    right corner.
+ * Dependencies: CellRule, StateBuffer, NeighborTopology, ScalarField, ForagingAntsCell, Map
+ *    library.
+ * Example of use: CellRule rule = new ForagingAntsRule(params).
+ */
+public class ForagingAntsRule extends CellRule {
+
+  public static final String EVAPORATION = "evaporation";
+  public static final String DIFFUSION = "diffusion";
+  static final int FOOD_PHEROMONE = 0;
+  static final int HOME_PHEROMONE = 1;
+  private static final int HAS_FOOD = 0;
+  private static final float PERCENT = 100f;
+  private final float evaporation;
+  private final float diffusion;
+
+  /**
+   * Purpose: Constructor for ForagingAntsRule class.
+   * Assumptions: None.
+   * Parameters: Map config, which may hold evaporation and diffusion percentages.
+   * Exceptions: None.
+   * Returns: ForagingAntsRule object.
+   */
+  public ForagingAntsRule(Map<String, Integer> config) {
+    setMaxStateValue(ForagingAntsCell.ANT);
+    evaporation = readFraction(config, EVAPORATION);
+    diffusion = readFraction(config, DIFFUSION);
+  }
+
+  /**
+   * Purpose: Reads a percentage parameter, 0 when left out, as a fraction from 0 to 1. Shared
+   *    with ForagingAntsGrid.
+   * Assumptions: None.
+   * Parameters: Map config, String key.
+   * Exceptions: None.
+   * Returns: float type.
+   */
+  static float readFraction(Map<String, Integer> config, String key) {
+    return Math.max(0, Math.min(PERCENT, config.getOrDefault(key, 0))) / PERCENT;
+  }
+
+  /**
+   * Purpose: Returns number of attribute columns: food flag.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  @Override
+  public int getAttributeCount() {
+    return 1;
+  }
+
+  /**
+   * Purpose: Returns number of fields: food pheromone and home pheromone.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  @Override
+  public int getFieldCount() {
+    return 2;
+  }
+
+  /**
+   * Purpose: Returns fraction of each pheromone that evaporates every generation.
+   * Assumptions: None.
+   * Parameters: int field.
+   * Exceptions: None.
+   * Returns: float type.
+   */
+  @Override
+  public float getEvaporation(int field) {
+    return evaporation;
+  }
+
+  /**
+   * Purpose: Returns fraction of each pheromone that spreads to the neighbors every generation.
+   * Assumptions: None.
+   * Parameters: int field.
+   * Exceptions: None.
+   * Returns: float type.
+   */
+  @Override
+  public float getDiffusion(int field) {
+    return diffusion;
+  }
+
+  /**
+   * Purpose: Cells only write their own index while preparing, and moves only write the target.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean isParallelSafe() {
+    return true;
+  }
+
+  /**
+   * Purpose: Cells move to other indexes.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean movesCells() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to. The nest sends out a new ant every generation.
+   * Assumptions: Engine will use findPotentialMoves to determine where to move an ant.
+   * Parameters: int index, int[] neighborStates, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type. ANT if an ant leaves this cell, Cell.NO_MOVEMENT otherwise.
+   * Rules taken from https://greenteapress.com/complexity/html/thinkcomplexity013.html
+   */
+  @Override
+  public int prepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer) {
+    int state = buffer.getState(index);
+    if (state == ForagingAntsCell.ANT) {
+      return antPrepareNextState(index, neighborStates, neighborCount, buffer);
+    }
+    buffer.setNextState(index, state);
+    return state == ForagingAntsCell.HOME ? ForagingAntsCell.ANT : Cell.NO_MOVEMENT;
+  }
+
+  private int antPrepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer) {
+    int movement = ForagingAntsCell.ANT;
+    buffer.setNextState(index, ForagingAntsCell.EMPTY);
+
+    if (buffer.getAttribute(HAS_FOOD, index) == 0) {
+      if (checkNeighborState(ForagingAntsCell.FOOD, neighborStates, neighborCount)) {
+        buffer.setAttribute(HAS_FOOD, index, 1);
+      }
+      buffer.getField(HOME_PHEROMONE).add(index, ForagingAntsCell.HOME_PHEROMONE_DEPOSIT);
+    } else {
+      if (checkNeighborState(ForagingAntsCell.HOME, neighborStates, neighborCount)) {
+        buffer.setAttribute(HAS_FOOD, index, 0);
+        movement = Cell.NO_MOVEMENT;
+      }
+      buffer.getField(FOOD_PHEROMONE).add(index, ForagingAntsCell.FOOD_PHEROMONE_DEPOSIT);
+    }
+    return movement;
+  }
+
+  private boolean checkNeighborState(int checkState, int[] neighborStates, int neighborCount) {
+    for (int i = 0; i < neighborCount; i++) {
+      if (neighborStates[i] == checkState) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Purpose: Lists the neighbors an ant may walk to. An ant carrying food follows the home
+   *    pheromone and an ant looking for food follows the food pheromone, to the empty neighbors
+   *    where the trail is strongest. Without a trail, an ant carrying food walks anywhere and an
+   *    ant looking for food only walks away from home.
+   * Assumptions: None.
+   * Parameters: int index, NeighborTopology topology, int[] places, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int number of places.
+   */
+  @Override
+  public int findPotentialMoves(int index, NeighborTopology topology, int[] places,
+      StateBuffer buffer) {
+    boolean hasFood = buffer.getAttribute(HAS_FOOD, index) == 1;
+    ScalarField trail = buffer.getField(hasFood ? HOME_PHEROMONE : FOOD_PHEROMONE);
+    int neighborCount = topology.getNeighborCount(index);
+    int count = 0;
+    float strongest = 0;
+    for (int k = 0; k < neighborCount; k++) {
+      int neighbor = topology.getNeighbor(index, k);
+      float level = buffer.getState(neighbor) == ForagingAntsCell.EMPTY ? trail.get(neighbor) : 0;
+      if (level > strongest) {
+        strongest = level;
+        count = 0;
+      }
+      if (level == strongest && level > 0) {
+        places[count++] = neighbor;
+      }
+    }
+    if (count > 0) {
+      return count;
+    }
+
+    for (int k = 0; k < neighborCount; k++) {
+      int neighbor = topology.getNeighbor(index, k);
+      if (hasFood || neighbor > index) {
+        places[count++] = neighbor;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Purpose: Moves an ant into target if the cell is currently empty.
+   * Assumptions: mover asked to move this generation.
+   * Parameters: int target, int mover, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  @Override
+  public boolean receiveUpdate(int target, int mover, StateBuffer buffer) {
+    if (buffer.getMoveState(mover) == ForagingAntsCell.ANT
+        && buffer.getState(target) == ForagingAntsCell.EMPTY) {
+      buffer.setNextState(target, ForagingAntsCell.ANT);
+      return true;
+    }
+    return false;
+  }
+}
@@ -0,0 +1,216 @@
+package cellsociety.model.gameoflife;
+
+import cellsociety.model.engine.NeighborTopology;
+import cellsociety.model.engine.ParallelSweep;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs GameOfLife on a bounded or wrapping square grid with one bit per cell. Each row is packed
+ * into longs, 64 cells to a word, and a generation counts the eight neighbors of a whole word at
+ * once with bitwise adders. Cells on the outer ring of the grid are then counted again one by one
+ * through the grid's topology, so edges and wrapping behave exactly like the per-cell engine no
+ * matter how GridHelper connects them.
+ * Assumptions: square cells, neighborhoodSize of 8, state 1 is alive and 0 is dead.
+ * Dependencies: NeighborTopology, ParallelSweep, java.util.*
+ * Example:
+ * '''
+ * BitLifeEngine engine = new BitLifeEngine(states, width, height, topology, false);
+ * engine.updateCells();
+ * '''
+ */
+public class BitLifeEngine {
+
+  private final int width;
+  private final int height;
+  private final int words;
+  private final long lastWordMask;
+  private final NeighborTopology topology;
+  private final int[] borderIndexes;
+  private final boolean parallel;
+  private long[] current;
+  private long[] next;
+
+  /**
+   * Constructor. Packs the cell states of a grid into bits.
+   *
+   * @param states cell states row by row, 1 for alive
+   * @param width grid width
+   * @param height grid height
+   * @param topology neighbor indexes of every cell, used for the outer ring
+   * @param parallel whether to update rows on several cores
+   */
+  public BitLifeEngine(List<Integer> states, int width, int height, NeighborTopology topology,
+      boolean parallel) {
+    this.width = width;
+    this.height = height;
+    this.words = (width + Long.SIZE - 1) / Long.SIZE;
+    int tail = width % Long.SIZE;
+    this.lastWordMask = tail == 0 ? -1L : (1L << tail) - 1;
+    this.topology = topology;
+    this.parallel = parallel;
+    this.current = new long[words * height];
+    this.next = new long[words * height];
+    for (int i = 0; i < states.size(); i++) {
+      if (states.get(i) == GameOfLifeCell.ALIVE) {
+        current[wordIndex(i)] |= 1L << bitIndex(i);
+      }
+    }
+    this.borderIndexes = findBorder();
+  }
+
+  /**
+   * Returns cell states for printing/viewing.
+   *
+   * @return integer array list of cell states
+   */
+  public List<Integer> viewGrid() {
+    List<Integer> states = new ArrayList<>(width * height);
+    for (int i = 0; i < width * height; i++) {
+      states.add(getState(i));
+    }
+    return states;
+  }
+
+  /**
+   * Returns state of one cell.
+   *
+   * @param index cell index in row major order
+   * @return 1 if alive, 0 otherwise
+   */
+  public int getState(int index) {
+    return (int) (current[wordIndex(index)] >>> bitIndex(index)) & 1;
+  }
+
+  /**
+   * Runs one generation: updates every row a word at a time, fixes up the outer ring cell by
+   * cell, then swaps the next generation in.
+   */
+  public void updateCells() {
+    if (parallel) {
+      int minRows = Math.max(1, ParallelSweep.MIN_CHUNK * Long.SIZE / Math.max(1, width));
+      ParallelSweep.run(height, minRows, this::updateRows);
+    } else {
+      updateRows(0, height);
+    }
+    for (int index : borderIndexes) {
+      updateBorderCell(index);
+    }
+    long[] temp = current;
+    current = next;
+    next = temp;
+  }
+
+  /**
+   * Updates rows from (inclusive) to (exclusive), treating cells past the grid as dead.
+   */
+  private void updateRows(int from, int to) {
+    for (int y = from; y < to; y++) {
+      int row = y * words;
+      int above = y > 0 ? row - words : -1;
+      int below = y < height - 1 ? row + words : -1;
+      for (int w = 0; w < words; w++) {
+        long result = nextWord(above, row, below, w);
+        next[row + w] = w == words - 1 ? result & lastWordMask : result;
+      }
+    }
+  }
+
+  /**
+   * Counts the eight neighbors of the 64 cells in word w of a row and applies B3/S23. The count is
+   * kept as three bit planes, ones, twos and fours, built from full and half adders. A count of 8
+   * wraps to 0, which is dead either way.
+   */
+  private long nextWord(int above, int row, int below, int w) {
+    long north = word(above, w);
+    long northWest = west(above, w, north);
+    long northEast = east(above, w, north);
+    long middle = current[row + w];
+    long west = west(row, w, middle);
+    long east = east(row, w, middle);
+    long south = word(below, w);
+    long southWest = west(below, w, south);
+    long southEast = east(below, w, south);
+
+    long sumNorth = northWest ^ north ^ northEast;
+    long carryNorth = (northWest & north) | (northEast & (northWest ^ north));
+    long sumMiddle = west ^ east ^ southWest;
+    long carryMiddle = (west & east) | (southWest & (west ^ east));
+    long sumSouth = south ^ southEast;
+    long carrySouth = south & southEast;
+
+    long ones = sumNorth ^ sumMiddle ^ sumSouth;
+    long carryOnes = (sumNorth & sumMiddle) | (sumSouth & (sumNorth ^ sumMiddle));
+    long pairA = carryNorth ^ carryMiddle;
+    long pairB = carrySouth ^ carryOnes;
+    long twos = pairA ^ pairB;
+    long fours = (carryNorth & carryMiddle) ^ (carrySouth & carryOnes) ^ (pairA & pairB);
+    return ~fours & twos & (ones | middle);
+  }
+
+  private long word(int row, int w) {
+    return row < 0 ? 0 : current[row + w];
+  }
+
+  /**
+   * Returns the word whose bit x holds cell x - 1, pulling in the top bit of the previous word.
+   */
+  private long west(int row, int w, long word) {
+    if (row < 0) {
+      return 0;
+    }
+    long carry = w > 0 ? current[row + w - 1] >>> (Long.SIZE - 1) : 0;
+    return (word << 1) | carry;
+  }
+
+  /**
+   * Returns the word whose bit x holds cell x + 1, pulling in the bottom bit of the next word.
+   */
+  private long east(int row, int w, long word) {
+    if (row < 0) {
+      return 0;
+    }
+    long carry = w < words - 1 ? current[row + w + 1] << (Long.SIZE - 1) : 0;
+    return (word >>> 1) | carry;
+  }
+
+  /**
+   * Counts the neighbors of one cell through the topology and writes its next state.
+   */
+  private void updateBorderCell(int index) {
+    int live = 0;
+    for (int k = 0; k < topology.getNeighborCount(index); k++) {
+      live += getState(topology.getNeighbor(index, k));
+    }
+    boolean alive = live == 3 || (getState(index) == GameOfLifeCell.ALIVE && live == 2);
+    long bit = 1L << bitIndex(index);
+    if (alive) {
+      next[wordIndex(index)] |= bit;
+    } else {
+      next[wordIndex(index)] &= ~bit;
+    }
+  }
+
+  /**
+   * Returns the indexes of every cell in the first or last row or column.
+   */
+  private int[] findBorder() {
+    List<Integer> border = new ArrayList<>();
+    for (int y = 0; y < height; y++) {
+      for (int x = 0; x < width; x++) {
+        if (y == 0 || y == height - 1 || x == 0 || x == width - 1) {
+          border.add(y * width + x);
+        }
+      }
+    }
+    return border.stream().mapToInt(Integer::intValue).toArray();
+  }
+
+  private int wordIndex(int index) {
+    return (index / width) * words + (index % width) / Long.SIZE;
+  }
+
+  private int bitIndex(int index) {
+    return (index % width) % Long.SIZE;
+  }
+}
@@ -1,12 +1,13 @@
 package cellsociety.model.gameoflife;
 
 import cellsociety.model.Cell;
+import cellsociety.model.MoveRequest;
 import java.util.Map;
 
 /**
  * Purpose: Represents a cell for the Game of Life simulation. Extends the Cell class.
  * Assumptions: None.
- * Dependencies: Cell class and Map library.
+ * Dependencies: Cell and MoveRequest classes, Map library.
  * Example of use: Cell gameOfLife = new GameOfLifeCell(params).
  *
  * @author Jessica Yang
@@ -31,12 +32,12 @@ public class GameOfLifeCell extends Cell {
   /**
    * Purpose: Determine new state to update to.
    * Assumptions: None.
-   * Parameters: int[] neighborStates.
+   * Parameters: int[] neighborStates, MoveRequest request.
    * Exceptions: None.
-   * Returns: Map object. Describes what needs to be moved, if any.
+   * Returns: None. Nothing ever moves.
    * Rules taken from https://en.wikipedia.org/wiki/Conway's_Game_of_Life
    */
-  public Map<String, Integer> prepareNextState(int[] neighborStates) {
+  public void prepareNextState(int[] neighborStates, MoveRequest request) {
     int live = calculateLive(neighborStates);
 
     if (getState() == ALIVE && (live == 2 || live == 3)) {
@@ -47,8 +48,7 @@ public class GameOfLifeCell extends Cell {
       setNextState(DEAD);
     }
 
-    setMoveStateValue(STATE_KEY, NO_MOVEMENT);
-    return getMoveStateCopy();
+    request.setState(NO_MOVEMENT);
   }
 
   /** Calculates number live cells in neighbors. */
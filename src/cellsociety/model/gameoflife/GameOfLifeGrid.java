@@ -1,14 +1,19 @@
 package cellsociety.model.gameoflife;
 
+import cellsociety.configuration.Simulation;
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
+import cellsociety.model.engine.CellRule;
 import java.util.List;
 import java.util.Map;
 
 /**
- * Allows for the simulation of GameOfLife.
+ * Allows for the simulation of GameOfLife. On square grids with eight neighbors, an engine
+ * parameter of 2 runs infinite grids with HashLifeEngine, and 3 runs bounded or wrapping grids
+ * with BitLifeEngine, instead of updating every cell.
  * Assumptions: game will follow the rules laid out in GameOfLifeCell.
- * Dependencies: java.util.*, GridHelper, Grid, Cell, GameOfLifeCell
+ * Dependencies: java.util.*, GridHelper, Grid, Cell, GameOfLifeCell, HashLifeEngine,
+ * BitLifeEngine
  * Examples:
  * '''
  * Grid grid = new GameOfLifeGrid(cellA, gridP, cellP);
@@ -17,6 +22,9 @@ import java.util.Map;
  */
 public class GameOfLifeGrid extends Grid {
 
+  private final HashLifeEngine hashLife;
+  private final BitLifeEngine bitLife;
+
   /**
    * Fills grid and instantiates cells.
    *
@@ -28,6 +36,122 @@ public class GameOfLifeGrid extends Grid {
   public GameOfLifeGrid(List<String> cellArrangement, String[] gridParameters,
       Map<String, Integer> cellParameters) throws Exception {
     super(cellArrangement, gridParameters, cellParameters);
+    if (getEngine() != null && usesHashLife(cellParameters)) {
+      int[] dimensions = super.getDimensions();
+      this.hashLife = new HashLifeEngine(getEngine().viewGrid(), dimensions[0], dimensions[1],
+          evenMargin(cellParameters.getOrDefault(EXPANSION_MARGIN, DEFAULT_EXPANSION_MARGIN)),
+          cellParameters.getOrDefault(SHRINK_THRESHOLD, DEFAULT_SHRINK_THRESHOLD));
+    } else {
+      this.hashLife = null;
+    }
+    if (getEngine() != null && usesBitLife(cellParameters)) {
+      int[] dimensions = super.getDimensions();
+      this.bitLife = new BitLifeEngine(getEngine().viewGrid(), dimensions[0], dimensions[1],
+          getTopology(), isParallel());
+    } else {
+      this.bitLife = null;
+    }
+  }
+
+  /**
+   * Reads the cells into arrays for the array engine, and also for HashLifeEngine and
+   * BitLifeEngine so no Cell objects are created for them.
+   *
+   * @param parameters game parameters from XML
+   * @return true if the grid is stored as primitive arrays
+   */
+  @Override
+  protected boolean usesArrayEngine(Map<String, Integer> parameters) {
+    return super.usesArrayEngine(parameters) || usesHashLife(parameters)
+        || usesBitLife(parameters);
+  }
+
+  /**
+   * Decides whether the grid can be handed to HashLifeEngine.
+   *
+   * @param parameters game parameters from XML
+   * @return true if engine is HASHLIFE_ENGINE and the grid is square, infinite and has eight
+   *     neighbors
+   */
+  private boolean usesHashLife(Map<String, Integer> parameters) {
+    return parameters.getOrDefault(ENGINE, CELL_ENGINE) == HASHLIFE_ENGINE
+        && getShape().equals(SQUARE) && getNeighborhoodSize() == SQUARE_SIDES_MAX
+        && getGridType().equals(Simulation.GRID_OPTIONS.get(1));
+  }
+
+  /**
+   * Decides whether the grid can be handed to BitLifeEngine.
+   *
+   * @param parameters game parameters from XML
+   * @return true if engine is BITPACKED_ENGINE and the grid is square, not infinite and has eight
+   *     neighbors
+   */
+  private boolean usesBitLife(Map<String, Integer> parameters) {
+    return parameters.getOrDefault(ENGINE, CELL_ENGINE) == BITPACKED_ENGINE
+        && getShape().equals(SQUARE) && getNeighborhoodSize() == SQUARE_SIDES_MAX
+        && !getGridType().equals(Simulation.GRID_OPTIONS.get(1));
+  }
+
+  /**
+   * Runs 2^exponent generations. HashLifeEngine does this in one jump; other engines run every
+   * generation in turn.
+   *
+   * @param exponent base two logarithm of the number of generations to run
+   */
+  public void step(int exponent) {
+    if (hashLife != null) {
+      hashLife.step(exponent);
+      return;
+    }
+    for (long i = 0; i < 1L << exponent; i++) {
+      updateCells();
+    }
+  }
+
+  /**
+   * Returns HashLifeEngine running the game, so callers can look at regions outside the viewport.
+   *
+   * @return HashLifeEngine, or null when another engine is in use
+   */
+  public HashLifeEngine getHashLife() {
+    return hashLife;
+  }
+
+  /**
+   * Returns cell states of the grid, of the HashLifeEngine viewport or of BitLifeEngine.
+   *
+   * @return integer array list of cell states
+   */
+  @Override
+  public List<Integer> viewGrid() {
+    if (hashLife != null) {
+      return hashLife.viewGrid();
+    }
+    return bitLife != null ? bitLife.viewGrid() : super.viewGrid();
+  }
+
+  /**
+   * Runs one generation on the grid, on HashLifeEngine or on BitLifeEngine.
+   */
+  @Override
+  public void updateCells() {
+    if (hashLife != null) {
+      hashLife.updateCells();
+    } else if (bitLife != null) {
+      bitLife.updateCells();
+    } else {
+      super.updateCells();
+    }
+  }
+
+  /**
+   * Returns grid size, or size of the HashLifeEngine viewport.
+   *
+   * @return [width, height]
+   */
+  @Override
+  public int[] getDimensions() {
+    return hashLife != null ? hashLife.getDimensions() : super.getDimensions();
   }
 
   /**
@@ -40,4 +164,26 @@ public class GameOfLifeGrid extends Grid {
   protected Cell chooseCell(Map<String, Integer> parameters) {
     return new GameOfLifeCell(parameters);
   }
+
+  /**
+   * Returns GameOfLifeRule object for the array engine.
+   *
+   * @param parameters game parameters from XML
+   * @return GameOfLifeRule object
+   */
+  @Override
+  protected CellRule chooseRule(Map<String, Integer> parameters) {
+    return new GameOfLifeRule();
+  }
+
+  /**
+   * Cells only read neighbor states and write their own next state, so they may be prepared in
+   * parallel.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean isParallelSafe() {
+    return true;
+  }
 }
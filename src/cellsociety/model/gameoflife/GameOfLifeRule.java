@@ -0,0 +1,105 @@
+package cellsociety.model.gameoflife;
+
+import cellsociety.model.Cell;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.StateBuffer;
+
+/**
+ * Purpose: Game of Life rules for the array engine. Same rules as GameOfLifeCell.
+ * Assumptions: None.
+ * Dependencies: CellRule, StateBuffer, GameOfLifeCell.
+ * Example of use: CellRule rule = new GameOfLifeRule().
+ */
+public class GameOfLifeRule extends CellRule {
+
+  /**
+   * Purpose: Constructor for GameOfLifeRule class.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: GameOfLifeRule object.
+   */
+  public GameOfLifeRule() {
+    setMaxStateValue(GameOfLifeCell.ALIVE);
+  }
+
+  /**
+   * Purpose: Cells only read neighbor states and write their own next state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean isParallelSafe() {
+    return true;
+  }
+
+  /**
+   * Purpose: Next state only depends on the number of live neighbors, so a still neighborhood
+   *    stays still.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean skipsQuietCells() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to.
+   * Assumptions: None.
+   * Parameters: int index, int[] neighborStates, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type. There should never be any movement.
+   * Rules taken from https://en.wikipedia.org/wiki/Conway's_Game_of_Life
+   */
+  @Override
+  public int prepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer) {
+    int live = 0;
+    for (int i = 0; i < neighborCount; i++) {
+      if (neighborStates[i] == GameOfLifeCell.ALIVE) {
+        live++;
+      }
+    }
+    return prepareFromLive(index, live, buffer);
+  }
+
+  /**
+   * Purpose: Next state only depends on how many neighbors are in each state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean usesStateCounts() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to from the number of live neighbors.
+   * Assumptions: None.
+   * Parameters: int index, int[] stateCounts, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type. There should never be any movement.
+   */
+  @Override
+  public int prepareFromCounts(int index, int[] stateCounts, int neighborCount,
+      StateBuffer buffer) {
+    return prepareFromLive(index, stateCounts[GameOfLifeCell.ALIVE], buffer);
+  }
+
+  private int prepareFromLive(int index, int live, StateBuffer buffer) {
+    int state = buffer.getState(index);
+    if (live == 3 || (state == GameOfLifeCell.ALIVE && live == 2)) {
+      buffer.setNextState(index, GameOfLifeCell.ALIVE);
+    } else {
+      buffer.setNextState(index, GameOfLifeCell.DEAD);
+    }
+    return Cell.NO_MOVEMENT;
+  }
+}
@@ -0,0 +1,506 @@
+package cellsociety.model.gameoflife;
+
+import cellsociety.model.Grid;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs GameOfLife on an unbounded plane with Gosper's Hashlife algorithm. The plane is stored as
+ * a quadtree whose nodes are interned, so every distinct square of cells exists only once, and
+ * each node remembers the centered square it turns into after 2^j generations. Empty space and
+ * repeated patterns therefore cost nothing to store or update, and a single call can jump ahead
+ * 2^k generations.
+ * Cells are addressed by (x, y) with the top left cell of the XML grid at (0, 0). The engine keeps
+ * a viewport that follows the same rule as Grid.checkGridExpansion(): whenever a live cell reaches
+ * the outer two rings on one side of the viewport, that side grows by the expansion margin, and
+ * once the padded bounding box of live cells covers less than the shrink threshold of the
+ * viewport, the viewport is cut down to it.
+ * Assumptions: square cells, neighborhoodSize of 8, state 1 is alive and 0 is dead.
+ * Dependencies: Grid, java.util.*
+ * Example:
+ * '''
+ * HashLifeEngine engine = new HashLifeEngine(states, width, height, margin, threshold);
+ * engine.step(10);
+ * List<Integer> states = engine.viewGrid();
+ * '''
+ */
+public class HashLifeEngine {
+
+  private static final int MIN_LEVEL = 3;
+  private static final int MAX_NODES = 1 << 21;
+  private static final int MAX_EXPONENT = 48;
+
+  private final Map<Node, Node> nodes = new HashMap<>();
+  private final List<Node> emptyNodes = new ArrayList<>();
+  private final Node dead;
+  private final Node alive;
+  private final int margin;
+  private final int shrinkThreshold;
+  private final int minWidth;
+  private final int minHeight;
+  private Node root;
+  private long viewLeft;
+  private long viewTop;
+  private int viewWidth;
+  private int viewHeight;
+  private long generation;
+
+  /**
+   * Constructor. Builds the quadtree from the cell states of a grid.
+   *
+   * @param states cell states row by row, 1 for alive
+   * @param width grid width
+   * @param height grid height
+   * @param margin rows or columns added to a side of the viewport when it grows, at least
+   *     Grid.EDGE_RINGS
+   * @param shrinkThreshold percentage of the viewport the padded live cells must cover before the
+   *     viewport shrinks to them, 0 to never shrink
+   */
+  public HashLifeEngine(List<Integer> states, int width, int height, int margin,
+      int shrinkThreshold) {
+    this.margin = margin;
+    this.shrinkThreshold = shrinkThreshold;
+    this.minWidth = width;
+    this.minHeight = height;
+    this.dead = new Node(0);
+    this.alive = new Node(1);
+    this.viewWidth = width;
+    this.viewHeight = height;
+    int level = MIN_LEVEL;
+    while ((1L << (level - 1)) < Math.max(width, height)) {
+      level++;
+    }
+    this.root = empty(level);
+    for (int i = 0; i < states.size(); i++) {
+      if (states.get(i) == 1) {
+        root = setCell(root, i % width, i / width);
+      }
+    }
+  }
+
+  /**
+   * Returns viewport size.
+   *
+   * @return [width, height]
+   */
+  public int[] getDimensions() {
+    return new int[]{viewWidth, viewHeight};
+  }
+
+  /**
+   * Returns number of generations run since the engine was built.
+   *
+   * @return long generation count
+   */
+  public long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Returns number of live cells on the whole plane.
+   *
+   * @return long population
+   */
+  public long getPopulation() {
+    return root.population;
+  }
+
+  /**
+   * Returns states of the cells inside the viewport, row by row.
+   *
+   * @return integer array list of cell states
+   */
+  public List<Integer> viewGrid() {
+    return viewRegion(viewLeft, viewTop, viewWidth, viewHeight);
+  }
+
+  /**
+   * Returns states of the cells inside any rectangle of the plane, row by row. Useful to look at a
+   * small part of a pattern after the viewport has grown too large to draw.
+   *
+   * @param left x of the leftmost column
+   * @param top y of the top row
+   * @param width number of columns
+   * @param height number of rows
+   * @return integer array list of cell states
+   */
+  public List<Integer> viewRegion(long left, long top, int width, int height) {
+    List<Integer> states = new ArrayList<>(width * height);
+    for (long y = top; y < top + height; y++) {
+      for (long x = left; x < left + width; x++) {
+        states.add(getCell(x, y));
+      }
+    }
+    return states;
+  }
+
+  /**
+   * Returns state of the cell at (x, y).
+   *
+   * @param x column
+   * @param y row
+   * @return 1 if alive, 0 otherwise
+   */
+  public int getCell(long x, long y) {
+    long half = 1L << (root.level - 1);
+    if (x < -half || x >= half || y < -half || y >= half) {
+      return 0;
+    }
+    Node node = root;
+    while (node.level > 0) {
+      half = node.level == 1 ? 0 : 1L << (node.level - 2);
+      boolean east = x >= 0;
+      boolean south = y >= 0;
+      node = south ? (east ? node.se : node.sw) : (east ? node.ne : node.nw);
+      if (node.population == 0) {
+        return 0;
+      }
+      x += east ? -half : half;
+      y += south ? -half : half;
+    }
+    return (int) node.population;
+  }
+
+  /**
+   * Runs one generation, growing the viewport first exactly as Grid.updateCells() does, so the
+   * states and dimensions match the cell engine generation for generation.
+   */
+  public void updateCells() {
+    fitView();
+    advance(0);
+  }
+
+  /**
+   * Runs 2^exponent generations at once, then grows the viewport as many margins as it takes for
+   * every live cell to be inside it and clear of the outer two rings, and shrinks it if the live
+   * cells only cover a small part of it. After long jumps the
+   * viewport may be too large to draw; use viewRegion() to look at part of it.
+   *
+   * @param exponent base two logarithm of the number of generations to run
+   */
+  public void step(int exponent) {
+    if (exponent < 0 || exponent > MAX_EXPONENT) {
+      throw new IllegalArgumentException("exponent " + exponent);
+    }
+    advance(exponent);
+    fitView();
+  }
+
+  /**
+   * Moves the whole plane 2^exponent generations ahead. The root first grows until all live cells
+   * sit in the middle quarter of its width and it is at least exponent + 3 levels deep, so
+   * nothing can grow past the centered square the successor returns.
+   */
+  private void advance(int exponent) {
+    while (root.level < exponent + MIN_LEVEL
+        || centeredSubnode(centeredSubnode(root)).population != root.population) {
+      root = expand(root);
+    }
+    root = successor(root, exponent);
+    generation += 1L << exponent;
+    if (nodes.size() > MAX_NODES) {
+      collect();
+    }
+  }
+
+  /**
+   * Grows each side of the viewport that has a live cell within its outer two rings, or past it,
+   * by whole margins until the live cells are clear of those rings again. Then shrinks it the
+   * same way Grid.checkGridShrink() does.
+   */
+  private void fitView() {
+    if (root.population == 0) {
+      return;
+    }
+    long[] bounds = {Long.MAX_VALUE, Long.MAX_VALUE, Long.MIN_VALUE, Long.MIN_VALUE};
+    long half = 1L << (root.level - 1);
+    findBounds(root, -half, -half, bounds);
+    long left = viewLeft - margins(viewLeft + Grid.EDGE_RINGS - bounds[0]);
+    long top = viewTop - margins(viewTop + Grid.EDGE_RINGS - bounds[1]);
+    long right = viewLeft + viewWidth
+        + margins(bounds[2] - (viewLeft + viewWidth - Grid.EDGE_RINGS) + 1);
+    long bottom = viewTop + viewHeight
+        + margins(bounds[3] - (viewTop + viewHeight - Grid.EDGE_RINGS) + 1);
+    if (right - left > Integer.MAX_VALUE || bottom - top > Integer.MAX_VALUE) {
+      throw new IllegalStateException("viewport too large");
+    }
+    viewLeft = left;
+    viewTop = top;
+    viewWidth = (int) (right - left);
+    viewHeight = (int) (bottom - top);
+    shrinkView(bounds);
+  }
+
+  /**
+   * Cuts the viewport down to the live cells padded by the margin and the outer rings, at least
+   * as large as the XML grid, once that covers less than shrinkThreshold percent of it.
+   */
+  private void shrinkView(long[] bounds) {
+    if (shrinkThreshold <= 0) {
+      return;
+    }
+    int pad = Grid.EDGE_RINGS + margin;
+    int[] columns = Grid.shrinkSpan((int) (bounds[0] - viewLeft) - pad,
+        (int) (bounds[2] - viewLeft) + 1 + pad, minWidth, viewWidth);
+    int[] rows = Grid.shrinkSpan((int) (bounds[1] - viewTop) - pad,
+        (int) (bounds[3] - viewTop) + 1 + pad, minHeight, viewHeight);
+    if ((long) columns[1] * rows[1] * 100 < (long) shrinkThreshold * viewWidth * viewHeight) {
+      viewLeft += columns[0];
+      viewTop += rows[0];
+      viewWidth = columns[1];
+      viewHeight = rows[1];
+    }
+  }
+
+  /**
+   * Returns how far a side moves to clear overlap cells: overlap rounded up to whole margins.
+   */
+  private long margins(long overlap) {
+    return overlap <= 0 ? 0 : (overlap + margin - 1) / margin * margin;
+  }
+
+  /**
+   * Widens bounds, as {minX, minY, maxX, maxY}, to cover every live cell of node, whose top left
+   * cell is at (x, y). Skips nodes that are empty or already inside bounds.
+   */
+  private void findBounds(Node node, long x, long y, long[] bounds) {
+    long size = 1L << node.level;
+    if (node.population == 0 || (x >= bounds[0] && y >= bounds[1] && x + size - 1 <= bounds[2]
+        && y + size - 1 <= bounds[3])) {
+      return;
+    }
+    if (node.level == 0) {
+      bounds[0] = Math.min(bounds[0], x);
+      bounds[1] = Math.min(bounds[1], y);
+      bounds[2] = Math.max(bounds[2], x);
+      bounds[3] = Math.max(bounds[3], y);
+      return;
+    }
+    long half = size / 2;
+    findBounds(node.nw, x, y, bounds);
+    findBounds(node.ne, x + half, y, bounds);
+    findBounds(node.sw, x, y + half, bounds);
+    findBounds(node.se, x + half, y + half, bounds);
+  }
+
+  /**
+   * Returns a copy of node with the cell at (x, y) alive, where (x, y) is measured from the
+   * center of node.
+   */
+  private Node setCell(Node node, long x, long y) {
+    if (node.level == 0) {
+      return alive;
+    }
+    long half = node.level == 1 ? 0 : 1L << (node.level - 2);
+    boolean east = x >= 0;
+    boolean south = y >= 0;
+    long childX = x + (east ? -half : half);
+    long childY = y + (south ? -half : half);
+    Node nw = node.nw;
+    Node ne = node.ne;
+    Node sw = node.sw;
+    Node se = node.se;
+    if (south) {
+      if (east) {
+        se = setCell(se, childX, childY);
+      } else {
+        sw = setCell(sw, childX, childY);
+      }
+    } else if (east) {
+      ne = setCell(ne, childX, childY);
+    } else {
+      nw = setCell(nw, childX, childY);
+    }
+    return node(nw, ne, sw, se);
+  }
+
+  /**
+   * Returns node one level larger with node in its center and empty space around it.
+   */
+  private Node expand(Node node) {
+    Node border = empty(node.level - 1);
+    return node(node(border, border, border, node.nw), node(border, border, node.ne, border),
+        node(border, node.sw, border, border), node(node.se, border, border, border));
+  }
+
+  /**
+   * Returns the centered node one level smaller than node, advanced 2^exponent generations.
+   * Requires exponent to be at most node.level - 2. Results are remembered on the node.
+   */
+  private Node successor(Node node, int exponent) {
+    if (node.population == 0) {
+      return empty(node.level - 1);
+    }
+    if (node.results == null) {
+      node.results = new Node[node.level - 1];
+    }
+    if (node.results[exponent] != null) {
+      return node.results[exponent];
+    }
+    Node result;
+    if (node.level == 2) {
+      result = lifeStep(node);
+    } else {
+      boolean full = exponent == node.level - 2;
+      Node[] nine = {
+          node.nw, centeredHorizontal(node.nw, node.ne), node.ne,
+          centeredVertical(node.nw, node.sw), centeredSubnode(node),
+          centeredVertical(node.ne, node.se),
+          node.sw, centeredHorizontal(node.sw, node.se), node.se};
+      for (int i = 0; i < nine.length; i++) {
+        nine[i] = full ? successor(nine[i], exponent - 1) : centeredSubnode(nine[i]);
+      }
+      int next = full ? exponent - 1 : exponent;
+      result = node(
+          successor(node(nine[0], nine[1], nine[3], nine[4]), next),
+          successor(node(nine[1], nine[2], nine[4], nine[5]), next),
+          successor(node(nine[3], nine[4], nine[6], nine[7]), next),
+          successor(node(nine[4], nine[5], nine[7], nine[8]), next));
+    }
+    node.results[exponent] = result;
+    return result;
+  }
+
+  /**
+   * Runs one generation of the 4x4 square node and returns its center 2x2 square.
+   */
+  private Node lifeStep(Node node) {
+    int[] cells = new int[16];
+    Node[] quarters = {node.nw, node.ne, node.sw, node.se};
+    for (int q = 0; q < quarters.length; q++) {
+      int x = (q % 2) * 2;
+      int y = (q / 2) * 2;
+      cells[y * 4 + x] = (int) quarters[q].nw.population;
+      cells[y * 4 + x + 1] = (int) quarters[q].ne.population;
+      cells[(y + 1) * 4 + x] = (int) quarters[q].sw.population;
+      cells[(y + 1) * 4 + x + 1] = (int) quarters[q].se.population;
+    }
+    return node(nextCell(cells, 1, 1), nextCell(cells, 2, 1), nextCell(cells, 1, 2),
+        nextCell(cells, 2, 2));
+  }
+
+  private Node nextCell(int[] cells, int x, int y) {
+    int liveNeighbors = 0;
+    for (int dy = -1; dy <= 1; dy++) {
+      for (int dx = -1; dx <= 1; dx++) {
+        if (dx != 0 || dy != 0) {
+          liveNeighbors += cells[(y + dy) * 4 + x + dx];
+        }
+      }
+    }
+    boolean isAlive = cells[y * 4 + x] == 1;
+    return liveNeighbors == 3 || (isAlive && liveNeighbors == 2) ? alive : dead;
+  }
+
+  private Node centeredSubnode(Node node) {
+    return node(node.nw.se, node.ne.sw, node.sw.ne, node.se.nw);
+  }
+
+  private Node centeredHorizontal(Node west, Node east) {
+    return node(west.ne, east.nw, west.se, east.sw);
+  }
+
+  private Node centeredVertical(Node north, Node south) {
+    return node(north.sw, north.se, south.nw, south.ne);
+  }
+
+  private Node empty(int level) {
+    while (emptyNodes.size() <= level) {
+      if (emptyNodes.isEmpty()) {
+        emptyNodes.add(dead);
+      } else {
+        Node smaller = emptyNodes.get(emptyNodes.size() - 1);
+        emptyNodes.add(node(smaller, smaller, smaller, smaller));
+      }
+    }
+    return emptyNodes.get(level);
+  }
+
+  /**
+   * Returns the one node with these four children, creating it the first time it is asked for.
+   */
+  private Node node(Node nw, Node ne, Node sw, Node se) {
+    Node node = new Node(nw, ne, sw, se);
+    Node existing = nodes.putIfAbsent(node, node);
+    return existing == null ? node : existing;
+  }
+
+  /**
+   * Drops every node and remembered result that the current root no longer uses.
+   */
+  private void collect() {
+    nodes.clear();
+    emptyNodes.clear();
+    root = copy(root, new IdentityHashMap<>());
+  }
+
+  private Node copy(Node node, Map<Node, Node> copies) {
+    if (node.level == 0) {
+      return node;
+    }
+    Node copied = copies.get(node);
+    if (copied == null) {
+      copied = node(copy(node.nw, copies), copy(node.ne, copies), copy(node.sw, copies),
+          copy(node.se, copies));
+      copies.put(node, copied);
+    }
+    return copied;
+  }
+
+  /**
+   * Square of 2^level by 2^level cells. Level 0 nodes are single cells. Two nodes are equal when
+   * they have the very same children, which interning makes the same as having the same cells.
+   */
+  private static class Node {
+
+    private final int level;
+    private final long population;
+    private final Node nw;
+    private final Node ne;
+    private final Node sw;
+    private final Node se;
+    private final int hash;
+    private Node[] results;
+
+    Node(int state) {
+      this.level = 0;
+      this.population = state;
+      this.nw = null;
+      this.ne = null;
+      this.sw = null;
+      this.se = null;
+      this.hash = state;
+    }
+
+    Node(Node nw, Node ne, Node sw, Node se) {
+      this.level = nw.level + 1;
+      this.population = nw.population + ne.population + sw.population + se.population;
+      this.nw = nw;
+      this.ne = ne;
+      this.sw = sw;
+      this.se = se;
+      int h = System.identityHashCode(nw);
+      h = h * 31 + System.identityHashCode(ne);
+      h = h * 31 + System.identityHashCode(sw);
+      this.hash = h * 31 + System.identityHashCode(se);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+      if (!(other instanceof Node)) {
+        return false;
+      }
+      Node node = (Node) other;
+      return level == node.level && nw == node.nw && ne == node.ne && sw == node.sw
+          && se == node.se && (level > 0 || population == node.population);
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+  }
+}
@@ -1,12 +1,13 @@
 package cellsociety.model.percolation;
 
 import cellsociety.model.Cell;
+import cellsociety.model.MoveRequest;
 import java.util.Map;
 
 /**
  * Purpose: Represents a cell for the Percolation simulation. Extends the Cell class.
  * Assumptions: None.
- * Dependencies: Cell class and Map library.
+ * Dependencies: Cell and MoveRequest classes, Map library.
  * Example of use: Cell percolation = new PercolationCell(params).
  *
  * @author Jessica Yang
@@ -32,12 +33,12 @@ public class PercolationCell extends Cell {
   /**
    * Purpose: Determine new state to update to.
    * Assumptions: None.
-   * Parameters: int[] neighborStates.
+   * Parameters: int[] neighborStates, MoveRequest request.
    * Exceptions: None.
-   * Returns: Map object. Describes what needs to be moved, if any.
+   * Returns: None. Nothing ever moves.
    * Rules taken from https://www2.cs.duke.edu/courses/compsci308/current/assign/02_simulation/PercolationCA.pdf
    */
-  public Map<String, Integer> prepareNextState(int[] neighborStates) {
+  public void prepareNextState(int[] neighborStates, MoveRequest request) {
     setNextState(getState());
 
     if (getState() == OPEN) {
@@ -49,7 +50,6 @@ public class PercolationCell extends Cell {
       }
     }
 
-    setMoveStateValue(STATE_KEY, NO_MOVEMENT);
-    return getMoveStateCopy();
+    request.setState(NO_MOVEMENT);
   }
 }
@@ -2,6 +2,7 @@ package cellsociety.model.percolation;
 
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
+import cellsociety.model.engine.CellRule;
 import cellsociety.model.GridHelper;
 import java.util.List;
 import java.util.Map;
@@ -42,6 +43,28 @@ public class PercolationGrid extends Grid {
     return new PercolationCell(parameters);
   }
 
+  /**
+   * Returns PercolationRule object for the array engine.
+   *
+   * @param parameters game parameters from XML
+   * @return PercolationRule object
+   */
+  @Override
+  protected CellRule chooseRule(Map<String, Integer> parameters) {
+    return new PercolationRule();
+  }
+
+  /**
+   * Cells only read neighbor states and write their own next state, so they may be prepared in
+   * parallel.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean isParallelSafe() {
+    return true;
+  }
+
   /**
    * Neighborhood ignores cells on bottom as water cannot flow upwards.
    *
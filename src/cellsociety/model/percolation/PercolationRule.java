@@ -0,0 +1,75 @@
+package cellsociety.model.percolation;
+
+import cellsociety.model.Cell;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.StateBuffer;
+
+/**
+ * Purpose: Percolation rules for the array engine. Same rules as PercolationCell.
+ * Assumptions: None.
+ * Dependencies: CellRule, StateBuffer, PercolationCell.
+ * Example of use: CellRule rule = new PercolationRule().
+ */
+public class PercolationRule extends CellRule {
+
+  /**
+   * Purpose: Constructor for PercolationRule class.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: PercolationRule object.
+   */
+  public PercolationRule() {
+    setMaxStateValue(PercolationCell.PERCOLATED);
+  }
+
+  /**
+   * Purpose: Cells only read neighbor states and write their own next state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean isParallelSafe() {
+    return true;
+  }
+
+  /**
+   * Purpose: Open cells only percolate when a neighbor has percolated, which is a change the
+   *    neighbor made in an earlier generation.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean skipsQuietCells() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to.
+   * Assumptions: None.
+   * Parameters: int index, int[] neighborStates, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type. There should never be any movement.
+   * Rules taken from https://www2.cs.duke.edu/courses/compsci308/current/assign/02_simulation/PercolationCA.pdf
+   */
+  @Override
+  public int prepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer) {
+    int state = buffer.getState(index);
+    buffer.setNextState(index, state);
+
+    if (state == PercolationCell.OPEN) {
+      for (int i = 0; i < neighborCount; i++) {
+        if (neighborStates[i] == PercolationCell.PERCOLATED) {
+          buffer.setNextState(index, PercolationCell.PERCOLATED);
+          break;
+        }
+      }
+    }
+    return Cell.NO_MOVEMENT;
+  }
+}
@@ -1,13 +1,13 @@
 package cellsociety.model.rps;
 
 import cellsociety.model.Cell;
+import cellsociety.model.MoveRequest;
 import java.util.Map;
-import java.util.Random;
 
 /**
  * Purpose: Represents a cell for the Rock Paper Scissors simulation. Extends the Cell class.
  * Assumptions: None.
- * Dependencies: Cell class, Map and Random libraries.
+ * Dependencies: Cell and MoveRequest classes, Map library.
  * Example of use: None.
  *
  * @author Jessica Yang
@@ -17,9 +17,10 @@ public class RPSCell extends Cell {
   public static final int ROCK = 0;
   public static final int PAPER = 1;
   public static final int SCISSORS = 2;
+  static final int BUFFER_DRAW = 0;
+  static final int BASE_STATE_DRAW = 1;
   private final String loseThresholdKey = "loseThreshold";
   private final String bufferBoundKey = "bufferBound";
-  private final Random randBuff = new Random();
   private int loseThreshold = 3;
   private int bufferBound = 1;
 
@@ -46,8 +47,9 @@ public class RPSCell extends Cell {
   }
 
   /**
-   * Purpose: Returns default state for Cell upon grid size expansion.
-   * Assumptions: None.
+   * Purpose: Returns default state for Cell upon grid size expansion, drawn from the stream of
+   *    the index the new cell takes.
+   * Assumptions: setRandom has been called.
    * Parameters: None.
    * HashMap object.
    * Exceptions: None.
@@ -55,19 +57,30 @@ public class RPSCell extends Cell {
    */
   @Override
   public int getBaseState() {
-    Random randState = new Random();
-    return randState.nextInt(SCISSORS + 1);
+    return nextRandomInt(BASE_STATE_DRAW, SCISSORS + 1);
+  }
+
+  /**
+   * Purpose: Base state is picked at random, so empty space is not a single state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean false.
+   */
+  @Override
+  public boolean hasFixedBaseState() {
+    return false;
   }
 
   /**
    * Purpose: Determine new state to update to. nextState should be set to the winner's state.
    * Assumptions: None.
-   * Parameters: int[] neighborStates.
+   * Parameters: int[] neighborStates, MoveRequest request.
    * Exceptions: None.
-   * Returns: Map object. There should never be any movement.
+   * Returns: None. There should never be any movement.
    * Rules taken from https://softologyblog.wordpress.com/2018/03/23/rock-paper-scissors-cellular-automata/
    */
-  public Map<String, Integer> prepareNextState(int[] neighborStates) {
+  public void prepareNextState(int[] neighborStates, MoveRequest request) {
     if (getState() == ROCK && checkLose(PAPER, neighborStates)) {
       setNextState(PAPER);
     } else if (getState() == PAPER && checkLose(SCISSORS, neighborStates)) {
@@ -78,13 +91,12 @@ public class RPSCell extends Cell {
       setNextState(getState());
     }
 
-    setMoveStateValue(STATE_KEY, NO_MOVEMENT);
-    return getMoveStateCopy();
+    request.setState(NO_MOVEMENT);
   }
 
   private boolean checkLose(int opponentState, int[] neighborStates) {
     int opponentCount = 0;
-    int buffer = randBuff.nextInt(bufferBound);
+    int buffer = nextRandomInt(BUFFER_DRAW, bufferBound);
 
     for (int state : neighborStates) {
       if (state == opponentState) {
@@ -2,6 +2,7 @@ package cellsociety.model.rps;
 
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
+import cellsociety.model.engine.CellRule;
 import java.util.List;
 import java.util.Map;
 
@@ -41,4 +42,26 @@ public class RPSGrid extends Grid {
   protected Cell chooseCell(Map<String, Integer> parameters) throws Exception {
     return new RPSCell(parameters);
   }
+
+  /**
+   * Returns RPSRule object for the array engine.
+   *
+   * @param parameters game parameters from XML
+   * @return RPSRule object
+   */
+  @Override
+  protected CellRule chooseRule(Map<String, Integer> parameters) throws Exception {
+    return new RPSRule(parameters);
+  }
+
+  /**
+   * Cells only read neighbor states and write their own next state, so they may be prepared in
+   * parallel.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean isParallelSafe() {
+    return true;
+  }
 }
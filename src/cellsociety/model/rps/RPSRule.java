@@ -0,0 +1,172 @@
+package cellsociety.model.rps;
+
+import cellsociety.model.Cell;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.SimulationRandom;
+import cellsociety.model.engine.StateBuffer;
+import java.util.Map;
+
+/**
+ * Purpose: Rock Paper Scissors rules for the array engine. Same rules as RPSCell, drawing from
+ *    the random numbers of the simulation, so a seeded grid plays out the same way on any number
+ *    of cores and the same way as with RPSCells.
+ * Assumptions: Map will contain the keys "loseThreshold" and "bufferBound".
+ * Dependencies: CellRule, StateBuffer, SimulationRandom, RPSCell and Map library.
+ * Example of use: CellRule rule = new RPSRule(params).
+ */
+public class RPSRule extends CellRule {
+
+  private final String loseThresholdKey = "loseThreshold";
+  private final String bufferBoundKey = "bufferBound";
+  private int loseThreshold = 3;
+  private int bufferBound = 1;
+
+  /**
+   * Purpose: Constructor for RPSRule class.
+   * Assumptions: None.
+   * Parameters: Map config.
+   * Exceptions: Throws exception if a parameter is missing.
+   * Returns: RPSRule object.
+   */
+  public RPSRule(Map<String, Integer> config) throws Exception {
+    setMaxStateValue(RPSCell.SCISSORS);
+    try {
+      loseThreshold = config.get(loseThresholdKey);
+      bufferBound = config.get(bufferBoundKey);
+    } catch (Exception e) {
+      throw new Exception(Cell.PARAMETER_EXCEPTION_MESSAGE);
+    }
+  }
+
+  /**
+   * Purpose: Returns default state for cells upon grid size expansion, drawn from the grid's own
+   *    stream. Every call in one generation returns the same state; use getBaseState(stream) to
+   *    draw one per cell.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  @Override
+  public int getBaseState() {
+    return getBaseState(SimulationRandom.GRID_STREAM);
+  }
+
+  /**
+   * Purpose: Returns default state for the cell that takes an index upon grid size expansion,
+   *    drawn the same way as RPSCell.getBaseState() for a cell at that index.
+   * Assumptions: None.
+   * Parameters: long stream, index of the new cell.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  @Override
+  public int getBaseState(long stream) {
+    return getRandom().nextInt(stream, RPSCell.BASE_STATE_DRAW, RPSCell.SCISSORS + 1);
+  }
+
+  /**
+   * Purpose: Base state is picked at random, so empty space is not a single state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean false.
+   */
+  @Override
+  public boolean hasFixedBaseState() {
+    return false;
+  }
+
+  /**
+   * Purpose: Cells only read neighbor states and write their own next state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean isParallelSafe() {
+    return true;
+  }
+
+  /**
+   * Purpose: Next state only depends on how many neighbors beat the cell, so a still
+   *    neighborhood stays still. With a random buffer a cell may lose to neighbors that have not
+   *    changed, so only a bufferBound of 1 allows skipping.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  @Override
+  public boolean skipsQuietCells() {
+    return bufferBound <= 1;
+  }
+
+  /**
+   * Purpose: Determine new state to update to. Next state should be set to the winner's state.
+   * Assumptions: None.
+   * Parameters: int index, int[] neighborStates, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type. There should never be any movement.
+   * Rules taken from https://softologyblog.wordpress.com/2018/03/23/rock-paper-scissors-cellular-automata/
+   */
+  @Override
+  public int prepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer) {
+    int opponent = findOpponent(buffer.getState(index));
+    int opponentCount = 0;
+    for (int i = 0; i < neighborCount; i++) {
+      if (neighborStates[i] == opponent) {
+        opponentCount++;
+      }
+    }
+    return prepareFromOpponents(index, opponent, opponentCount, buffer);
+  }
+
+  /**
+   * Purpose: Next state only depends on how many neighbors are in each state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean usesStateCounts() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to from the number of neighbors in the state that
+   *    beats this cell.
+   * Assumptions: None.
+   * Parameters: int index, int[] stateCounts, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type. There should never be any movement.
+   */
+  @Override
+  public int prepareFromCounts(int index, int[] stateCounts, int neighborCount,
+      StateBuffer buffer) {
+    int opponent = findOpponent(buffer.getState(index));
+    return prepareFromOpponents(index, opponent, stateCounts[opponent], buffer);
+  }
+
+  private int findOpponent(int state) {
+    return (state + 1) % (RPSCell.SCISSORS + 1);
+  }
+
+  private int prepareFromOpponents(int index, int opponent, int opponentCount,
+      StateBuffer buffer) {
+    if (checkLose(index, opponentCount, buffer)) {
+      buffer.setNextState(index, opponent);
+    } else {
+      buffer.setNextState(index, buffer.getState(index));
+    }
+    return Cell.NO_MOVEMENT;
+  }
+
+  private boolean checkLose(int index, int opponentCount, StateBuffer buffer) {
+    int loseBuffer = nextRandomInt(index, RPSCell.BUFFER_DRAW, bufferBound, buffer);
+    return opponentCount + loseBuffer >= loseThreshold;
+  }
+}
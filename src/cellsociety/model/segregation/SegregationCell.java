@@ -1,12 +1,13 @@
 package cellsociety.model.segregation;
 
 import cellsociety.model.Cell;
+import cellsociety.model.MoveRequest;
 import java.util.Map;
 
 /**
  * Purpose: Represents a cell for the Segregation simulation. Extends the Cell class.
  * Assumptions: None.
- * Dependencies: Cell class and Map library.
+ * Dependencies: Cell and MoveRequest classes, Map library.
  * Example of use: Cell segregation = new SegregationCell(params).
  *
  * @author Jessica Yang
@@ -43,28 +44,26 @@ public class SegregationCell extends Cell {
   /**
    * Purpose: Determine new state to update to.
    * Assumptions: None.
-   * Parameters: int[] neighborStates.
+   * Parameters: int[] neighborStates, MoveRequest request.
    * Exceptions: None.
-   * Returns: Map object. Describes what needs to be moved, if any.
+   * Returns: None. Fills request with what needs to be moved, if any.
    * Rules taken from https://www2.cs.duke.edu/courses/compsci308/current/assign/02_simulation/nifty/mccown-schelling-model-segregation/
    */
-  public Map<String, Integer> prepareNextState(int[] neighborStates) {
+  public void prepareNextState(int[] neighborStates, MoveRequest request) {
     if (getState() == EMPTY) {
       setNextState(EMPTY);
-      setMoveStateValue(STATE_KEY, NO_MOVEMENT);
+      request.setState(NO_MOVEMENT);
     } else {
       double similar = calculateSimilarity(neighborStates);
 
       if (similar >= myThreshold) {
         setNextState(getState());
-        setMoveStateValue(STATE_KEY, NO_MOVEMENT);
+        request.setState(NO_MOVEMENT);
       } else {
         setNextState(EMPTY);
-        setMoveStateValue(STATE_KEY, getState());
+        request.setState(getState());
       }
     }
-
-    return getMoveStateCopy();
   }
 
   private double calculateSimilarity(int[] neighborStates) {
@@ -84,15 +83,15 @@ public class SegregationCell extends Cell {
   }
 
   /**
-   * Purpose: Accepts Map information with new state information. Will default to return false.
+   * Purpose: Accepts MoveRequest with new state information. Will default to return false.
    * Assumptions: Grid will not pass call this method when the 'state' field is NO_MOVEMENT (-1).
-   * Parameters: Map object.
+   * Parameters: MoveRequest object.
    * Exceptions: None.
    * Returns: boolean type.
    */
   @Override
-  public boolean receiveUpdate(Map<String, Integer> newInfo) {
-    int incomingState = newInfo.get(STATE_KEY);
+  public boolean receiveUpdate(MoveRequest newInfo) {
+    int incomingState = newInfo.getState();
     if (getNextState() != EMPTY) {
       return false;
     } else {
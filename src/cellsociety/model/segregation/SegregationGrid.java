@@ -2,7 +2,7 @@ package cellsociety.model.segregation;
 
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
-import java.util.ArrayList;
+import cellsociety.model.engine.CellRule;
 import java.util.List;
 import java.util.Map;
 
@@ -43,19 +43,34 @@ public class SegregationGrid extends Grid {
   }
 
   /**
-   * Returns random cells to try and move to.
+   * Returns SegregationRule object for the array engine.
    *
-   * @param index of cell trying to move
-   * @return all cells except index in random order
+   * @param parameters game parameters from XML
+   * @return SegregationRule object
    */
   @Override
-  protected List<Integer> findPotentialMoves(int index) {
-    List<Integer> places = new ArrayList<>();
-    for (int i = 0; i < getGrid().size(); i++) {
-      if (i != index) {
-        places.add(i);
-      }
-    }
-    return places;
+  protected CellRule chooseRule(Map<String, Integer> parameters) throws Exception {
+    return new SegregationRule(parameters);
+  }
+
+  /**
+   * Cells only change themselves while preparing, and a move only changes the receiving cell, so
+   * cells may be prepared and moved in parallel.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean isParallelSafe() {
+    return true;
+  }
+
+  /**
+   * Unhappy agents move to a random empty cell anywhere in the grid.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean movesToEmptyCells() {
+    return true;
   }
 }
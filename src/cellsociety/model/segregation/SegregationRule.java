@@ -0,0 +1,164 @@
+package cellsociety.model.segregation;
+
+import cellsociety.model.Cell;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.StateBuffer;
+import java.util.Map;
+
+/**
+ * Purpose: Segregation rules for the array engine. Same rules as SegregationCell.
+ * Assumptions: config will include the key "threshold", with an integer value.
+ * Dependencies: CellRule, StateBuffer, SegregationCell, Map library.
+ * Example of use: CellRule rule = new SegregationRule(params).
+ */
+public class SegregationRule extends CellRule {
+
+  private final String thresholdKey = "threshold";
+  private double myThreshold = 0.5;
+
+  /**
+   * Purpose: Constructor for SegregationRule class.
+   * Assumptions: config will include the key "threshold", with an integer value.
+   * Parameters: Map config.
+   * Exceptions: Throws exception if "threshold" is missing.
+   * Returns: SegregationRule object.
+   */
+  public SegregationRule(Map<String, Integer> config) throws Exception {
+    setMaxStateValue(SegregationCell.AGENT_B);
+    try {
+      myThreshold = (double) config.get(thresholdKey) / 100;
+    } catch (Exception e) {
+      throw new Exception(Cell.PARAMETER_EXCEPTION_MESSAGE);
+    }
+  }
+
+  /**
+   * Purpose: Cells only write their own index while preparing, and moves only write the target.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean isParallelSafe() {
+    return true;
+  }
+
+  /**
+   * Purpose: Cells move to other indexes.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean movesCells() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to. Unhappy agents leave an empty cell behind and ask
+   *    to move.
+   * Assumptions: None.
+   * Parameters: int index, int[] neighborStates, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int state of an agent that wants to move, or Cell.NO_MOVEMENT.
+   * Rules taken from https://www2.cs.duke.edu/courses/compsci308/current/assign/02_simulation/nifty/mccown-schelling-model-segregation/
+   */
+  @Override
+  public int prepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer) {
+    int state = buffer.getState(index);
+    if (state == SegregationCell.EMPTY) {
+      buffer.setNextState(index, SegregationCell.EMPTY);
+      return Cell.NO_MOVEMENT;
+    }
+    return prepareFromSimilarity(index, state,
+        calculateSimilarity(state, neighborStates, neighborCount), buffer);
+  }
+
+  /**
+   * Purpose: Next state only depends on how many neighbors are in each state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean usesStateCounts() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to from the number of neighbors in each state.
+   * Assumptions: None.
+   * Parameters: int index, int[] stateCounts, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int state of an agent that wants to move, or Cell.NO_MOVEMENT.
+   */
+  @Override
+  public int prepareFromCounts(int index, int[] stateCounts, int neighborCount,
+      StateBuffer buffer) {
+    int state = buffer.getState(index);
+    if (state == SegregationCell.EMPTY) {
+      buffer.setNextState(index, SegregationCell.EMPTY);
+      return Cell.NO_MOVEMENT;
+    }
+    int nonEmpty = neighborCount - stateCounts[SegregationCell.EMPTY];
+    return prepareFromSimilarity(index, state, (double) stateCounts[state] / nonEmpty, buffer);
+  }
+
+  private int prepareFromSimilarity(int index, int state, double similarity,
+      StateBuffer buffer) {
+    if (similarity >= myThreshold) {
+      buffer.setNextState(index, state);
+      return Cell.NO_MOVEMENT;
+    }
+    buffer.setNextState(index, SegregationCell.EMPTY);
+    return state;
+  }
+
+  private double calculateSimilarity(int state, int[] neighborStates, int neighborCount) {
+    int nonEmpty = 0;
+    int sameState = 0;
+
+    for (int i = 0; i < neighborCount; i++) {
+      if (neighborStates[i] != SegregationCell.EMPTY) {
+        nonEmpty++;
+        if (neighborStates[i] == state) {
+          sameState++;
+        }
+      }
+    }
+
+    return (double) sameState / nonEmpty;
+  }
+
+  /**
+   * Purpose: Unhappy agents move to a random empty cell anywhere in the grid.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean movesToEmptyCells() {
+    return true;
+  }
+
+  /**
+   * Purpose: Moves the agent into target if nothing else will be there next generation.
+   * Assumptions: mover asked to move this generation.
+   * Parameters: int target, int mover, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  @Override
+  public boolean receiveUpdate(int target, int mover, StateBuffer buffer) {
+    if (buffer.getNextState(target) != SegregationCell.EMPTY) {
+      return false;
+    }
+    buffer.setNextState(target, buffer.getMoveState(mover));
+    return true;
+  }
+}
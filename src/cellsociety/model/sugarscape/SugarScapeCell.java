@@ -1,13 +1,14 @@
 package cellsociety.model.sugarscape;
 
 import cellsociety.model.Cell;
+import cellsociety.model.MoveRequest;
 import java.util.Map;
-import java.util.Random;
+import cellsociety.model.engine.SimulationRandom;
 
 /**
  * Purpose: Represents a cell for the SugarScape simulation. Extends the Cell class.
  * Assumptions: None.
- * Dependencies: Cell class, Random and Map libraries.
+ * Dependencies: Cell and MoveRequest classes, SimulationRandom, Map library.
  * Example of use: Cell sugarScape = new SugarScapeCell(params).
  *
  * @author Jessica Yang
@@ -20,7 +21,6 @@ public class SugarScapeCell extends Cell {
   private final String agentVisionMaxKey = "agentVisionMax";
   private final String agentSugarMetabolismMaxKey = "agentSugarMetabolismMax";
   private final String agentInitialSugarKey = "agentInitialSugar";
-  private final Random randGen = new Random();
   private int neighborNumMax = 8;
   private int agentVisionMax = 8;
   private int agentSugarMetabolismMax = 3;
@@ -37,10 +37,6 @@ public class SugarScapeCell extends Cell {
   private int patchSugar;
   private int patchIntervalCount;
 
-  private final String agentSugarMetabolismKey = "agentSugarMetabolism";
-  private final String agentVisionKey = "agentVision";
-  private final String agentSugarKey = "agentSugar";
-
   /**
    * Purpose: Constructor for SugarScapeCell class.
    * Assumptions: None.
@@ -52,12 +48,28 @@ public class SugarScapeCell extends Cell {
     super(config);
     setMaxStateValue(AGENT);
     checkParameters(config);
-    agentVision = randGen.nextInt(agentVisionMax) + 1;
-    agentSugarMetabolism = randGen.nextInt(agentSugarMetabolismMax) + 1;
     patchSugar = patchMaxSugar;
     patchIntervalCount = 0;
   }
 
+  /**
+   * Purpose: Hands over the random numbers of the grid. The first time, also draws the agent's
+   *    vision and metabolism, the same way SugarScapeRule draws them.
+   * Assumptions: None.
+   * Parameters: SimulationRandom random, long stream.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  @Override
+  public void setRandom(SimulationRandom random, long stream) {
+    super.setRandom(random, stream);
+    if (agentVision == 0) {
+      agentVision = nextRandomInt(SugarScapeRule.VISION_DRAW, agentVisionMax) + 1;
+      agentSugarMetabolism =
+          nextRandomInt(SugarScapeRule.METABOLISM_DRAW, agentSugarMetabolismMax) + 1;
+    }
+  }
+
   private void checkParameters(Map<String, Integer> config) throws Exception {
     try {
       neighborNumMax = config.get(neighborNumMaxKey);
@@ -92,23 +104,21 @@ public class SugarScapeCell extends Cell {
   /**
    * Purpose: Determine new state to update to.
    * Assumptions: Passed max number of neighbors from Grid.
-   * Parameters: int[] neighborStates.
+   * Parameters: int[] neighborStates, MoveRequest request.
    * Exceptions: None.
-   * Returns: Map object. There should never be any movement.
+   * Returns: None. Fills request with the agent that moves, if any.
    * Rules taken from https://www2.cs.duke.edu/courses/compsci308/current/assign/02_simulation/Sugarscape_Leicester.pdf
    */
-  public Map<String, Integer> prepareNextState(int[] neighborStates) {
+  public void prepareNextState(int[] neighborStates, MoveRequest request) {
     updatePatchSugar();
 
     if (getState() == AGENT) {
-      setMoveStateValue("state", AGENT);
-      updateMoveStateParam();
+      request.setState(AGENT);
+      updateMoveStateParam(request);
     } else {
-      setMoveStateValue("state", NO_MOVEMENT);
+      request.setState(NO_MOVEMENT);
     }
     setNextState(EMPTY);
-
-    return getMoveStateCopy();
   }
 
   private void updatePatchSugar() {
@@ -119,22 +129,22 @@ public class SugarScapeCell extends Cell {
     }
   }
 
-  private void updateMoveStateParam() {
-    setMoveStateValue(agentSugarKey, agentSugar);
-    setMoveStateValue(agentSugarMetabolismKey, agentSugarMetabolism);
-    setMoveStateValue(agentVisionKey, agentVision);
+  private void updateMoveStateParam(MoveRequest request) {
+    request.setAgentSugar(agentSugar);
+    request.setAgentSugarMetabolism(agentSugarMetabolism);
+    request.setAgentVision(agentVision);
   }
 
   /**
-   * Purpose: Accepts Map information with new state information.
+   * Purpose: Accepts MoveRequest with new state information.
    * Assumptions: Grid will not pass call this method when the 'state' field is NO_MOVEMENT (-1).
-   * Parameters: Map object.
+   * Parameters: MoveRequest object.
    * Exceptions: None.
    * Returns: None.
    */
   @Override
-  public boolean receiveUpdate(Map<String, Integer> newInfo) {
-    int incomingState = newInfo.get("state");
+  public boolean receiveUpdate(MoveRequest newInfo) {
+    int incomingState = newInfo.getState();
     int newAgentSugar = calcNewAgentSugar(newInfo);
 
     if (getNextState() == incomingState || newAgentSugar <= 0) {
@@ -142,15 +152,15 @@ public class SugarScapeCell extends Cell {
     } else {
       agentSugar = newAgentSugar;
       patchSugar = 0;
-      agentVision = newInfo.get(agentVisionKey);
+      agentVision = newInfo.getAgentVision();
       setNextState(incomingState);
       return true;
     }
   }
 
-  private int calcNewAgentSugar(Map<String, Integer> newInfo) {
-    int newAgentSugar = newInfo.get(agentSugarKey);
-    int newAgentSugarMetabolism = newInfo.get(agentSugarMetabolismKey);
+  private int calcNewAgentSugar(MoveRequest newInfo) {
+    int newAgentSugar = newInfo.getAgentSugar();
+    int newAgentSugarMetabolism = newInfo.getAgentSugarMetabolism();
 
     newAgentSugar += (patchSugar - newAgentSugarMetabolism);
 
@@ -167,4 +177,16 @@ public class SugarScapeCell extends Cell {
   public int getPatchSugar() {
     return patchSugar;
   }
+
+  /**
+   * Purpose: Tells Grid whether an agent already moved into this patch this generation. Every
+   *    agent leaves its patch while preparing, so only moves made since then take a patch.
+   * Assumptions: prepareNextState has been called this generation.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean isTaken() {
+    return getNextState() == AGENT;
+  }
 }
@@ -2,11 +2,9 @@ package cellsociety.model.sugarscape;
 
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
-import java.util.ArrayList;
-import java.util.Comparator;
+import cellsociety.model.engine.CellRule;
 import java.util.List;
 import java.util.Map;
-import javafx.util.Pair;
 
 /**
  * Allows for the simulation of SugarScape.
@@ -46,35 +44,63 @@ public class SugarScapeGrid extends Grid {
   }
 
   /**
-   * Orders neighboring cells by their sugar patch level as agents will move to the highest level.
-   * Assumptions: index is within the grid
+   * Returns SugarScapeRule object for the array engine.
    *
-   * @param index of cell trying to move
-   * @return indexes to be checked for receiving update
+   * @param parameters game parameters from XML
+   * @return SugarScapeRule object
    */
   @Override
-  protected List<Integer> findPotentialMoves(int index) {
-    // highest patch sugar
-    Cell cell = getGrid().get(index);
-    int[] neighbors = getNeighbors(cell);
-
-    List<Pair<Integer, Integer>> orderedNeighbors = new ArrayList<>();
-    for (int i : neighbors) {
-      SugarScapeCell neighbor = (SugarScapeCell) getGrid().get(i);
-      int patchSugar = neighbor.getPatchSugar();
-      orderedNeighbors.add(new Pair<>(i, patchSugar));
-    }
-    orderedNeighbors.sort(Comparator.comparingInt(Pair::getValue));
-
-    List<Integer> potentialMoves = new ArrayList<>();
-    for (Pair<Integer, Integer> p : orderedNeighbors) {
-      potentialMoves.add(p.getKey());
-    }
-    return potentialMoves;
+  protected CellRule chooseRule(Map<String, Integer> parameters) throws Exception {
+    return new SugarScapeRule(parameters);
   }
 
+  /**
+   * Cells only change themselves while preparing, and a move only changes the receiving cell, so
+   * cells may be prepared and moved in parallel.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean isParallelSafe() {
+    return true;
+  }
 
+  /**
+   * Returns number of summed-area tables: patch sugar.
+   *
+   * @return 1
+   */
+  @Override
+  protected int getRangeSumCount() {
+    return 1;
+  }
 
+  /**
+   * Returns the patch sugar of a cell for the patch sugar table.
+   *
+   * @param table table number
+   * @param cell SugarScapeCell to read
+   * @return patch sugar
+   */
+  @Override
+  protected int getRangeValue(int table, Cell cell) {
+    return ((SugarScapeCell) cell).getPatchSugar();
+  }
 
-
+  /**
+   * Grabs the neighboring cells no agent has moved into yet with the most patch sugar within the
+   * agent's vision as places it may move to. moveCell() shuffles places, so agents pick among ties
+   * at random.
+   * Assumptions: index is within the grid
+   *
+   * @param index of cell trying to move
+   * @param places array to fill with neighboring indexes
+   * @return number of indexes written to places
+   */
+  @Override
+  protected int findPotentialMoves(int index, int[] places) {
+    return SugarScapeRule.findRichestNeighbors(index, getIssues(index).getAgentVision(),
+        getTopology(), getRangeSums(SugarScapeRule.PATCH_SUGAR_SUMS),
+        target -> ((SugarScapeCell) getGrid().get(target)).isTaken(), places);
+  }
 }
@@ -0,0 +1,277 @@
+package cellsociety.model.sugarscape;
+
+import cellsociety.model.Cell;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.NeighborTopology;
+import cellsociety.model.engine.StateBuffer;
+import cellsociety.model.engine.SummedAreaTable;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Purpose: SugarScape rules for the array engine. Same rules as SugarScapeCell, with each cell's
+ *    agent and patch values kept in attribute columns.
+ * Assumptions: config will include the same keys SugarScapeCell reads.
+ * Dependencies: CellRule, StateBuffer, NeighborTopology, SummedAreaTable, SugarScapeCell and Map
+ *    library.
+ * Example of use: CellRule rule = new SugarScapeRule(params).
+ */
+public class SugarScapeRule extends CellRule {
+
+  private static final int AGENT_SUGAR = 0;
+  private static final int AGENT_SUGAR_METABOLISM = 1;
+  private static final int AGENT_VISION = 2;
+  private static final int PATCH_SUGAR = 3;
+  private static final int PATCH_INTERVAL_COUNT = 4;
+  static final int PATCH_SUGAR_SUMS = 0;
+  static final int VISION_DRAW = 0;
+  static final int METABOLISM_DRAW = 1;
+  private final String neighborNumMaxKey = "neighborNumMax";
+  private final String agentVisionMaxKey = "agentVisionMax";
+  private final String agentSugarMetabolismMaxKey = "agentSugarMetabolismMax";
+  private final String agentInitialSugarKey = "agentInitialSugar";
+  private final String patchMaxSugarKey = "patchMaxSugar";
+  private final String patchSugarGrowBackRateKey = "patchSugarGrowBackRate";
+  private final String patchSugarGrowBackIntervalKey = "getPatchSugarGrowBackInterval";
+  private int neighborNumMax = 8;
+  private int agentVisionMax = 8;
+  private int agentSugarMetabolismMax = 3;
+  private int agentInitialSugar;
+  private int patchMaxSugar = 5;
+  private int patchSugarGrowBackRate = 1;
+  private int patchSugarGrowBackInterval = 1;
+
+  /**
+   * Purpose: Constructor for SugarScapeRule class.
+   * Assumptions: None.
+   * Parameters: Map config.
+   * Exceptions: Throws exception if a parameter is missing.
+   * Returns: SugarScapeRule object.
+   */
+  public SugarScapeRule(Map<String, Integer> config) throws Exception {
+    setMaxStateValue(SugarScapeCell.AGENT);
+    try {
+      neighborNumMax = config.get(neighborNumMaxKey);
+      agentVisionMax = config.get(agentVisionMaxKey);
+      agentInitialSugar = config.get(agentInitialSugarKey) + 5;
+      agentSugarMetabolismMax = config.get(agentSugarMetabolismMaxKey);
+      patchMaxSugar = config.get(patchMaxSugarKey);
+      patchSugarGrowBackRate = config.get(patchSugarGrowBackRateKey);
+      patchSugarGrowBackInterval = config.get(patchSugarGrowBackIntervalKey);
+    } catch (Exception e) {
+      throw new Exception(Cell.PARAMETER_EXCEPTION_MESSAGE);
+    }
+  }
+
+  /**
+   * Purpose: Checks if assigned state is valid. Agent vision may not exceed neighbor count.
+   * Assumptions: None.
+   * Parameters: int state.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  @Override
+  public boolean isValidState(int state) {
+    return agentVisionMax <= neighborNumMax && super.isValidState(state);
+  }
+
+  /**
+   * Purpose: Returns number of attribute columns: agent sugar, metabolism and vision, patch sugar
+   *    and grow back interval count.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  @Override
+  public int getAttributeCount() {
+    return 5;
+  }
+
+  /**
+   * Purpose: Returns number of payload columns: agent sugar, metabolism and vision.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  @Override
+  public int getPayloadCount() {
+    return 3;
+  }
+
+  /**
+   * Purpose: Gives a new cell a random agent and a full sugar patch. The agent is drawn the same
+   *    way as SugarScapeCell draws it.
+   * Assumptions: None.
+   * Parameters: int index, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  @Override
+  public void initialize(int index, StateBuffer buffer) {
+    buffer.setAttribute(AGENT_SUGAR, index, agentInitialSugar);
+    buffer.setAttribute(AGENT_VISION, index,
+        nextRandomInt(index, VISION_DRAW, agentVisionMax, buffer) + 1);
+    buffer.setAttribute(AGENT_SUGAR_METABOLISM, index,
+        nextRandomInt(index, METABOLISM_DRAW, agentSugarMetabolismMax, buffer) + 1);
+    buffer.setAttribute(PATCH_SUGAR, index, patchMaxSugar);
+    buffer.setAttribute(PATCH_INTERVAL_COUNT, index, 0);
+  }
+
+  /**
+   * Purpose: Cells only write their own index while preparing, and moves only write the target.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean isParallelSafe() {
+    return true;
+  }
+
+  /**
+   * Purpose: Cells move to other indexes.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean movesCells() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to. Every agent leaves its cell and looks for a new
+   *    one.
+   * Assumptions: None.
+   * Parameters: int index, int[] neighborStates, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type. AGENT if an agent leaves this cell, Cell.NO_MOVEMENT otherwise.
+   * Rules taken from https://www2.cs.duke.edu/courses/compsci308/current/assign/02_simulation/Sugarscape_Leicester.pdf
+   */
+  @Override
+  public int prepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer) {
+    updatePatchSugar(index, buffer);
+    buffer.setNextState(index, SugarScapeCell.EMPTY);
+
+    if (buffer.getState(index) != SugarScapeCell.AGENT) {
+      return Cell.NO_MOVEMENT;
+    }
+    buffer.setPayload(AGENT_SUGAR, index, buffer.getAttribute(AGENT_SUGAR, index));
+    buffer.setPayload(AGENT_SUGAR_METABOLISM, index,
+        buffer.getAttribute(AGENT_SUGAR_METABOLISM, index));
+    buffer.setPayload(AGENT_VISION, index, buffer.getAttribute(AGENT_VISION, index));
+    return SugarScapeCell.AGENT;
+  }
+
+  private void updatePatchSugar(int index, StateBuffer buffer) {
+    int intervalCount = buffer.getAttribute(PATCH_INTERVAL_COUNT, index) + 1;
+    if (intervalCount == patchSugarGrowBackInterval) {
+      int patchSugar = buffer.getAttribute(PATCH_SUGAR, index) + patchSugarGrowBackRate;
+      buffer.setAttribute(PATCH_SUGAR, index, Math.min(patchMaxSugar, patchSugar));
+      intervalCount = 0;
+    }
+    buffer.setAttribute(PATCH_INTERVAL_COUNT, index, intervalCount);
+  }
+
+  /**
+   * Purpose: Returns number of summed-area tables: patch sugar.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  @Override
+  public int getRangeSumCount() {
+    return 1;
+  }
+
+  /**
+   * Purpose: Returns the patch sugar of a cell for the patch sugar table.
+   * Assumptions: None.
+   * Parameters: int table, int index, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  @Override
+  public int getRangeValue(int table, int index, StateBuffer buffer) {
+    return buffer.getAttribute(PATCH_SUGAR, index);
+  }
+
+  /**
+   * Purpose: Lists the free neighboring patches the agent sees the most sugar around as places to
+   *    move to.
+   * Assumptions: None.
+   * Parameters: int index, NeighborTopology topology, int[] places, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int number of places.
+   */
+  @Override
+  public int findPotentialMoves(int index, NeighborTopology topology, int[] places,
+      StateBuffer buffer) {
+    return findRichestNeighbors(index, buffer.getPayload(AGENT_VISION, index), topology,
+        buffer.getRangeSums(PATCH_SUGAR_SUMS),
+        target -> buffer.getNextState(target) == SugarScapeCell.AGENT, places);
+  }
+
+  /**
+   * Purpose: Fills places with the neighbors of index that no agent has taken yet and that have
+   *    the most patch sugar within vision rows and columns of them, so agents step towards the
+   *    richest free area they can see. Taken neighbors are skipped before the most sugar is found,
+   *    so a taken richest patch does not stop the agent from moving. Each neighbor costs one
+   *    summed-area query however far the agent sees. Shared with SugarScapeGrid.
+   * Assumptions: sugar holds the patch sugar of every cell.
+   * Parameters: int index, int vision, NeighborTopology topology, SummedAreaTable sugar,
+   *    IntPredicate taken, int[] places.
+   * Exceptions: None.
+   * Returns: int number of places, all tied for the most sugar.
+   */
+  static int findRichestNeighbors(int index, int vision, NeighborTopology topology,
+      SummedAreaTable sugar, IntPredicate taken, int[] places) {
+    int count = 0;
+    long most = Long.MIN_VALUE;
+    for (int i = 0; i < topology.getNeighborCount(index); i++) {
+      int neighbor = topology.getNeighbor(index, i);
+      if (taken.test(neighbor)) {
+        continue;
+      }
+      long seen = sugar.sumAround(neighbor, vision);
+      if (seen > most) {
+        most = seen;
+        count = 0;
+      }
+      if (seen == most) {
+        places[count++] = neighbor;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * Purpose: Moves the agent into target if the patch is free and feeds it well enough to live.
+   * Assumptions: mover asked to move this generation.
+   * Parameters: int target, int mover, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  @Override
+  public boolean receiveUpdate(int target, int mover, StateBuffer buffer) {
+    int incomingState = buffer.getMoveState(mover);
+    int newAgentSugar = buffer.getPayload(AGENT_SUGAR, mover)
+        + buffer.getAttribute(PATCH_SUGAR, target)
+        - buffer.getPayload(AGENT_SUGAR_METABOLISM, mover);
+
+    if (buffer.getNextState(target) == incomingState || newAgentSugar <= 0) {
+      return false;
+    }
+    buffer.setAttribute(AGENT_SUGAR, target, newAgentSugar);
+    buffer.setAttribute(PATCH_SUGAR, target, 0);
+    buffer.setAttribute(AGENT_VISION, target, buffer.getPayload(AGENT_VISION, mover));
+    buffer.setNextState(target, incomingState);
+    return true;
+  }
+}
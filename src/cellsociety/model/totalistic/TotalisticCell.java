@@ -0,0 +1,43 @@
+package cellsociety.model.totalistic;
+
+import cellsociety.model.Cell;
+import cellsociety.model.MoveRequest;
+import java.util.Map;
+
+/**
+ * Purpose: Represents a cell for outer-totalistic simulations such as Life-like, Generations and
+ *    cyclic rules. Extends the Cell class.
+ * Assumptions: None.
+ * Dependencies: Cell, MoveRequest and TotalisticTable classes, Map library.
+ * Example of use: Cell totalistic = new TotalisticCell(params).
+ */
+public class TotalisticCell extends Cell {
+
+  private final TotalisticTable table;
+
+  /**
+   * Purpose: Constructor for TotalisticCell class. The rule table is shared with every other cell
+   *    of the simulation.
+   * Assumptions: None.
+   * Parameters: Map config.
+   * Exceptions: Throws exceptions from TotalisticTable.forParameters.
+   * Returns: TotalisticCell object.
+   */
+  public TotalisticCell(Map<String, Integer> config) throws Exception {
+    super(config);
+    this.table = TotalisticTable.forParameters(config);
+    setMaxStateValue(table.getStateCount() - 1);
+  }
+
+  /**
+   * Purpose: Determine new state to update to.
+   * Assumptions: None.
+   * Parameters: int[] neighborStates, MoveRequest request.
+   * Exceptions: None.
+   * Returns: None. Nothing ever moves.
+   */
+  public void prepareNextState(int[] neighborStates, MoveRequest request) {
+    setNextState(table.nextState(getState(), neighborStates, neighborStates.length));
+    request.setState(NO_MOVEMENT);
+  }
+}
@@ -0,0 +1,68 @@
+package cellsociety.model.totalistic;
+
+import cellsociety.model.Cell;
+import cellsociety.model.Grid;
+import cellsociety.model.engine.CellRule;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Allows for the simulation of outer-totalistic rules declared in the XML parameters, so rule
+ * variants such as HighLife (birth 36, survive 23) need no new classes.
+ * Assumptions: game will follow the rules laid out in TotalisticTable.
+ * Dependencies: java.util.*, GridHelper, Grid, Cell, TotalisticCell, TotalisticRule
+ * Examples:
+ * '''
+ * Grid grid = new TotalisticGrid(cellA, gridP, cellP);
+ * grid.updateCells();
+ * '''
+ */
+public class TotalisticGrid extends Grid {
+
+  /**
+   * Constructor fills fields using XML data. Assumptions: parameters contains all the information
+   * required to create appropriate cell.
+   *
+   * @param cellArrangement cell grid from XML
+   * @param gridParameters game settings from XML
+   * @param cellParameters cell settings and rule from XML
+   * @throws Exception when parameters are invalid
+   */
+  public TotalisticGrid(List<String> cellArrangement, String[] gridParameters,
+      Map<String, Integer> cellParameters) throws Exception {
+    super(cellArrangement, gridParameters, cellParameters);
+  }
+
+  /**
+   * Returns Totalistic cell object.
+   *
+   * @param parameters cell state and game parameters from XML
+   * @return Totalistic cell object
+   */
+  @Override
+  protected Cell chooseCell(Map<String, Integer> parameters) throws Exception {
+    return new TotalisticCell(parameters);
+  }
+
+  /**
+   * Returns TotalisticRule object for the array engine.
+   *
+   * @param parameters game parameters from XML
+   * @return TotalisticRule object
+   */
+  @Override
+  protected CellRule chooseRule(Map<String, Integer> parameters) throws Exception {
+    return new TotalisticRule(parameters);
+  }
+
+  /**
+   * Cells only read neighbor states and write their own next state, so they may be prepared in
+   * parallel.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean isParallelSafe() {
+    return true;
+  }
+}
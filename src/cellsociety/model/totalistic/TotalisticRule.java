@@ -0,0 +1,69 @@
+package cellsociety.model.totalistic;
+
+import cellsociety.model.Cell;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.StateBuffer;
+import java.util.Map;
+
+/**
+ * Purpose: Outer-totalistic rules for the array engine. Same rules as TotalisticCell.
+ * Assumptions: None.
+ * Dependencies: CellRule, StateBuffer, TotalisticTable, Map library.
+ * Example of use: CellRule rule = new TotalisticRule(params).
+ */
+public class TotalisticRule extends CellRule {
+
+  private final TotalisticTable table;
+
+  /**
+   * Purpose: Constructor for TotalisticRule class.
+   * Assumptions: None.
+   * Parameters: Map parameters.
+   * Exceptions: Throws exceptions from TotalisticTable.forParameters.
+   * Returns: TotalisticRule object.
+   */
+  public TotalisticRule(Map<String, Integer> parameters) throws Exception {
+    this.table = TotalisticTable.forParameters(parameters);
+    setMaxStateValue(table.getStateCount() - 1);
+  }
+
+  /**
+   * Purpose: Cells only read neighbor states and write their own next state.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean isParallelSafe() {
+    return true;
+  }
+
+  /**
+   * Purpose: Next state is looked up from the cell's state and its neighbor states only. Rules
+   *    that bring empty space to life, such as B0, are still swept in full.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  @Override
+  public boolean skipsQuietCells() {
+    return table.keepsEmptySpace();
+  }
+
+  /**
+   * Purpose: Determine new state to update to.
+   * Assumptions: None.
+   * Parameters: int index, int[] neighborStates, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int type. There should never be any movement.
+   */
+  @Override
+  public int prepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer) {
+    buffer.setNextState(index, table.nextState(buffer.getState(index), neighborStates,
+        neighborCount));
+    return Cell.NO_MOVEMENT;
+  }
+}
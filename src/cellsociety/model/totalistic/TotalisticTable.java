@@ -0,0 +1,179 @@
+package cellsociety.model.totalistic;
+
+import cellsociety.model.Cell;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Purpose: An outer-totalistic rule compiled into a lookup table. The next state of a cell only
+ *    depends on its own state and on how many of its neighbors are in the one state that state
+ *    counts, so the whole rule is a table indexed by (state, count). Two rule families are read
+ *    from the XML parameters:
+ *    LIFE_LIKE: Life-like birth/survival rules, with digit lists such as birth 3 and survive 23
+ *    for Conway's B3/S23. Alive cells are state 1 and count alive neighbors. With more than two
+ *    states this becomes a Generations rule: an alive cell that does not survive decays through
+ *    states 2, 3, ... back to 0, and decaying cells neither count as alive nor can be born into.
+ *    CYCLIC: each state counts neighbors in the next state, (state + 1) % states, and turns into
+ *    it when there are at least threshold of them, as in rock-paper-scissors automata.
+ * Assumptions: A digit list can only name counts up to 9, a 0 must not be its first digit
+ *    (survive 20 for S02), and -1 names no counts at all. Tables are shared by every cell and
+ *    rule with the same parameters.
+ * Dependencies: Cell, java.util.*.
+ * Example of use: int next = TotalisticTable.forParameters(params).nextState(state, states, 8).
+ */
+public final class TotalisticTable {
+
+  public static final String STATES = "states";
+  public static final String FAMILY = "family";
+  public static final String BIRTH = "birth";
+  public static final String SURVIVE = "survive";
+  public static final String THRESHOLD = "threshold";
+  public static final int LIFE_LIKE = 0;
+  public static final int CYCLIC = 1;
+  public static final int DEAD = 0;
+  public static final int ALIVE = 1;
+  public static final int MAX_STATES = 10;
+  public static final int MAX_NEIGHBORS = 12;
+  private static final int DEFAULT_STATES = 2;
+  private static final int DEFAULT_BIRTH = 3;
+  private static final int DEFAULT_SURVIVE = 23;
+  private static final int DEFAULT_THRESHOLD = 3;
+  private static final int DIGIT_BASE = 10;
+  private static final int NONE = -1;
+  private static final int CACHE_SIZE = 16;
+  private static final Map<List<Integer>, TotalisticTable> CACHE = Collections.synchronizedMap(
+      new LinkedHashMap<>(CACHE_SIZE, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<List<Integer>, TotalisticTable> eldest) {
+          return size() > CACHE_SIZE;
+        }
+      });
+
+  private final int stateCount;
+  private final int[] countedStates;
+  private final byte[] table;
+
+  /**
+   * Purpose: Returns the compiled table for the rule described by the XML parameters, compiling
+   *    it only the first time those parameters are seen.
+   * Assumptions: None.
+   * Parameters: Map parameters.
+   * Exceptions: Throws Exception when a parameter is out of range.
+   * Returns: TotalisticTable object.
+   */
+  public static TotalisticTable forParameters(Map<String, Integer> parameters) throws Exception {
+    List<Integer> key = List.of(parameters.getOrDefault(STATES, DEFAULT_STATES),
+        parameters.getOrDefault(FAMILY, LIFE_LIKE),
+        parameters.getOrDefault(BIRTH, DEFAULT_BIRTH),
+        parameters.getOrDefault(SURVIVE, DEFAULT_SURVIVE),
+        parameters.getOrDefault(THRESHOLD, DEFAULT_THRESHOLD));
+    TotalisticTable cached = CACHE.get(key);
+    if (cached == null) {
+      cached = new TotalisticTable(key.get(0), key.get(1), key.get(2), key.get(3), key.get(4));
+      CACHE.put(key, cached);
+    }
+    return cached;
+  }
+
+  private TotalisticTable(int states, int family, int birth, int survive, int threshold)
+      throws Exception {
+    if (states < 2 || states > MAX_STATES || threshold < 0 || birth < NONE || survive < NONE) {
+      throw new Exception(Cell.PARAMETER_EXCEPTION_MESSAGE);
+    }
+    this.stateCount = states;
+    this.countedStates = new int[states];
+    this.table = new byte[states * (MAX_NEIGHBORS + 1)];
+    if (family == LIFE_LIKE) {
+      compileLifeLike(digits(birth), digits(survive));
+    } else if (family == CYCLIC) {
+      compileCyclic(threshold);
+    } else {
+      throw new Exception(Cell.PARAMETER_EXCEPTION_MESSAGE);
+    }
+  }
+
+  /**
+   * Purpose: Looks up the next state of a cell.
+   * Assumptions: neighborCount is at most MAX_NEIGHBORS. Only the first neighborCount values of
+   *    neighborStates are read.
+   * Parameters: int state, int[] neighborStates, int neighborCount.
+   * Exceptions: None.
+   * Returns: int next state.
+   */
+  public int nextState(int state, int[] neighborStates, int neighborCount) {
+    int counted = countedStates[state];
+    int count = 0;
+    for (int i = 0; i < neighborCount; i++) {
+      if (neighborStates[i] == counted) {
+        count++;
+      }
+    }
+    return table[state * (MAX_NEIGHBORS + 1) + count];
+  }
+
+  /**
+   * Purpose: Returns number of states of the rule.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  public int getStateCount() {
+    return stateCount;
+  }
+
+  /**
+   * Purpose: Returns whether a DEAD cell whose neighbors are all DEAD stays DEAD, for any number
+   *    of neighbors. Rules such as B0 fill empty space and cannot skip it.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  public boolean keepsEmptySpace() {
+    // A DEAD cell never counts DEAD neighbors, so an all DEAD neighborhood always counts 0.
+    return table[0] == DEAD;
+  }
+
+  private void compileLifeLike(boolean[] born, boolean[] survives) {
+    Arrays.fill(countedStates, ALIVE);
+    int decayed = stateCount > 2 ? ALIVE + 1 : DEAD;
+    for (int count = 0; count <= MAX_NEIGHBORS; count++) {
+      set(DEAD, count, born[count] ? ALIVE : DEAD);
+      set(ALIVE, count, survives[count] ? ALIVE : decayed);
+      for (int state = ALIVE + 1; state < stateCount; state++) {
+        set(state, count, (state + 1) % stateCount);
+      }
+    }
+  }
+
+  private void compileCyclic(int threshold) {
+    for (int state = 0; state < stateCount; state++) {
+      int successor = (state + 1) % stateCount;
+      countedStates[state] = successor;
+      for (int count = 0; count <= MAX_NEIGHBORS; count++) {
+        set(state, count, count >= threshold ? successor : state);
+      }
+    }
+  }
+
+  private void set(int state, int count, int next) {
+    table[state * (MAX_NEIGHBORS + 1) + count] = (byte) next;
+  }
+
+  /** Reads a digit list such as 23 into the set of counts {2, 3}, and NONE into no counts. */
+  private static boolean[] digits(int list) {
+    boolean[] counts = new boolean[MAX_NEIGHBORS + 1];
+    if (list == NONE) {
+      return counts;
+    }
+    do {
+      counts[list % DIGIT_BASE] = true;
+      list /= DIGIT_BASE;
+    } while (list > 0);
+    return counts;
+  }
+}
@@ -1,12 +1,13 @@
 package cellsociety.model.wator;
 
 import cellsociety.model.Cell;
+import cellsociety.model.MoveRequest;
 import java.util.Map;
 
 /**
  * Purpose: Represents a cell for the Wa-Tor simulation. Extends the Cell class.
  * Assumptions: None.
- * Dependencies: Cell class and Map library.
+ * Dependencies: Cell and MoveRequest classes, Map library.
  * Example of use: Cell waTor = new WaTorCell(params).
  *
  * @author Jessica Yang
@@ -27,9 +28,6 @@ public class WaTorCell extends Cell {
   private int breedFishTime;
   private int breedSharkEnergy;
 
-  private final String breedTimeKey = "breedTime";
-  private final String breedEnergyKey = "breedEnergy";
-
   /**
    * Purpose: Constructor for WaTorCell class.
    * Assumptions: config will include keys "breedFish", "breedShark", "energyGain", and "energyLoss"
@@ -66,69 +64,68 @@ public class WaTorCell extends Cell {
   /**
    * Purpose: Determine new state to update to.
    * Assumptions: None.
-   * Parameters: int[] neighborStates.
+   * Parameters: int[] neighborStates, MoveRequest request.
    * Exceptions: None.
-   * Returns: Map object. Describes what needs to be moved, if any.
+   * Returns: None. Fills request with what needs to be moved, if any.
    * Rules taken from https://beltoforion.de/en/wator/
    */
-  public Map<String, Integer> prepareNextState(int[] neighborStates) {
+  public void prepareNextState(int[] neighborStates, MoveRequest request) {
     if (getState() == FISH) {
-      fishPrepareNextState();
+      fishPrepareNextState(request);
     } else if (getState() == SHARK) {
-      sharkPrepareNextState();
+      sharkPrepareNextState(request);
     } else {
       setNextState(WATER);
-      setMoveStateValue("state", NO_MOVEMENT);
+      request.setState(NO_MOVEMENT);
     }
-    return getMoveStateCopy();
   }
 
-  private void fishPrepareNextState() {
+  private void fishPrepareNextState(MoveRequest request) {
     breedFishTime++;
-    updateMoveStateParam();
+    updateMoveStateParam(request);
     if (breedFishTime < fishBreedThreshold) {
       setToWater();
     } else {
       setNextState(FISH);
       resetState();
     }
-    setMoveStateValue("state", FISH);
+    request.setState(FISH);
   }
 
-  private void sharkPrepareNextState() {
+  private void sharkPrepareNextState(MoveRequest request) {
     if (breedSharkEnergy <= 0) {
       setToWater();
-      setMoveStateValue("state", NO_MOVEMENT);
+      request.setState(NO_MOVEMENT);
     } else {
       breedSharkEnergy -= energyLoss;
-      updateMoveStateParam();
+      updateMoveStateParam(request);
       if (breedSharkEnergy < sharkBreedThreshold) {
         setToWater();
       } else {
         setNextState(SHARK);
         resetState();
       }
-      setMoveStateValue("state", SHARK);
+      request.setState(SHARK);
     }
   }
 
   /**
-   * Purpose: Accepts Map information with new state information.
+   * Purpose: Accepts MoveRequest with new state information.
    * Assumptions: Grid will not pass call this method when the 'state' field is NO_MOVEMENT (-1).
-   * Parameters: Map object.
+   * Parameters: MoveRequest object.
    * Exceptions: None.
    * Returns: None.
    */
   @Override
-  public boolean receiveUpdate(Map<String, Integer> newInfo) {
-    int incomingState = newInfo.get("state");
+  public boolean receiveUpdate(MoveRequest newInfo) {
+    int incomingState = newInfo.getState();
 
     if (getNextState() == incomingState) {
       return false;
     }
 
-    breedFishTime = newInfo.get(breedTimeKey);
-    breedSharkEnergy = newInfo.get(breedEnergyKey);
+    breedFishTime = newInfo.getBreedTime();
+    breedSharkEnergy = newInfo.getBreedEnergy();
 
     if (getNextState() == FISH && incomingState == SHARK
         || getNextState() == SHARK && incomingState == FISH) {
@@ -148,10 +145,12 @@ public class WaTorCell extends Cell {
   }
 
   /**
-   * Updates moveState Map.
+   * Copies breed time and energy into the move request.
+   *
+   * @param request move request of this cell
    */
-  private void updateMoveStateParam() {
-    setMoveStateValue(breedTimeKey, breedFishTime);
-    setMoveStateValue(breedEnergyKey, breedSharkEnergy);
+  private void updateMoveStateParam(MoveRequest request) {
+    request.setBreedTime(breedFishTime);
+    request.setBreedEnergy(breedSharkEnergy);
   }
 }
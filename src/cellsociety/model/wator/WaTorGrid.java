@@ -2,7 +2,7 @@ package cellsociety.model.wator;
 
 import cellsociety.model.Cell;
 import cellsociety.model.Grid;
-import java.util.ArrayList;
+import cellsociety.model.engine.CellRule;
 import java.util.List;
 import java.util.Map;
 
@@ -42,20 +42,37 @@ public class WaTorGrid extends Grid {
     return new WaTorCell(parameters);
   }
 
+  /**
+   * Returns WaTorRule object for the array engine.
+   *
+   * @param parameters game parameters from XML
+   * @return WaTorRule object
+   */
+  @Override
+  protected CellRule chooseRule(Map<String, Integer> parameters) throws Exception {
+    return new WaTorRule(parameters);
+  }
+
+  /**
+   * Cells only change themselves while preparing, and a move only changes the receiving cell, so
+   * cells may be prepared and moved in parallel.
+   *
+   * @return true
+   */
+  @Override
+  protected boolean isParallelSafe() {
+    return true;
+  }
+
   /**
    * Grabs neighboring cells as potential places for a cell to move to.
    *
    * @param index of cell trying to move
-   * @return [neighboring cell indexes]
+   * @param places array to fill with neighboring cell indexes
+   * @return number of neighboring cells
    */
   @Override
-  protected List<Integer> findPotentialMoves(int index) {
-    Cell center = getGrid().get(index);
-    int[] neighbors = getNeighbors(center);
-    List<Integer> places = new ArrayList<>();
-    for (int i : neighbors) {
-      places.add(i);
-    }
-    return places;
+  protected int findPotentialMoves(int index, int[] places) {
+    return getTopology().copyNeighbors(index, places);
   }
 }
@@ -0,0 +1,209 @@
+package cellsociety.model.wator;
+
+import cellsociety.model.Cell;
+import cellsociety.model.engine.CellRule;
+import cellsociety.model.engine.NeighborTopology;
+import cellsociety.model.engine.StateBuffer;
+import java.util.Map;
+
+/**
+ * Purpose: Wa-Tor rules for the array engine. Same rules as WaTorCell, with each cell's breeding
+ *    time and energy kept in attribute columns.
+ * Assumptions: config will include keys "fishBreedThreshold", "sharkBreedThreshold",
+ *    "energyGain", and "energyLoss".
+ * Dependencies: CellRule, StateBuffer, NeighborTopology, WaTorCell, Map library.
+ * Example of use: CellRule rule = new WaTorRule(params).
+ */
+public class WaTorRule extends CellRule {
+
+  private static final int BREED_TIME = 0;
+  private static final int BREED_ENERGY = 1;
+  private final String fishBreedThresholdKey = "fishBreedThreshold";
+  private final String sharkBreedThresholdKey = "sharkBreedThreshold";
+  private final String energyGainKey = "energyGain";
+  private final String energyLossKey = "energyLoss";
+  private int fishBreedThreshold = 5;
+  private int sharkBreedThreshold = 4;
+  private int energyGain = 2;
+  private int energyLoss = 1;
+
+  /**
+   * Purpose: Constructor for WaTorRule class.
+   * Assumptions: config will include the keys listed in the class description.
+   * Parameters: Map config.
+   * Exceptions: Throws exception if a parameter is missing.
+   * Returns: WaTorRule object.
+   */
+  public WaTorRule(Map<String, Integer> config) throws Exception {
+    setMaxStateValue(WaTorCell.SHARK);
+    try {
+      fishBreedThreshold = config.get(fishBreedThresholdKey);
+      sharkBreedThreshold = config.get(sharkBreedThresholdKey);
+      energyGain = config.get(energyGainKey);
+      energyLoss = config.get(energyLossKey);
+    } catch (Exception e) {
+      throw new Exception(Cell.PARAMETER_EXCEPTION_MESSAGE);
+    }
+  }
+
+  /**
+   * Purpose: Returns number of attribute columns: breeding time and breeding energy.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  @Override
+  public int getAttributeCount() {
+    return 2;
+  }
+
+  /**
+   * Purpose: Returns number of payload columns: breeding time and breeding energy.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: int type.
+   */
+  @Override
+  public int getPayloadCount() {
+    return 2;
+  }
+
+  /**
+   * Purpose: Sets a new cell's breeding time and energy to their defaults.
+   * Assumptions: None.
+   * Parameters: int index, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: None.
+   */
+  @Override
+  public void initialize(int index, StateBuffer buffer) {
+    resetState(index, buffer);
+  }
+
+  /**
+   * Purpose: Cells only write their own index while preparing, and moves only write the target.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean isParallelSafe() {
+    return true;
+  }
+
+  /**
+   * Purpose: Cells move to other indexes.
+   * Assumptions: None.
+   * Parameters: None.
+   * Exceptions: None.
+   * Returns: boolean true.
+   */
+  @Override
+  public boolean movesCells() {
+    return true;
+  }
+
+  /**
+   * Purpose: Determine new state to update to.
+   * Assumptions: None.
+   * Parameters: int index, int[] neighborStates, int neighborCount, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int state of the animal that wants to move, or Cell.NO_MOVEMENT.
+   * Rules taken from https://beltoforion.de/en/wator/
+   */
+  @Override
+  public int prepareNextState(int index, int[] neighborStates, int neighborCount,
+      StateBuffer buffer) {
+    int state = buffer.getState(index);
+    if (state == WaTorCell.FISH) {
+      return fishPrepareNextState(index, buffer);
+    } else if (state == WaTorCell.SHARK) {
+      return sharkPrepareNextState(index, buffer);
+    }
+    buffer.setNextState(index, WaTorCell.WATER);
+    return Cell.NO_MOVEMENT;
+  }
+
+  private int fishPrepareNextState(int index, StateBuffer buffer) {
+    buffer.setAttribute(BREED_TIME, index, buffer.getAttribute(BREED_TIME, index) + 1);
+    updatePayload(index, buffer);
+    if (buffer.getAttribute(BREED_TIME, index) < fishBreedThreshold) {
+      buffer.setNextState(index, WaTorCell.WATER);
+    } else {
+      buffer.setNextState(index, WaTorCell.FISH);
+    }
+    resetState(index, buffer);
+    return WaTorCell.FISH;
+  }
+
+  private int sharkPrepareNextState(int index, StateBuffer buffer) {
+    int energy = buffer.getAttribute(BREED_ENERGY, index);
+    if (energy <= 0) {
+      buffer.setNextState(index, WaTorCell.WATER);
+      resetState(index, buffer);
+      return Cell.NO_MOVEMENT;
+    }
+    buffer.setAttribute(BREED_ENERGY, index, energy - energyLoss);
+    updatePayload(index, buffer);
+    if (energy - energyLoss < sharkBreedThreshold) {
+      buffer.setNextState(index, WaTorCell.WATER);
+    } else {
+      buffer.setNextState(index, WaTorCell.SHARK);
+    }
+    resetState(index, buffer);
+    return WaTorCell.SHARK;
+  }
+
+  /**
+   * Purpose: Lists neighboring cells as places to swim to.
+   * Assumptions: None.
+   * Parameters: int index, NeighborTopology topology, int[] places, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: int number of places.
+   */
+  @Override
+  public int findPotentialMoves(int index, NeighborTopology topology, int[] places,
+      StateBuffer buffer) {
+    return topology.copyNeighbors(index, places);
+  }
+
+  /**
+   * Purpose: Moves the animal at mover into target, letting sharks eat fish that stay.
+   * Assumptions: mover asked to move this generation.
+   * Parameters: int target, int mover, StateBuffer buffer.
+   * Exceptions: None.
+   * Returns: boolean type.
+   */
+  @Override
+  public boolean receiveUpdate(int target, int mover, StateBuffer buffer) {
+    int incomingState = buffer.getMoveState(mover);
+    int targetState = buffer.getNextState(target);
+
+    if (targetState == incomingState) {
+      return false;
+    }
+
+    int energy = buffer.getPayload(BREED_ENERGY, mover);
+    if (targetState == WaTorCell.FISH && incomingState == WaTorCell.SHARK
+        || targetState == WaTorCell.SHARK && incomingState == WaTorCell.FISH) {
+      energy += energyGain;
+    }
+    buffer.setAttribute(BREED_TIME, target, buffer.getPayload(BREED_TIME, mover));
+    buffer.setAttribute(BREED_ENERGY, target, energy);
+    buffer.setNextState(target, incomingState);
+    return true;
+  }
+
+  private void resetState(int index, StateBuffer buffer) {
+    buffer.setAttribute(BREED_TIME, index, 0);
+    buffer.setAttribute(BREED_ENERGY, index, sharkBreedThreshold / 2);
+  }
+
+  private void updatePayload(int index, StateBuffer buffer) {
+    buffer.setPayload(BREED_TIME, index, buffer.getAttribute(BREED_TIME, index));
+    buffer.setPayload(BREED_ENERGY, index, buffer.getAttribute(BREED_ENERGY, index));
+  }
+}
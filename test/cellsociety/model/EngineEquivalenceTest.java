@@ -0,0 +1,35 @@
+package cellsociety.model;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/**
+ * Purpose: Runs every bundled XML file on the Cell object engine and on the array engine with the
+ * same seed and checks that both show the same grid after every generation, so the duplicated
+ * Cell and CellRule logic of each simulation cannot drift apart.
+ * Assumptions: Tests run from the repository root, where data/XMLs is.
+ * Dependencies: GridRuns, Grid, JUnit 5
+ */
+class EngineEquivalenceTest {
+
+  static final int GENERATIONS = 30;
+
+  static List<Path> bundledFiles() throws IOException {
+    return GridRuns.bundledFiles();
+  }
+
+  @ParameterizedTest
+  @MethodSource("bundledFiles")
+  void arrayEngineMatchesCells(Path file) throws Exception {
+    Map<String, Integer> cells = Map.of(GridHelper.ENGINE, GridHelper.CELL_ENGINE);
+    Map<String, Integer> array = Map.of(GridHelper.ENGINE, GridHelper.ARRAY_ENGINE);
+    GridRuns.assertSameFrames(
+        GridRuns.record(GridRuns.createGrid(file, cells), GENERATIONS),
+        GridRuns.record(GridRuns.createGrid(file, array), GENERATIONS),
+        file + " " + array);
+  }
+}
@@ -0,0 +1,203 @@
+package cellsociety.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import cellsociety.configuration.Simulation;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Purpose: Builds seeded grids from the bundled XML files and records what they show generation
+ * by generation, so tests can check that two ways of running a simulation agree.
+ * Assumptions: Tests run from the repository root, where data/XMLs is.
+ * Dependencies: Simulation, GridFactory, Grid, JUnit 5
+ * Example of use: GridRuns.assertSameFrames(GridRuns.record(a, 30), GridRuns.record(b, 30), "");
+ */
+public final class GridRuns {
+
+  public static final Path DATA = Path.of("data", "XMLs");
+  public static final int SEED = 7;
+
+  private GridRuns() {
+  }
+
+  /**
+   * Purpose: Returns every bundled XML file that describes a valid simulation, leaving out the
+   * files that exist to test error handling.
+   *
+   * @return List of XML file paths
+   * @throws IOException when data/XMLs cannot be read
+   */
+  public static List<Path> bundledFiles() throws IOException {
+    try (Stream<Path> files = Files.walk(DATA)) {
+      return files
+          .filter(file -> file.getFileName().toString().toLowerCase().endsWith(".xml"))
+          .filter(file -> !file.startsWith(DATA.resolve("ExceptionError")))
+          .filter(file -> !file.equals(DATA.resolve("bad.XML")))
+          .sorted()
+          .collect(Collectors.toList());
+    }
+  }
+
+  /**
+   * Purpose: Builds the grid of a bundled XML file with SEED and the given overrides.
+   *
+   * @param file XML file, relative to data/XMLs
+   * @param overrides parameters that replace or add to the XML parameters
+   * @return grid at generation 0
+   * @throws Exception when the file cannot be read or the grid cannot be built
+   */
+  public static Grid createGrid(String file, Map<String, Integer> overrides) throws Exception {
+    return createGrid(DATA.resolve(file), overrides);
+  }
+
+  /**
+   * Purpose: Builds the grid of an XML file with SEED and the given overrides.
+   *
+   * @param file XML file
+   * @param overrides parameters that replace or add to the XML parameters
+   * @return grid at generation 0
+   * @throws Exception when the file cannot be read or the grid cannot be built
+   */
+  public static Grid createGrid(Path file, Map<String, Integer> overrides) throws Exception {
+    Simulation simulation = new Simulation(file.toString());
+    Map<String, Integer> parameters = simulation.getParameters();
+    parameters.put(GridHelper.SEED, SEED);
+    parameters.putAll(overrides);
+    return GridFactory.createGrid(simulation, parameters);
+  }
+
+  /**
+   * Purpose: Builds a size by size grid whose cells repeat those of a bundled XML file across and
+   * down, so small files can be run on grids large enough to be split across threads.
+   *
+   * @param file XML file, relative to data/XMLs
+   * @param size width and height of the grid
+   * @param overrides parameters that replace or add to the XML parameters
+   * @return grid at generation 0
+   * @throws Exception when the file cannot be read or the grid cannot be built
+   */
+  public static Grid createTiledGrid(String file, int size, Map<String, Integer> overrides)
+      throws Exception {
+    return createTiledGrid(file, size, null, overrides);
+  }
+
+  /**
+   * Purpose: Builds a tiled grid as createTiledGrid(file, size, overrides) does, with another grid
+   * type.
+   *
+   * @param file XML file, relative to data/XMLs
+   * @param size width and height of the grid
+   * @param gridType "bounded", "wrapping" or "infinite", or null for the file's grid type
+   * @param overrides parameters that replace or add to the XML parameters
+   * @return grid at generation 0
+   * @throws Exception when the file cannot be read or the grid cannot be built
+   */
+  public static Grid createTiledGrid(String file, int size, String gridType,
+      Map<String, Integer> overrides) throws Exception {
+    Simulation simulation = new Simulation(DATA.resolve(file).toString());
+    Map<String, Integer> parameters = simulation.getParameters();
+    parameters.put(Simulation.WIDTH, size);
+    parameters.put(Simulation.HEIGHT, size);
+    parameters.put(GridHelper.SEED, SEED);
+    parameters.putAll(overrides);
+    List<String> rows = simulation.getCellRows();
+    List<String> tiled = new ArrayList<>();
+    for (int y = 0; y < size; y++) {
+      String row = rows.get(y % rows.size());
+      StringBuilder cells = new StringBuilder(size);
+      for (int x = 0; x < size; x++) {
+        cells.append(row.charAt(x % row.length()));
+      }
+      tiled.add(cells.toString());
+    }
+    String[] gridParameters = simulation.getGridParameterArray();
+    if (gridType != null) {
+      gridParameters[1] = gridType;
+    }
+    return GridFactory.createGrid(simulation.getType(), tiled, gridParameters, parameters);
+  }
+
+  /**
+   * Purpose: Runs a grid and records its width, height and states at generation 0 and after each
+   * of generations updates.
+   *
+   * @param grid grid to run
+   * @param generations number of updates
+   * @return List of generations + 1 frames, each width, height and then every state
+   */
+  public static List<List<Integer>> record(Grid grid, int generations) {
+    List<List<Integer>> frames = new ArrayList<>();
+    for (int generation = 0; generation <= generations; generation++) {
+      if (generation > 0) {
+        grid.updateCells();
+      }
+      int[] dimensions = grid.getDimensions();
+      List<Integer> frame = new ArrayList<>(List.of(dimensions[0], dimensions[1]));
+      frame.addAll(grid.viewGrid());
+      frames.add(frame);
+    }
+    return frames;
+  }
+
+  /**
+   * Purpose: Runs a grid as record() does, with every update made by a task of a pool of threads
+   * threads, so parallel sweeps of the grid are split across exactly that many threads.
+   *
+   * @param grid grid to run
+   * @param generations number of updates
+   * @param threads parallelism of the pool
+   * @return List of frames, as from record()
+   * @throws Exception when the run fails
+   */
+  public static List<List<Integer>> record(Grid grid, int generations, int threads)
+      throws Exception {
+    ForkJoinPool pool = new ForkJoinPool(threads);
+    try {
+      return pool.submit(() -> record(grid, generations)).get();
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  /**
+   * Purpose: Checks that two runs showed the same grid at every generation.
+   *
+   * @param expected frames of the reference run
+   * @param actual frames of the run under test
+   * @param where description of the run under test for failure messages
+   */
+  public static void assertSameFrames(List<List<Integer>> expected, List<List<Integer>> actual,
+      String where) {
+    assertEquals(expected.size(), actual.size(), where + " generations");
+    for (int generation = 0; generation < expected.size(); generation++) {
+      List<Integer> wanted = expected.get(generation);
+      List<Integer> shown = actual.get(generation);
+      int generationShown = generation;
+      assertTrue(wanted.equals(shown), () -> where + " generation " + generationShown
+          + " first differs at entry " + firstDifference(wanted, shown));
+    }
+  }
+
+  /**
+   * Returns the first position at which two frames differ, counting width and height as
+   * entries 0 and 1.
+   */
+  private static int firstDifference(List<Integer> expected, List<Integer> actual) {
+    int length = Math.min(expected.size(), actual.size());
+    for (int i = 0; i < length; i++) {
+      if (!expected.get(i).equals(actual.get(i))) {
+        return i;
+      }
+    }
+    return length;
+  }
+}
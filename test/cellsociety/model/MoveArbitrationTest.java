@@ -0,0 +1,39 @@
+package cellsociety.model;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Purpose: Checks that moves arbitrated in parallel by ClaimArbiter depend only on the seed:
+ * simulations whose cells move show the same grid whether the pool running them has 1, 2 or 8
+ * threads, on both the Cell and array engines.
+ * Assumptions: Tests run from the repository root, where data/XMLs is. Grids are large enough
+ * that both preparing and claiming are split into several chunks.
+ * Dependencies: GridRuns, Grid, JUnit 5
+ */
+class MoveArbitrationTest {
+
+  static final int SIZE = 96;
+  static final int GENERATIONS = 20;
+  static final int[] THREADS = {2, 8};
+  static final int[] ENGINES = {GridHelper.CELL_ENGINE, GridHelper.ARRAY_ENGINE};
+
+  @ParameterizedTest
+  @ValueSource(strings = {"WaTor/random.XML", "WaTor/fish.XML", "Segregation/random.XML",
+      "SugarScape/basic.XML", "ForagingAnts/first.XML"})
+  void movesDoNotDependOnThreadCount(String file) throws Exception {
+    for (int engine : ENGINES) {
+      Map<String, Integer> parallel = Map.of(GridHelper.ENGINE, engine,
+          GridHelper.PARALLEL, GridHelper.PARALLEL_SWEEP);
+      List<List<Integer>> oneThread = GridRuns.record(
+          GridRuns.createTiledGrid(file, SIZE, parallel), GENERATIONS, 1);
+      for (int threads : THREADS) {
+        GridRuns.assertSameFrames(oneThread,
+            GridRuns.record(GridRuns.createTiledGrid(file, SIZE, parallel), GENERATIONS, threads),
+            file + " " + parallel + " on " + threads + " threads");
+      }
+    }
+  }
+}
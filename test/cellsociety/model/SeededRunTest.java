@@ -0,0 +1,58 @@
+package cellsociety.model;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Purpose: Checks that the randomness of a run depends only on its seed: the Cell and array
+ * engines draw the same numbers, and a grid prepared in parallel shows the same grid on any
+ * number of threads as it does sequentially.
+ * Assumptions: Tests run from the repository root, where data/XMLs is. Simulations whose cells
+ * move arbitrate moves differently in parallel, see MoveArbitrationTest.
+ * Dependencies: GridRuns, Grid, JUnit 5
+ */
+class SeededRunTest {
+
+  static final int SIZE = 64;
+  static final int GENERATIONS = 20;
+  static final int[] SEEDS = {1, 308};
+  static final int[] THREADS = {1, 3, 16};
+  static final int[] ENGINES = {GridHelper.CELL_ENGINE, GridHelper.ARRAY_ENGINE};
+
+  @ParameterizedTest
+  @ValueSource(strings = {"Fire/first.XML", "RPS/first.XML", "WaTor/random.XML",
+      "Segregation/random.XML", "SugarScape/basic.XML", "ForagingAnts/first.XML",
+      "Percolation/random.XML"})
+  void enginesDrawTheSameNumbers(String file) throws Exception {
+    for (int seed : SEEDS) {
+      Map<String, Integer> cells = Map.of(GridHelper.SEED, seed,
+          GridHelper.ENGINE, GridHelper.CELL_ENGINE);
+      Map<String, Integer> array = Map.of(GridHelper.SEED, seed,
+          GridHelper.ENGINE, GridHelper.ARRAY_ENGINE);
+      GridRuns.assertSameFrames(
+          GridRuns.record(GridRuns.createTiledGrid(file, SIZE, cells), GENERATIONS),
+          GridRuns.record(GridRuns.createTiledGrid(file, SIZE, array), GENERATIONS),
+          file + " " + array);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"Fire/first.XML", "RPS/first.XML", "Percolation/random.XML",
+      "Totalistic/cyclic.XML"})
+  void parallelRunsMatchSequentialRun(String file) throws Exception {
+    for (int engine : ENGINES) {
+      List<List<Integer>> sequential = GridRuns.record(GridRuns.createTiledGrid(file, SIZE,
+          Map.of(GridHelper.ENGINE, engine, GridHelper.PARALLEL, GridHelper.SEQUENTIAL)),
+          GENERATIONS);
+      for (int threads : THREADS) {
+        Map<String, Integer> parallel = Map.of(GridHelper.ENGINE, engine,
+            GridHelper.PARALLEL, GridHelper.PARALLEL_SWEEP);
+        GridRuns.assertSameFrames(sequential,
+            GridRuns.record(GridRuns.createTiledGrid(file, SIZE, parallel), GENERATIONS, threads),
+            file + " " + parallel + " on " + threads + " threads");
+      }
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package cellsociety.model;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Purpose: Checks that updating an array engine grid tile by tile, with halo copies of the cells
+ * around each tile, shows the same grid as updating it whole, for tile sizes that divide the grid
+ * and ones that leave partial tiles, sequentially and in parallel.
+ * Assumptions: Tests run from the repository root, where data/XMLs is.
+ * Dependencies: GridRuns, Grid, JUnit 5
+ */
+class TiledUpdateTest {
+
+  static final int SIZE = 64;
+  static final int GENERATIONS = 20;
+  static final int THREADS = 3;
+  static final int[] TILE_SIZES = {8, 13, 64};
+
+  @ParameterizedTest
+  @ValueSource(strings = {"GameOfLife/pulsar.XML", "Fire/first.XML", "RPS/first.XML",
+      "RPS/wrappingFirst.XML", "RPS/hexagonFirst.XML", "RPS/triangleFirst.XML",
+      "Percolation/random.XML", "Percolation/triangleTest.XML", "Totalistic/briansBrain.XML",
+      "BylsLoop/wrappingEdge.XML"})
+  void tilesMatchWholeGrid(String file) throws Exception {
+    List<List<Integer>> whole = GridRuns.record(GridRuns.createTiledGrid(file, SIZE,
+        Map.of(GridHelper.ENGINE, GridHelper.ARRAY_ENGINE,
+            GridHelper.PARALLEL, GridHelper.SEQUENTIAL)), GENERATIONS);
+    for (int tileSize : TILE_SIZES) {
+      Map<String, Integer> sequential = Map.of(GridHelper.ENGINE, GridHelper.ARRAY_ENGINE,
+          GridHelper.TILE_SIZE, tileSize, GridHelper.PARALLEL, GridHelper.SEQUENTIAL);
+      GridRuns.assertSameFrames(whole,
+          GridRuns.record(GridRuns.createTiledGrid(file, SIZE, sequential), GENERATIONS),
+          file + " " + sequential);
+      Map<String, Integer> parallel = Map.of(GridHelper.ENGINE, GridHelper.ARRAY_ENGINE,
+          GridHelper.TILE_SIZE, tileSize, GridHelper.PARALLEL, GridHelper.PARALLEL_SWEEP);
+      GridRuns.assertSameFrames(whole,
+          GridRuns.record(GridRuns.createTiledGrid(file, SIZE, parallel), GENERATIONS, THREADS),
+          file + " " + parallel + " on " + THREADS + " threads");
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package cellsociety.model.engine;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Purpose: Checks the row counts of the SIMD VectorNeighborCounter and the scalar NeighborCounter
+ * against counting each cell's neighbors one by one through the topology, for bounded and
+ * wrapping grids, eight and four neighbors, and widths shorter than, equal to and longer than a
+ * vector, with columns left over for the scalar loop.
+ * Assumptions: Tests run with --add-modules jdk.incubator.vector, as the pom sets, so the vector
+ * counter is the one being checked.
+ * Dependencies: NeighborCounter, VectorNeighborCounter, NeighborTopology, SimulationRandom,
+ * JUnit 5
+ */
+class NeighborCounterTest {
+
+  static final int[] WIDTHS = {3, 5, 8, 17, 33, 64, 67, 130};
+  static final int[] HEIGHTS = {3, 4, 9};
+  static final int[] STATE_COUNTS = {2, 3, 5};
+  static final int[][] MOORE = {{-1, -1}, {0, -1}, {1, -1}, {-1, 0}, {1, 0}, {-1, 1}, {0, 1},
+      {1, 1}};
+  static final int[][] VON_NEUMANN = {{0, -1}, {-1, 0}, {1, 0}, {0, 1}};
+  static final long SEED = 7;
+
+  @Test
+  void vectorCounterIsLoaded() throws Exception {
+    NeighborCounter counter = NeighborCounter.create(WIDTHS[0], HEIGHTS[0], false,
+        buildTopology(WIDTHS[0], HEIGHTS[0], false, MOORE), 2, true);
+    assertNotNull(counter, "counter");
+    assertEquals(VectorNeighborCounter.class, counter.getClass());
+  }
+
+  @Test
+  void vectorCountsMatchBruteForce() throws Exception {
+    assertCountsMatch(true);
+  }
+
+  @Test
+  void scalarCountsMatchBruteForce() throws Exception {
+    assertCountsMatch(false);
+  }
+
+  private static void assertCountsMatch(boolean vector) throws Exception {
+    SimulationRandom random = new SimulationRandom(SEED);
+    for (boolean wrapping : new boolean[]{false, true}) {
+      for (int[][] neighborhood : List.of(MOORE, VON_NEUMANN)) {
+        for (int width : WIDTHS) {
+          for (int height : HEIGHTS) {
+            NeighborTopology topology = buildTopology(width, height, wrapping, neighborhood);
+            for (int stateCount : STATE_COUNTS) {
+              int[] states = new int[width * height];
+              for (int i = 0; i < states.length; i++) {
+                states[i] = random.nextInt(i, stateCount, stateCount);
+              }
+              NeighborCounter counter = NeighborCounter.create(width, height, wrapping,
+                  topology, stateCount, vector);
+              String where = width + "x" + height + (wrapping ? " wrapping " : " bounded ")
+                  + neighborhood.length + " neighbors " + stateCount + " states";
+              assertNotNull(counter, where);
+              int[][] counts = new int[stateCount][width];
+              for (int y = 0; y < height; y++) {
+                counter.countRow(states, y, counts);
+                int[][] expected = countByTopology(states, topology, width, y, stateCount);
+                for (int state = 0; state < stateCount; state++) {
+                  assertArrayEquals(expected[state], counts[state],
+                      where + " row " + y + " state " + state);
+                }
+              }
+            }
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Counts the neighbors in each state of every cell of row y, one neighbor at a time.
+   */
+  private static int[][] countByTopology(int[] states, NeighborTopology topology, int width,
+      int y, int stateCount) {
+    int[][] counts = new int[stateCount][width];
+    for (int x = 0; x < width; x++) {
+      int index = y * width + x;
+      for (int k = 0; k < topology.getNeighborCount(index); k++) {
+        counts[states[topology.getNeighbor(index, k)]][x]++;
+      }
+    }
+    return counts;
+  }
+
+  /**
+   * Builds the topology of a square grid whose neighbors are the cells at the given offsets.
+   */
+  private static NeighborTopology buildTopology(int width, int height, boolean wrapping,
+      int[][] neighborhood) throws Exception {
+    return NeighborTopology.build(width * height, index -> {
+      List<Integer> neighbors = new ArrayList<>();
+      for (int[] offset : neighborhood) {
+        int x = index % width + offset[0];
+        int y = index / width + offset[1];
+        if (wrapping) {
+          neighbors.add(Math.floorMod(y, height) * width + Math.floorMod(x, width));
+        } else if (x >= 0 && y >= 0 && x < width && y < height) {
+          neighbors.add(y * width + x);
+        }
+      }
+      return neighbors.stream().mapToInt(Integer::intValue).toArray();
+    });
+  }
+}
@@ -0,0 +1,50 @@
+package cellsociety.model.gameoflife;
+
+import cellsociety.configuration.Simulation;
+import cellsociety.model.GridHelper;
+import cellsociety.model.GridRuns;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/**
+ * Purpose: Checks that BitLifeEngine shows the same grid as the Cell object engine on bounded and
+ * wrapping grids whose width is and is not a multiple of the 64 cells packed into each word,
+ * sequentially and in parallel.
+ * Assumptions: Tests run from the repository root, where data/XMLs is.
+ * Dependencies: GridRuns, GameOfLifeGrid, JUnit 5
+ */
+class BitLifeEngineTest {
+
+  static final int GENERATIONS = 40;
+  static final int THREADS = 3;
+  static final int[] SIZES = {3, 17, 64, 70, 130};
+  static final List<String> GRID_TYPES = List.of(Simulation.GRID_OPTIONS.get(0),
+      Simulation.GRID_OPTIONS.get(2));
+
+  @ParameterizedTest
+  @ValueSource(strings = {"GameOfLife/beacon.XML", "GameOfLife/block.XML",
+      "GameOfLife/glider.XML", "GameOfLife/loaf.XML", "GameOfLife/pulsar.XML"})
+  void bitLifeMatchesCells(String file) throws Exception {
+    Map<String, Integer> cells = Map.of(GridHelper.ENGINE, GridHelper.CELL_ENGINE);
+    for (String gridType : GRID_TYPES) {
+      for (int size : SIZES) {
+        List<List<Integer>> expected = GridRuns.record(
+            GridRuns.createTiledGrid(file, size, gridType, cells), GENERATIONS);
+        Map<String, Integer> sequential = Map.of(
+            GridHelper.ENGINE, GridHelper.BITPACKED_ENGINE,
+            GridHelper.PARALLEL, GridHelper.SEQUENTIAL);
+        GridRuns.assertSameFrames(expected, GridRuns.record(
+            GridRuns.createTiledGrid(file, size, gridType, sequential), GENERATIONS),
+            file + " " + gridType + " " + size + " " + sequential);
+        Map<String, Integer> parallel = Map.of(
+            GridHelper.ENGINE, GridHelper.BITPACKED_ENGINE,
+            GridHelper.PARALLEL, GridHelper.PARALLEL_SWEEP);
+        GridRuns.assertSameFrames(expected, GridRuns.record(
+            GridRuns.createTiledGrid(file, size, gridType, parallel), GENERATIONS, THREADS),
+            file + " " + gridType + " " + size + " " + parallel + " on " + THREADS + " threads");
+      }
+    }
+  }
+}